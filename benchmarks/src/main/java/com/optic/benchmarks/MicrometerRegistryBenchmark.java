@@ -0,0 +1,91 @@
+package com.optic.benchmarks;
+
+import com.optic.sdk.OpticMeterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.instrumentation.micrometer.v1_5.OpenTelemetryMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micrometer recording per {@code optic.metrics.micrometer}: {@code bridge} ({@code OpenTelemetryMeterRegistry}
+ * over the OTel SDK) against {@code native} ({@link OpticMeterRegistry}). Both export to the discarding endpoint
+ * of the {@code sdk} fixture. The {@code lookup} variants resolve the meter by name and tags on every call, the
+ * way {@code registry.timer(...)} inside a request handler does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MicrometerRegistryBenchmark {
+    public static final String BRIDGE = "bridge";
+    public static final String NATIVE = "native";
+    private static final int SERIES = 64;
+
+    @Param({BRIDGE, NATIVE})
+    public String registry;
+
+    private OpticFixture fixture;
+    private MeterRegistry meterRegistry;
+    private Timer timer;
+    private Counter counter;
+    private String[] routes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        fixture = OpticFixture.start(OpticFixture.SDK);
+        meterRegistry = BRIDGE.equals(registry)
+                ? OpenTelemetryMeterRegistry.builder(fixture.optic().getOpenTelemetry()).build()
+                : new OpticMeterRegistry(fixture.optic());
+        timer = meterRegistry.timer("http.server.requests", "method", "GET", "uri", "/api/v1/orders");
+        counter = meterRegistry.counter("orders.placed", "region", "eu");
+        routes = new String[SERIES];
+        for (int i = 0; i < SERIES; i++) {
+            routes[i] = "/api/v1/resource/" + i;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        meterRegistry.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public void timerRecord() {
+        timer.record(1_500_000L, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void counterIncrement() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void timerRecordLookup() {
+        String route = routes[next++ & (SERIES - 1)];
+        meterRegistry.timer("http.server.requests", "method", "GET", "uri", route)
+                .record(1_500_000L, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void counterIncrementLookup() {
+        String route = routes[next++ & (SERIES - 1)];
+        meterRegistry.counter("http.server.hits", "uri", route).increment();
+    }
+}
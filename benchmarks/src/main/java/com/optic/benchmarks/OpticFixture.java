@@ -0,0 +1,84 @@
+package com.optic.benchmarks;
+
+import com.optic.sdk.Optic;
+import com.optic.sdk.OpticConfig;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts Optic in one of the two benchmark modes:
+ * {@code noop} (every signal disabled, so the API is the OTel no-op) or {@code sdk} (the full pipeline built by
+ * {@link Optic#init(OpticConfig)}, exporting to an in-process endpoint that discards every request).
+ *
+ * <p>Optic registers itself as the global OpenTelemetry, so only one fixture can be started per JVM; JMH forks
+ * a fresh JVM per benchmark and parameter set, which keeps that true.
+ */
+public final class OpticFixture implements AutoCloseable {
+    public static final String NOOP = "noop";
+    public static final String SDK = "sdk";
+
+    private final Optic optic;
+    private final HttpServer sink;
+
+    private OpticFixture(Optic optic, HttpServer sink) {
+        this.optic = optic;
+        this.sink = sink;
+    }
+
+    public static OpticFixture start(String mode) {
+        OpticConfig config = new OpticConfig()
+                .setApiKey("benchmark")
+                .setServiceName("optic-benchmarks")
+                .setExportInterval(Duration.ofSeconds(1));
+        if (NOOP.equals(mode)) {
+            config.setEnableTraces(false).setEnableMetrics(false).setEnableLogs(false);
+            return new OpticFixture(Optic.init(config), null);
+        }
+        if (!SDK.equals(mode)) {
+            throw new IllegalArgumentException("Unknown mode " + mode);
+        }
+        HttpServer sink = startSink();
+        config.setEndpoint("http://127.0.0.1:" + sink.getAddress().getPort());
+        return new OpticFixture(Optic.init(config), sink);
+    }
+
+    public Optic optic() {
+        return optic;
+    }
+
+    @Override
+    public void close() {
+        optic.shutdown();
+        if (sink != null) {
+            sink.stop(0);
+        }
+    }
+
+    // Answers 200 with an empty body, which is a valid OTLP export response.
+    private static HttpServer startSink() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 64);
+            server.setExecutor(Executors.newFixedThreadPool(2, runnable -> {
+                Thread thread = new Thread(runnable, "otlp-sink");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.createContext("/", exchange -> {
+                try (exchange; InputStream in = exchange.getRequestBody()) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                    exchange.sendResponseHeaders(200, -1);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
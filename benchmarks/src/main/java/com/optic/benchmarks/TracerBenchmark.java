@@ -0,0 +1,79 @@
+package com.optic.benchmarks;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Span start/end through {@code Optic.tracer}, as instrumentation does it on every request. */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TracerBenchmark {
+    private static final AttributeKey<String> ROUTE = AttributeKey.stringKey("http.route");
+    private static final AttributeKey<Long> STATUS = AttributeKey.longKey("http.response.status_code");
+
+    @Param({OpticFixture.NOOP, OpticFixture.SDK})
+    public String mode;
+
+    private OpticFixture fixture;
+    private Tracer tracer;
+
+    @Setup
+    public void setUp() {
+        fixture = OpticFixture.start(mode);
+        tracer = fixture.optic().tracer("optic-benchmarks");
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Span startEnd() {
+        Span span = tracer.spanBuilder("GET /orders").startSpan();
+        span.end();
+        return span;
+    }
+
+    @Benchmark
+    public Span startEndWithAttributes() {
+        Span span = tracer.spanBuilder("GET /orders/{id}")
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute(ROUTE, "/orders/{id}")
+                .startSpan();
+        span.setAttribute(STATUS, 200L);
+        span.end();
+        return span;
+    }
+
+    // A server span with one child made current, the common shape of an instrumented request.
+    @Benchmark
+    public Span parentAndChild() {
+        Span parent = tracer.spanBuilder("GET /orders").setSpanKind(SpanKind.SERVER).startSpan();
+        Span child;
+        try (Scope ignored = parent.makeCurrent()) {
+            child = tracer.spanBuilder("SELECT orders").setSpanKind(SpanKind.CLIENT).startSpan();
+            child.end();
+        }
+        parent.end();
+        return child;
+    }
+}
@@ -0,0 +1,142 @@
+package com.optic.sdk;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CPU and wire size of encoding one span export batch per {@code optic.compression} setting, the comparison
+ * behind sending {@code zstd} through Optic's own transport. {@code payloadBytes} reports the average request
+ * body size and {@code savedPercent} how much smaller it is than the uncompressed request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+    private static final AttributeKey<String> ROUTE = AttributeKey.stringKey("http.route");
+    private static final AttributeKey<String> STATEMENT = AttributeKey.stringKey("db.statement");
+
+    @Param({"NONE", "GZIP", "ZSTD"})
+    public OpticConfig.Compression compression;
+
+    @Param({"64", "512"})
+    public int batchSize;
+
+    private OtlpHttpTransport transport;
+    private List<SpanData> batch;
+    private int uncompressedBytes;
+
+    @Setup
+    public void setUp() {
+        transport = new OtlpHttpTransport("Bearer benchmark",
+                new OpticConfig().setApiKey("benchmark").setCompression(compression), new PipelineTelemetry());
+        batch = spans(batchSize);
+        uncompressedBytes = TraceRequestMarshaler.create(batch).getBinarySerializedSize();
+    }
+
+    @TearDown
+    public void tearDown() {
+        transport.shutdown();
+    }
+
+    @Benchmark
+    public byte[] encode(Payload payload) throws IOException {
+        byte[] body = transport.encode(TraceRequestMarshaler.create(batch));
+        payload.bytes += body.length;
+        payload.requests++;
+        payload.uncompressedBytes = uncompressedBytes;
+        return body;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Payload {
+        private long bytes;
+        private long requests;
+        private int uncompressedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            requests = 0;
+        }
+
+        public long payloadBytes() {
+            return requests == 0 ? 0 : bytes / requests;
+        }
+
+        public long savedPercent() {
+            return requests == 0 || uncompressedBytes == 0 ? 0 : 100 - 100 * payloadBytes() / uncompressedBytes;
+        }
+    }
+
+    // Spans shaped like a web request with one database call: repetitive names and attributes, unique ids.
+    private static List<SpanData> spans(int count) {
+        List<SpanData> collected = new ArrayList<>(count);
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault())
+                .addSpanProcessor(new SpanProcessor() {
+                    @Override
+                    public void onStart(Context parentContext, ReadWriteSpan span) {
+                    }
+
+                    @Override
+                    public boolean isStartRequired() {
+                        return false;
+                    }
+
+                    @Override
+                    public void onEnd(ReadableSpan span) {
+                        collected.add(span.toSpanData());
+                    }
+
+                    @Override
+                    public boolean isEndRequired() {
+                        return true;
+                    }
+                })
+                .build();
+        Tracer tracer = provider.get("optic-benchmarks");
+        while (collected.size() < count) {
+            Span server = tracer.spanBuilder("GET /orders/{id}").setSpanKind(SpanKind.SERVER)
+                    .setAttribute(ROUTE, "/orders/{id}").startSpan();
+            tracer.spanBuilder("SELECT orders").setSpanKind(SpanKind.CLIENT)
+                    .setParent(Context.root().with(server))
+                    .setAttribute(STATEMENT, "SELECT * FROM orders WHERE id = ?").startSpan().end();
+            server.end();
+        }
+        provider.close();
+        return collected.subList(0, count);
+    }
+}
@@ -0,0 +1,181 @@
+package com.optic.sdk;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.exporter.internal.otlp.metrics.MetricsRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Histogram cost per {@code optic.metrics.histogram-aggregation}. {@code record} is the application-thread cost
+ * of one measurement; {@code encode} serializes one export of {@code routes} latency histograms and reports the
+ * uncompressed request size as {@code payloadBytes}. Latencies are log-normal around 20 ms with a long tail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistogramAggregationBenchmark {
+    private static final AttributeKey<String> ROUTE = AttributeKey.stringKey("http.route");
+    private static final int SAMPLES = 4096;
+
+    @Param({"EXPLICIT_BUCKET", "BASE2_EXPONENTIAL"})
+    public OpticConfig.HistogramAggregation aggregation;
+
+    @Param({"20"})
+    public int routes;
+
+    private SdkMeterProvider meterProvider;
+    private DoubleHistogram histogram;
+    private Attributes[] routeAttributes;
+    private double[] latencies;
+    private OtlpHttpTransport transport;
+    private Collection<MetricData> snapshot;
+
+    @Setup
+    public void setUp() {
+        OpticConfig config = new OpticConfig().setApiKey("benchmark");
+        config.getMetrics().setHistogramAggregation(aggregation);
+        CapturingMetricExporter exporter =
+                new CapturingMetricExporter(OpticMetricExporter.aggregationSelector(config.getMetrics()));
+        meterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(PeriodicMetricReader.builder(exporter)
+                        .setInterval(Duration.ofDays(1))
+                        .build())
+                .build();
+        histogram = meterProvider.get("optic-benchmarks").histogramBuilder("http.server.duration").setUnit("ms").build();
+
+        SplittableRandom random = new SplittableRandom(42);
+        latencies = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            latencies[i] = Math.exp(Math.log(20) + gaussian(random));
+        }
+        routeAttributes = new Attributes[routes];
+        for (int i = 0; i < routes; i++) {
+            routeAttributes[i] = Attributes.of(ROUTE, "/api/v1/resource" + i + "/{id}");
+        }
+
+        // One minute of traffic at about 170 requests per second per route.
+        for (int i = 0; i < routes * 10_000; i++) {
+            histogram.record(latencies[i & (SAMPLES - 1)], routeAttributes[i % routes]);
+        }
+        meterProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        snapshot = exporter.last;
+        transport = new OtlpHttpTransport("Bearer benchmark", config, new PipelineTelemetry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        transport.shutdown();
+        meterProvider.close();
+    }
+
+    @Benchmark
+    public void record(Cursor cursor) {
+        int next = cursor.next++;
+        histogram.record(latencies[next & (SAMPLES - 1)], routeAttributes[next % routes]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] encode(Payload payload) throws IOException {
+        byte[] body = transport.encode(MetricsRequestMarshaler.create(snapshot));
+        payload.bytes += body.length;
+        payload.requests++;
+        return body;
+    }
+
+    // Box-Muller; sigma 1.2 spreads samples from under a millisecond to a few seconds.
+    private static double gaussian(SplittableRandom random) {
+        return 1.2 * Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Payload {
+        private long bytes;
+        private long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            requests = 0;
+        }
+
+        public long payloadBytes() {
+            return requests == 0 ? 0 : bytes / requests;
+        }
+    }
+
+    private static final class CapturingMetricExporter implements MetricExporter {
+        private final DefaultAggregationSelector aggregation;
+        private volatile Collection<MetricData> last = List.of();
+
+        private CapturingMetricExporter(DefaultAggregationSelector aggregation) {
+            this.aggregation = aggregation;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+
+        @Override
+        public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+            return aggregation.getDefaultAggregation(instrumentType);
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<MetricData> metrics) {
+            last = new ArrayList<>(metrics);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.optic.sdk;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heap retained by the meter provider after one hour of attribute churn, per {@code optic.metrics.temporality}.
+ * Each iteration runs 60 one-minute export intervals back to back; every interval records a fresh set of
+ * attribute values (think request ids leaking into tags) on several counters and histograms.
+ * {@code retainedKiB} is the heap growth after a full GC, with the provider still alive. The SDK caps each
+ * instrument at 2000 series, so cumulative storage plateaus there rather than growing for the whole hour.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+// JMH sums event counters across iterations and forks, so retainedKiB comes from a single measured run.
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class MetricTemporalityBenchmark {
+    private static final AttributeKey<String> ROUTE = AttributeKey.stringKey("http.route");
+    private static final AttributeKey<String> CLIENT = AttributeKey.stringKey("client.id");
+    private static final int INTERVALS = 60;
+
+    @Param({"CUMULATIVE", "DELTA", "LOWMEMORY"})
+    public OpticConfig.MetricTemporality temporality;
+
+    @Param({"500"})
+    public int newSeriesPerInterval;
+
+    @Param({"10"})
+    public int instruments;
+
+    private SdkMeterProvider meterProvider;
+    private LongCounter[] counters;
+    private DoubleHistogram[] histograms;
+    private long baselineBytes;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        baselineBytes = usedAfterGc();
+        AggregationTemporalitySelector selector = OpticMetricExporter.temporalitySelector(temporality);
+        meterProvider = SdkMeterProvider.builder()
+                .registerMetricReader(PeriodicMetricReader.builder(new NullMetricExporter(selector))
+                        // Collection is driven by forceFlush below, never by the timer.
+                        .setInterval(Duration.ofDays(1))
+                        .build())
+                .build();
+        Meter meter = meterProvider.get("optic-benchmarks");
+        counters = new LongCounter[instruments];
+        histograms = new DoubleHistogram[instruments];
+        for (int i = 0; i < instruments; i++) {
+            counters[i] = meter.counterBuilder("benchmark.requests." + i).build();
+            histograms[i] = meter.histogramBuilder("benchmark.duration." + i).build();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        meterProvider.close();
+        meterProvider = null;
+        counters = null;
+        histograms = null;
+    }
+
+    @Benchmark
+    public void churnOneHour(Retained retained) {
+        long client = 0;
+        for (int interval = 0; interval < INTERVALS; interval++) {
+            for (int series = 0; series < newSeriesPerInterval; series++) {
+                Attributes attributes = Attributes.of(ROUTE, "/orders/{id}", CLIENT, "client-" + client++);
+                for (int i = 0; i < instruments; i++) {
+                    counters[i].add(1, attributes);
+                    histograms[i].record(series, attributes);
+                }
+            }
+            meterProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        }
+        retained.retainedKiB = Math.max(0L, usedAfterGc() - baselineBytes) / 1024;
+    }
+
+    private static long usedAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Retained {
+        public long retainedKiB;
+    }
+
+    private static final class NullMetricExporter implements MetricExporter {
+        private final AggregationTemporalitySelector temporality;
+
+        private NullMetricExporter(AggregationTemporalitySelector temporality) {
+            this.temporality = temporality;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return temporality.getAggregationTemporality(instrumentType);
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<MetricData> metrics) {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.optic.sdk;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Span end through {@code optic.traces.processor} at 1, 8 and 32 producer threads, with an exporter that
+ * accepts every batch immediately. Besides the application-thread cost, {@code exported} counts the spans that
+ * reached the exporter, so a processor cannot look fast by dropping at a full queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpanProcessorBenchmark {
+    @Param({"BATCH", "STRIPED"})
+    public OpticConfig.SpanProcessorType processor;
+
+    private final DiscardingExporter exporter = new DiscardingExporter();
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+
+    @Setup
+    public void setUp() {
+        OpticConfig config = new OpticConfig().setApiKey("benchmark").setSpanProcessor(processor);
+        config.getTraceBatch().setMaxQueueSize(65_536).setScheduleDelay(Duration.ofMillis(200));
+        OpticConfig.Batch batch = config.getTraceBatch();
+        SpanProcessor spanProcessor = processor == OpticConfig.SpanProcessorType.STRIPED
+                ? new StripedSpanProcessor(exporter, config.getTraceStripes(), config.getTraceExportWorkers(), batch,
+                        new PipelineTelemetry())
+                : BatchSpanProcessor.builder(exporter)
+                        .setMaxQueueSize(batch.getMaxQueueSize())
+                        .setMaxExportBatchSize(batch.getMaxExportBatchSize())
+                        .setScheduleDelay(batch.getScheduleDelay())
+                        .setExporterTimeout(batch.getExportTimeout())
+                        .build();
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(spanProcessor).build();
+        tracer = tracerProvider.get("optic-benchmarks");
+    }
+
+    @TearDown
+    public void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void threads01(Exported exported) {
+        tracer.spanBuilder("GET /orders").startSpan().end();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void threads08(Exported exported) {
+        tracer.spanBuilder("GET /orders").startSpan().end();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void threads32(Exported exported) {
+        tracer.spanBuilder("GET /orders").startSpan().end();
+    }
+
+    // JMH sums thread-scoped counters across threads, so each thread reports its share of the shared total.
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Exported {
+        private SpanProcessorBenchmark benchmark;
+        private int threads;
+        private long start;
+        private long spans;
+
+        @Setup(Level.Iteration)
+        public void reset(SpanProcessorBenchmark benchmark, BenchmarkParams params) {
+            this.benchmark = benchmark;
+            threads = params.getThreads();
+            start = benchmark.exporter.spans.sum();
+            spans = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void count() {
+            spans = (benchmark.exporter.spans.sum() - start) / threads;
+        }
+
+        public long exported() {
+            return spans;
+        }
+    }
+
+    private static final class DiscardingExporter implements SpanExporter {
+        private final LongAdder spans = new LongAdder();
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            spans.add(batch.size());
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
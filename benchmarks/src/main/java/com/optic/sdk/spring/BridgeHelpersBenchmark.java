@@ -0,0 +1,80 @@
+package com.optic.sdk.spring;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import io.opentelemetry.context.Context;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bridge helpers that run per log event: trace context resolution from the MDC and stack trace rendering.
+ * They do not touch the OTel SDK, so there is no noop/sdk split here.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BridgeHelpersBenchmark {
+    // More distinct ids than MdcTraceContext caches, so every lookup misses.
+    private static final int DISTINCT_CONTEXTS = 256;
+
+    private MdcTraceContext traceContext;
+    private Map<String, String> repeatedMdc;
+    private Map<String, String>[] distinctMdcs;
+    private IThrowableProxy throwable;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        traceContext = new MdcTraceContext(null, null);
+        repeatedMdc = mdc("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7");
+        distinctMdcs = new Map[DISTINCT_CONTEXTS];
+        for (int i = 0; i < DISTINCT_CONTEXTS; i++) {
+            distinctMdcs[i] = mdc(String.format("%032x", 0x1000L + i * 7919L), String.format("%016x", 0x100L + i));
+        }
+        Throwable failure = new RuntimeException("failed to load order 42",
+                new IllegalStateException("connection reset by peer"));
+        throwable = new ThrowableProxy(failure);
+    }
+
+    // Consecutive logs of one request: the identity cache answers.
+    @Benchmark
+    public Context mdcContextRepeated() {
+        return traceContext.resolve(repeatedMdc);
+    }
+
+    @Benchmark
+    public Context mdcContextDistinct() {
+        Map<String, String> mdc = distinctMdcs[next];
+        next = (next + 1) & (DISTINCT_CONTEXTS - 1);
+        return traceContext.resolve(mdc);
+    }
+
+    @Benchmark
+    public String extractStackTrace() {
+        return OpticLogbackBridge.OpticLogbackAppender.extractStackTrace(throwable);
+    }
+
+    private static Map<String, String> mdc(String traceId, String spanId) {
+        Map<String, String> mdc = new HashMap<>();
+        mdc.put("request.id", "req-1");
+        mdc.put("user.id", "user-1");
+        mdc.put("trace_id", traceId);
+        mdc.put("span_id", spanId);
+        return mdc;
+    }
+}
@@ -0,0 +1,143 @@
+package com.optic.sdk.spring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.optic.benchmarks.OpticFixture;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Application-thread cost of the Optic Logback appender. Each operation builds a {@link LoggingEvent} the way
+ * Logback does and hands it to the appender, so the numbers are what the SDK adds to a log call with the bridge
+ * installed. When the export thread falls behind, events take the cheaper full-buffer path instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogbackAppenderBenchmark {
+    private static final String FQCN = Logger.class.getName();
+    private static final String TEMPLATE = "Processed order {} for tenant {}";
+    private static final String APPENDER_NAME = "OPTIC_OTEL_APPENDER";
+
+    @Param({OpticFixture.NOOP, OpticFixture.SDK})
+    public String mode;
+
+    private OpticFixture fixture;
+    private OpticLogbackBridge bridge;
+    private Appender<ILoggingEvent> appender;
+    private Logger logger;
+    private Throwable failure;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        fixture = OpticFixture.start(mode);
+        bridge = new OpticLogbackBridge(fixture.optic(), new OpticProperties.Logs());
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        appender = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).getAppender(APPENDER_NAME);
+        logger = context.getLogger("com.example.orders.OrderService");
+        failure = nestedFailure();
+    }
+
+    @TearDown
+    public void tearDown() {
+        bridge.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public void plain() {
+        appender.doAppend(event());
+    }
+
+    @Benchmark
+    public void mdcHeavy(MdcState mdc) {
+        appender.doAppend(event());
+    }
+
+    @Benchmark
+    public void withThrowable() {
+        appender.doAppend(new LoggingEvent(FQCN, logger, Level.ERROR, "Order processing failed", failure, null));
+    }
+
+    @Benchmark
+    public void withTraceContext(TraceContextState trace) {
+        appender.doAppend(event());
+    }
+
+    private LoggingEvent event() {
+        long id = sequence++;
+        return new LoggingEvent(FQCN, logger, Level.INFO, TEMPLATE, null, new Object[] {id, id & 63});
+    }
+
+    private static Throwable nestedFailure() {
+        try {
+            try {
+                throw new IllegalStateException("connection reset by peer");
+            } catch (IllegalStateException e) {
+                throw new RuntimeException("failed to load order 42", e);
+            }
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    /** Twenty MDC entries on the benchmark thread, typical of a service with request, user and tenant context. */
+    @State(Scope.Thread)
+    public static class MdcState {
+        @Setup
+        public void setUp() {
+            for (int i = 0; i < 20; i++) {
+                MDC.put("context.key" + i, "value-" + i);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            MDC.clear();
+        }
+    }
+
+    /** An active span on the benchmark thread; the appender picks it up from the OTel context. */
+    @State(Scope.Thread)
+    public static class TraceContextState {
+        private io.opentelemetry.context.Scope scope;
+
+        @Setup
+        public void setUp() {
+            SpanContext spanContext = SpanContext.create("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7",
+                    TraceFlags.getSampled(), TraceState.getDefault());
+            scope = Context.root().with(Span.wrap(spanContext)).makeCurrent();
+        }
+
+        @TearDown
+        public void tearDown() {
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.optic.loadtest;
+
+import com.optic.sdk.Optic;
+import com.optic.sdk.spring.OpticAutoConfiguration;
+import com.optic.sdk.testing.OtlpReceiver;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * End-to-end load generator: boots Optic through its Spring auto-configuration against an {@link OtlpReceiver},
+ * drives spans, metric recordings and Logback logs at fixed rates and reports delivered throughput, drop rate,
+ * the latency the SDK adds on application threads, and heap use.
+ *
+ * <p>Arguments are {@code --name=value}; see {@link Options}. Any {@code --optic.*} argument is passed to Spring,
+ * so every SDK property can be varied between runs.
+ */
+public final class LoadTest {
+    private static final AttributeKey<String> ROUTE = AttributeKey.stringKey("http.route");
+    private static final AttributeKey<String> TENANT = AttributeKey.stringKey("tenant");
+    private static final String API_KEY = "loadtest";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        try (OtlpReceiver receiver = OtlpReceiver.start(options.receiverSettings())) {
+            Result result = run(options, receiver);
+            result.print(System.out);
+        }
+        // Spring and OTel leave non-daemon threads behind after close in some configurations.
+        System.exit(0);
+    }
+
+    static Result run(Options options, OtlpReceiver receiver) throws InterruptedException {
+        SpringApplication application = new SpringApplication(Application.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setBannerMode(Banner.Mode.OFF);
+        Map<String, Object> defaults = new HashMap<>();
+        defaults.put("optic.api-key", API_KEY);
+        defaults.put("optic.service-name", "optic-loadtest");
+        defaults.put("optic.endpoint", receiver.endpoint());
+        application.setDefaultProperties(defaults);
+        ConfigurableApplicationContext context = application.run(options.springArgs.toArray(new String[0]));
+
+        Optic optic = context.getBean(Optic.class);
+        Traffic traffic = new Traffic(optic, options.metricCardinality);
+        Generator[] generators = new Generator[options.threads];
+        for (int i = 0; i < generators.length; i++) {
+            generators[i] = new Generator(traffic, options);
+        }
+        HeapSampler heap = new HeapSampler();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < generators.length; i++) {
+            Thread thread = new Thread(generators[i], "optic-load-" + i);
+            generators[i].thread = thread;
+            thread.start();
+        }
+        sleep(options.warmup);
+
+        heap.gcAndMark();
+        OtlpReceiver.Snapshot windowStart = receiver.snapshot();
+        long[] generatedAtStart = generated(generators);
+        for (Generator generator : generators) {
+            generator.measuring = true;
+        }
+        heap.start();
+        sleep(options.duration);
+        for (Generator generator : generators) {
+            generator.measuring = false;
+        }
+        long[] generatedAtEnd = generated(generators);
+        OtlpReceiver.Snapshot windowEnd = receiver.snapshot();
+        heap.stop();
+
+        for (Generator generator : generators) {
+            generator.running = false;
+        }
+        for (Generator generator : generators) {
+            generator.thread.join();
+        }
+        long[] generatedTotal = generated(generators);
+        // Closing the context shuts Optic down, which flushes every pipeline into the receiver.
+        context.close();
+        long elapsed = System.nanoTime() - started;
+        heap.gcAndMarkEnd();
+
+        LatencyHistogram[] overhead = new LatencyHistogram[Kind.values().length];
+        for (Kind kind : Kind.values()) {
+            overhead[kind.ordinal()] = new LatencyHistogram();
+            for (Generator generator : generators) {
+                overhead[kind.ordinal()].merge(generator.histograms[kind.ordinal()]);
+            }
+        }
+        return new Result(options, windowStart, windowEnd, receiver.snapshot(), generatedAtStart, generatedAtEnd,
+                generatedTotal, overhead, heap, elapsed);
+    }
+
+    private static long[] generated(Generator[] generators) {
+        long[] totals = new long[Kind.values().length];
+        for (Generator generator : generators) {
+            for (Kind kind : Kind.values()) {
+                totals[kind.ordinal()] += generator.generated[kind.ordinal()].get();
+            }
+        }
+        return totals;
+    }
+
+    private static void sleep(Duration duration) throws InterruptedException {
+        TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration(OpticAutoConfiguration.class)
+    static class Application {
+    }
+
+    enum Kind {
+        SPANS("spans", OtlpReceiver.OtlpSignal.TRACES),
+        LOGS("logs", OtlpReceiver.OtlpSignal.LOGS),
+        METRICS("metrics", OtlpReceiver.OtlpSignal.METRICS);
+
+        private final String label;
+        private final OtlpReceiver.OtlpSignal signal;
+
+        Kind(String label, OtlpReceiver.OtlpSignal signal) {
+            this.label = label;
+            this.signal = signal;
+        }
+    }
+
+    // The operations an instrumented request performs; attribute sets are built up front so only SDK cost is timed.
+    private static final class Traffic {
+        private final Tracer tracer;
+        private final LongCounter requests;
+        private final DoubleHistogram duration;
+        private final Attributes[] attributes;
+        private final Logger log = LoggerFactory.getLogger("com.optic.loadtest.traffic");
+
+        private Traffic(Optic optic, int cardinality) {
+            this.tracer = optic.tracer("optic-loadtest");
+            Meter meter = optic.meter("optic-loadtest");
+            this.requests = meter.counterBuilder("loadtest.requests").build();
+            this.duration = meter.histogramBuilder("loadtest.request.duration").setUnit("ms").build();
+            this.attributes = new Attributes[Math.max(1, cardinality)];
+            for (int i = 0; i < attributes.length; i++) {
+                attributes[i] = Attributes.of(ROUTE, "/api/v1/resource/" + (i % 16), TENANT, "tenant-" + i);
+            }
+        }
+
+        private void perform(Kind kind, long sequence) {
+            switch (kind) {
+                case SPANS -> {
+                    Span span = tracer.spanBuilder("GET /api/v1/resource")
+                            .setAttribute(ROUTE, "/api/v1/resource")
+                            .startSpan();
+                    span.end();
+                }
+                case LOGS -> log.info("Processed order {} for tenant {}", sequence, sequence & 63);
+                case METRICS -> {
+                    Attributes set = attributes[(int) (sequence % attributes.length)];
+                    requests.add(1, set);
+                    duration.record(sequence & 1023, set);
+                }
+            }
+        }
+    }
+
+    // Open-loop pacing per thread: each kind has its own schedule, and falling behind is not caught up
+    // by more than one second, so a stalled SDK shows up as lower throughput rather than a burst.
+    private static final class Generator implements Runnable {
+        private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+        private static final long MAX_BACKLOG_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final Traffic traffic;
+        private final long[] intervalNanos = new long[Kind.values().length];
+        private final AtomicLong[] generated = new AtomicLong[Kind.values().length];
+        private final LatencyHistogram[] histograms = new LatencyHistogram[Kind.values().length];
+        private volatile boolean running = true;
+        private volatile boolean measuring;
+        private Thread thread;
+
+        private Generator(Traffic traffic, Options options) {
+            this.traffic = traffic;
+            for (Kind kind : Kind.values()) {
+                int rate = options.rates.get(kind);
+                intervalNanos[kind.ordinal()] = rate <= 0
+                        ? Long.MAX_VALUE
+                        : Math.max(1L, TimeUnit.SECONDS.toNanos(options.threads) / rate);
+                generated[kind.ordinal()] = new AtomicLong();
+                histograms[kind.ordinal()] = new LatencyHistogram();
+            }
+        }
+
+        @Override
+        public void run() {
+            long[] due = new long[intervalNanos.length];
+            long now = System.nanoTime();
+            for (int i = 0; i < due.length; i++) {
+                due[i] = intervalNanos[i] == Long.MAX_VALUE
+                        ? Long.MAX_VALUE
+                        : now + ThreadLocalRandom.current().nextLong(Math.min(intervalNanos[i], MAX_BACKLOG_NANOS));
+            }
+            long sequence = 0;
+            while (running) {
+                int next = 0;
+                for (int i = 1; i < due.length; i++) {
+                    if (due[i] < due[next]) {
+                        next = i;
+                    }
+                }
+                if (due[next] == Long.MAX_VALUE) {
+                    return;
+                }
+                long wait = due[next] - System.nanoTime();
+                if (wait > SPIN_THRESHOLD_NANOS) {
+                    LockSupport.parkNanos(wait - SPIN_THRESHOLD_NANOS);
+                    continue;
+                }
+                while (due[next] - System.nanoTime() > 0) {
+                    Thread.onSpinWait();
+                }
+                long start = System.nanoTime();
+                traffic.perform(Kind.values()[next], sequence++);
+                long end = System.nanoTime();
+                if (measuring) {
+                    histograms[next].record(end - start);
+                }
+                generated[next].lazySet(generated[next].get() + 1);
+                due[next] = Math.max(due[next] + intervalNanos[next], end - MAX_BACKLOG_NANOS);
+            }
+        }
+    }
+
+    private static final class HeapSampler implements Runnable {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private volatile boolean running;
+        private volatile long peakBytes;
+        private long afterWarmupBytes;
+        private long afterRunBytes;
+        private long gcCountStart;
+        private long gcMillisStart;
+        private long gcCount;
+        private long gcMillis;
+        private Thread thread;
+
+        private void gcAndMark() {
+            afterWarmupBytes = usedAfterGc();
+        }
+
+        private void gcAndMarkEnd() {
+            afterRunBytes = usedAfterGc();
+        }
+
+        private void start() {
+            long[] gc = gcTotals();
+            gcCountStart = gc[0];
+            gcMillisStart = gc[1];
+            running = true;
+            thread = new Thread(this, "optic-load-heap");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void stop() throws InterruptedException {
+            running = false;
+            thread.join();
+            long[] gc = gcTotals();
+            gcCount = gc[0] - gcCountStart;
+            gcMillis = gc[1] - gcMillisStart;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                peakBytes = Math.max(peakBytes, memory.getHeapMemoryUsage().getUsed());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        }
+
+        private long usedAfterGc() {
+            System.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }
+
+        private static long[] gcTotals() {
+            long count = 0;
+            long millis = 0;
+            for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0L, bean.getCollectionCount());
+                millis += Math.max(0L, bean.getCollectionTime());
+            }
+            return new long[] {count, millis};
+        }
+    }
+
+    record Result(Options options, OtlpReceiver.Snapshot windowStart, OtlpReceiver.Snapshot windowEnd,
+                  OtlpReceiver.Snapshot end, long[] generatedAtStart, long[] generatedAtEnd, long[] generatedTotal,
+                  LatencyHistogram[] overhead, HeapSampler heap, long elapsedNanos) {
+
+        long generated(Kind kind) {
+            return generatedTotal[kind.ordinal()];
+        }
+
+        // Everything the receiver accepted over the whole run, including the flush at shutdown.
+        long delivered(Kind kind) {
+            return end.get(kind.signal).items();
+        }
+
+        long responses(int status) {
+            return end.responses().getOrDefault(status, 0L);
+        }
+
+        void print(PrintStream out) {
+            double window = (windowEnd.nanoTime() - windowStart.nanoTime()) / 1e9;
+            out.printf(Locale.ROOT, "Optic load test: %d threads, %s measured after %s warm-up; receiver latency %s"
+                            + " (+%s jitter), error rate %.3f, ceiling %s%n",
+                    options.threads, format(options.duration), format(options.warmup),
+                    format(options.receiver.getLatency()), format(options.receiver.getLatencyJitter()),
+                    options.receiver.getErrorRate(),
+                    options.receiver.getMaxRequestsPerSecond() <= 0
+                            ? "none"
+                            : options.receiver.getMaxRequestsPerSecond() + " req/s");
+            out.printf(Locale.ROOT, "%-8s %10s %12s %12s %10s %9s %9s %9s %11s%n",
+                    "signal", "target/s", "generated/s", "delivered/s", "drop rate", "p50 ns", "p99 ns", "p99.9 ns", "max ns");
+            for (Kind kind : Kind.values()) {
+                int i = kind.ordinal();
+                double generatedRate = (generatedAtEnd[i] - generatedAtStart[i]) / window;
+                double deliveredRate = (windowEnd.get(kind.signal).items() - windowStart.get(kind.signal).items()) / window;
+                // Metric recordings are aggregated before export, so there is no per-item drop rate for them.
+                String dropRate = kind == Kind.METRICS || generatedTotal[i] == 0
+                        ? "n/a"
+                        : String.format(Locale.ROOT, "%.3f%%",
+                                100.0 * Math.max(0L, generatedTotal[i] - end.get(kind.signal).items()) / generatedTotal[i]);
+                LatencyHistogram h = overhead[i];
+                out.printf(Locale.ROOT, "%-8s %10d %12.1f %12.1f %10s %9d %9d %9d %11d%n",
+                        kind.label, options.rates.get(kind), generatedRate, deliveredRate, dropRate,
+                        h.percentile(0.50), h.percentile(0.99), h.percentile(0.999), h.max());
+            }
+            out.println("(metrics: generated = counter+histogram recordings, delivered = exported data points)");
+            for (OtlpReceiver.OtlpSignal signal : OtlpReceiver.OtlpSignal.values()) {
+                OtlpReceiver.Snapshot.Signal s = end.get(signal);
+                out.printf(Locale.ROOT, "receiver %-7s %8d requests %12d bytes %10d items%n",
+                        signal.name().toLowerCase(Locale.ROOT), s.requests(), s.bytes(), s.items());
+            }
+            out.println("receiver responses by status: " + end.responses());
+            out.printf(Locale.ROOT, "heap: %.1f MB after warm-up GC, %.1f MB peak during run, %.1f MB after shutdown GC;"
+                            + " %d GCs taking %d ms during run%n",
+                    mb(heap.afterWarmupBytes), mb(heap.peakBytes), mb(heap.afterRunBytes), heap.gcCount, heap.gcMillis);
+        }
+
+        private static String format(Duration duration) {
+            long millis = duration.toMillis();
+            return millis % 1000 == 0 ? millis / 1000 + "s" : millis + "ms";
+        }
+
+        private static double mb(long bytes) {
+            return bytes / (1024.0 * 1024.0);
+        }
+    }
+
+    static final class Options {
+        private Duration duration = Duration.ofSeconds(60);
+        private Duration warmup = Duration.ofSeconds(10);
+        private int threads = 4;
+        private int metricCardinality = 200;
+        private final Map<Kind, Integer> rates = new EnumMap<>(Kind.class);
+        private final OtlpReceiver.Settings receiver = new OtlpReceiver.Settings()
+                .setApiKey(API_KEY)
+                .setLatency(Duration.ofMillis(10));
+        private final List<String> springArgs = new ArrayList<>();
+
+        private Options() {
+            rates.put(Kind.SPANS, 20_000);
+            rates.put(Kind.LOGS, 10_000);
+            rates.put(Kind.METRICS, 20_000);
+        }
+
+        OtlpReceiver.Settings receiverSettings() {
+            return receiver;
+        }
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1).trim();
+                if (name.startsWith("optic.") || name.startsWith("logging.") || name.startsWith("spring.")) {
+                    options.springArgs.add(arg);
+                    if (name.equals("optic.protocol")) {
+                        // The receiver has to speak whatever the SDK is told to send.
+                        options.receiver.setGrpc(value.equalsIgnoreCase("grpc"));
+                    }
+                    continue;
+                }
+                switch (name) {
+                    case "duration" -> options.duration = parseDuration(value);
+                    case "warmup" -> options.warmup = parseDuration(value);
+                    case "threads" -> options.threads = Math.max(1, Integer.parseInt(value));
+                    case "spans-per-second" -> options.rates.put(Kind.SPANS, Integer.parseInt(value));
+                    case "logs-per-second" -> options.rates.put(Kind.LOGS, Integer.parseInt(value));
+                    case "metrics-per-second" -> options.rates.put(Kind.METRICS, Integer.parseInt(value));
+                    case "metric-cardinality" -> options.metricCardinality = Integer.parseInt(value);
+                    case "receiver-port" -> options.receiver.setPort(Integer.parseInt(value));
+                    case "receiver-latency" -> options.receiver.setLatency(parseDuration(value));
+                    case "receiver-latency-jitter" -> options.receiver.setLatencyJitter(parseDuration(value));
+                    case "receiver-error-rate" -> options.receiver.setErrorRate(Double.parseDouble(value));
+                    case "receiver-error-status" -> options.receiver.setErrorStatus(Integer.parseInt(value));
+                    case "receiver-max-rps" -> options.receiver.setMaxRequestsPerSecond(Integer.parseInt(value));
+                    default -> throw new IllegalArgumentException("Unknown option --" + name);
+                }
+            }
+            return options;
+        }
+
+        // Accepts 250ms, 30s, 5m or an ISO-8601 duration.
+        private static Duration parseDuration(String value) {
+            String v = value.toLowerCase(Locale.ROOT);
+            if (v.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+            }
+            if (v.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+            }
+            if (v.endsWith("m") && !v.startsWith("p")) {
+                return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+            }
+            return Duration.parse(value);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.optic.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.optic.sdk.testing.OtlpReceiver;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Short runs of {@link LoadTest} with pass/fail thresholds, so the delivery claims of the export pipeline are
+ * checked on every {@code mvn -B -f loadtest verify} rather than only when someone runs the load test by hand.
+ * Rates are modest on purpose: these check that nothing is lost, not how fast the SDK is.
+ */
+class LoadTestIT {
+    private static final String[] SHORT_RUN = {
+            "--warmup=1s", "--duration=4s", "--threads=2",
+            "--spans-per-second=2000", "--logs-per-second=1000", "--metrics-per-second=2000",
+            "--receiver-latency=5ms",
+            "--optic.traces.batch.schedule-delay=200ms", "--optic.logs.batch.schedule-delay=200ms",
+            // Room for the backlog that builds up while an export waits out a retry; a full queue drops by design.
+            "--optic.traces.batch.max-queue-size=65536", "--optic.logs.batch.max-queue-size=65536",
+    };
+
+    @AfterEach
+    void resetGlobal() {
+        // Every run boots a fresh Optic, which registers itself as the global OpenTelemetry.
+        GlobalOpenTelemetry.resetForTest();
+    }
+
+    @Test
+    void deliversEverySpanAndLogRecord() throws Exception {
+        LoadTest.Result result = run();
+
+        assertNoLoss(result);
+        assertTrue(result.delivered(LoadTest.Kind.METRICS) > 0, "metric data points delivered");
+    }
+
+    @Test
+    void deliversEverySpanAndLogRecordOverGrpc() throws Exception {
+        LoadTest.Result result = run("--optic.protocol=grpc", "--optic.compression=gzip");
+
+        assertNoLoss(result);
+        assertTrue(result.delivered(LoadTest.Kind.METRICS) > 0, "metric data points delivered");
+    }
+
+    // The printed results double as the batch-versus-striped comparison at each producer thread count.
+    @ParameterizedTest(name = "{0} processor, {1} threads")
+    @CsvSource({"batch, 1", "striped, 1", "batch, 8", "striped, 8", "batch, 32", "striped, 32"})
+    void deliversEverySpanPerProcessorAndProducerThreads(String processor, int threads) throws Exception {
+        LoadTest.Result result = run("--optic.traces.processor=" + processor, "--threads=" + threads);
+
+        assertNoLoss(result);
+    }
+
+    @Test
+    void retriesThroughServerErrors() throws Exception {
+        LoadTest.Result result = run(retryThroughErrors());
+
+        assertTrue(result.responses(503) > 0, "receiver answered 503");
+        assertNoLoss(result);
+    }
+
+    @Test
+    void retriesThroughServerErrorsWithZstd() throws Exception {
+        List<String> args = new ArrayList<>(List.of(retryThroughErrors()));
+        args.add("--optic.compression=zstd");
+        LoadTest.Result result = run(args.toArray(new String[0]));
+
+        assertTrue(result.responses(503) > 0, "receiver answered 503");
+        assertNoLoss(result);
+    }
+
+    @Test
+    void honoursRetryAfterUnderARateCeiling() throws Exception {
+        // Large batches keep the backlog drainable at three requests per second.
+        LoadTest.Result result = run("--receiver-max-rps=3",
+                "--optic.traces.batch.max-export-batch-size=4096", "--optic.logs.batch.max-export-batch-size=4096");
+
+        assertTrue(result.responses(429) > 0, "receiver answered 429");
+        assertNoLoss(result);
+    }
+
+    // Short backoffs keep a batch that keeps drawing 503s within the shutdown flush, and the breaker stays closed
+    // through a chance run of five failed attempts in a row, so only the retries are under test.
+    private static String[] retryThroughErrors() {
+        return new String[] {
+                "--optic.retry.initial-backoff=100ms", "--optic.retry.max-backoff=500ms",
+                "--optic.circuit-breaker.enabled=false",
+                "--receiver-error-rate=0.2", "--receiver-error-status=503",
+        };
+    }
+
+    static LoadTest.Result run(String... extra) throws Exception {
+        List<String> args = new ArrayList<>(List.of(SHORT_RUN));
+        args.addAll(List.of(extra));
+        LoadTest.Options options = LoadTest.Options.parse(args.toArray(new String[0]));
+        try (OtlpReceiver receiver = OtlpReceiver.start(options.receiverSettings())) {
+            LoadTest.Result result = LoadTest.run(options, receiver);
+            result.print(System.out);
+            return result;
+        }
+    }
+
+    static void assertNoLoss(LoadTest.Result result) {
+        assertEquals(result.generated(LoadTest.Kind.SPANS), result.delivered(LoadTest.Kind.SPANS), "spans delivered");
+        // Spring's own startup logging goes through the bridge as well.
+        assertTrue(result.delivered(LoadTest.Kind.LOGS) >= result.generated(LoadTest.Kind.LOGS),
+                "log records delivered: " + result.delivered(LoadTest.Kind.LOGS)
+                        + " of " + result.generated(LoadTest.Kind.LOGS));
+    }
+}
@@ -0,0 +1,350 @@
+package com.optic.sdk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// FIFO of serialized OTLP requests kept in memory-mapped segment files.
+// Segment layout: [int magic][int readOffset] followed by records [int length][byte encoding][payload];
+// a zero length ends the segment. The length is written last, so a torn append is never replayed. The encoding
+// byte is a fixed code rather than an enum ordinal, so reordering or extending Compression cannot misread a spool.
+final class DiskSpool implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(DiskSpool.class.getName());
+    private static final int MAGIC = 0x4F505331;
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_OVERHEAD = 5;
+    private static final String SUFFIX = ".seg";
+    private static final byte ENCODING_NONE = 0;
+    private static final byte ENCODING_GZIP = 1;
+    private static final byte ENCODING_ZSTD = 2;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long maxBytes;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence;
+    private boolean closed;
+
+    private DiskSpool(Path directory, int segmentBytes, long maxBytes, FileChannel lockChannel, FileLock lock) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.lockChannel = lockChannel;
+        this.lock = lock;
+    }
+
+    // Returns null when spooling is disabled or the directory cannot be used; export then continues without it.
+    static DiskSpool forSignal(OpticConfig.Spool settings, String signal) {
+        if (!settings.isEnabled()) {
+            return null;
+        }
+        Path directory = Paths.get(settings.getDirectory()).resolve(signal);
+        try {
+            return open(directory, (int) settings.getSegmentBytes(), settings.getMaxBytes());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Optic spool disabled for " + signal + ": cannot use " + directory, e);
+            return null;
+        }
+    }
+
+    static DiskSpool open(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel lockChannel = FileChannel.open(directory.resolve("spool.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IOException("spool directory is in use by another exporter: " + directory);
+        }
+        DiskSpool spool = new DiskSpool(directory, segmentBytes, maxBytes, lockChannel, lock);
+        spool.recover();
+        return spool;
+    }
+
+    synchronized boolean append(OpticConfig.Compression encoding, byte[] payload) {
+        int needed = RECORD_OVERHEAD + payload.length;
+        if (closed || needed > segmentBytes - HEADER_BYTES) {
+            return false;
+        }
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.writeOffset + needed > tail.capacity()) {
+            if (tail != null) {
+                tail.buffer.force();
+            }
+            try {
+                tail = createSegment();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Failed to create Optic spool segment in " + directory, e);
+                return false;
+            }
+            evictOverflow();
+        }
+        int offset = tail.writeOffset;
+        tail.buffer.put(offset + 4, encodingCode(encoding));
+        tail.buffer.put(offset + RECORD_OVERHEAD, payload);
+        if (offset + needed + 4 <= tail.capacity()) {
+            // A torn append before a restart may have left bytes here; terminate explicitly.
+            tail.buffer.putInt(offset + needed, 0);
+        }
+        tail.buffer.putInt(offset, payload.length);
+        tail.writeOffset = offset + needed;
+        return true;
+    }
+
+    // Returns the oldest record without removing it, or null when the spool is empty.
+    synchronized Record peek() {
+        while (!closed) {
+            Segment head = segments.peekFirst();
+            if (head == null) {
+                return null;
+            }
+            if (head.readOffset < head.writeOffset) {
+                int length = head.buffer.getInt(head.readOffset);
+                byte code = head.buffer.get(head.readOffset + 4);
+                OpticConfig.Compression encoding = encodingOf(code);
+                if (encoding == null) {
+                    // Written by a newer release or damaged on disk: the payload cannot be sent with the right
+                    // Content-Encoding, so it is skipped rather than blocking everything behind it.
+                    LOGGER.warning("Optic spool in " + directory + " skipped a record with unknown encoding " + code);
+                    head.readOffset += RECORD_OVERHEAD + length;
+                    head.buffer.putInt(4, head.readOffset);
+                    continue;
+                }
+                byte[] payload = new byte[length];
+                head.buffer.get(head.readOffset + RECORD_OVERHEAD, payload);
+                return new Record(head.sequence, head.readOffset, encoding, payload);
+            }
+            if (head == segments.peekLast()) {
+                return null;
+            }
+            deleteHead();
+        }
+        return null;
+    }
+
+    // No-op when the record's segment was evicted in the meantime.
+    synchronized void remove(Record record) {
+        Segment head = segments.peekFirst();
+        if (closed || head == null || head.sequence != record.sequence || head.readOffset != record.offset) {
+            return;
+        }
+        head.readOffset += RECORD_OVERHEAD + record.payload.length;
+        head.buffer.putInt(4, head.readOffset);
+        if (head.readOffset >= head.writeOffset && head != segments.peekLast()) {
+            deleteHead();
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        for (Segment segment : segments) {
+            if (segment.readOffset < segment.writeOffset) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            Unmapper.unmap(segment.buffer);
+        }
+        segments.clear();
+        try {
+            lock.release();
+            lockChannel.close();
+        } catch (IOException ignored) {
+            // Releasing the lock is best effort on shutdown.
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long sequence;
+            try {
+                sequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            Segment segment = mapExisting(file, sequence);
+            if (segment == null || segment.readOffset >= segment.writeOffset) {
+                Files.deleteIfExists(file);
+            } else {
+                segments.addLast(segment);
+            }
+            nextSequence = Math.max(nextSequence, sequence + 1);
+        }
+        evictOverflow();
+    }
+
+    private Segment mapExisting(Path file, long sequence) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            return null;
+        }
+        Segment segment = new Segment(sequence, file, buffer);
+        int offset = HEADER_BYTES;
+        while (offset + RECORD_OVERHEAD <= segment.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_OVERHEAD + length > segment.capacity()) {
+                break;
+            }
+            offset += RECORD_OVERHEAD + length;
+        }
+        segment.writeOffset = offset;
+        int readOffset = buffer.getInt(4);
+        segment.readOffset = readOffset < HEADER_BYTES || readOffset > offset ? HEADER_BYTES : readOffset;
+        return segment;
+    }
+
+    private Segment createSegment() throws IOException {
+        long sequence = nextSequence++;
+        Path file = directory.resolve(String.format("%020d%s", sequence, SUFFIX));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, HEADER_BYTES);
+        Segment segment = new Segment(sequence, file, buffer);
+        segment.writeOffset = HEADER_BYTES;
+        segment.readOffset = HEADER_BYTES;
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private static byte encodingCode(OpticConfig.Compression encoding) {
+        return switch (encoding) {
+            case NONE -> ENCODING_NONE;
+            case GZIP -> ENCODING_GZIP;
+            case ZSTD -> ENCODING_ZSTD;
+        };
+    }
+
+    private static OpticConfig.Compression encodingOf(byte code) {
+        return switch (code) {
+            case ENCODING_NONE -> OpticConfig.Compression.NONE;
+            case ENCODING_GZIP -> OpticConfig.Compression.GZIP;
+            case ENCODING_ZSTD -> OpticConfig.Compression.ZSTD;
+            default -> null;
+        };
+    }
+
+    // Oldest-first: the segment currently written to is always kept.
+    private void evictOverflow() {
+        while (segments.size() > 1 && (long) segments.size() * segmentBytes > maxBytes) {
+            LOGGER.warning("Optic spool in " + directory + " is full; discarding its oldest segment");
+            deleteHead();
+        }
+    }
+
+    private void deleteHead() {
+        Segment head = segments.removeFirst();
+        Unmapper.unmap(head.buffer);
+        try {
+            Files.deleteIfExists(head.path);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to delete Optic spool segment " + head.path, e);
+        }
+    }
+
+    record Record(long sequence, int offset, OpticConfig.Compression encoding, byte[] payload) {
+    }
+
+    private static final class Segment {
+        private final long sequence;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int writeOffset;
+        private int readOffset;
+
+        private Segment(long sequence, Path path, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        private int capacity() {
+            return buffer.capacity();
+        }
+    }
+
+    // Releases a mapping right away instead of whenever the buffer is collected; until then the segment keeps its
+    // file open, which holds disk space after deletion and blocks deleting it at all on Windows.
+    private static final class Unmapper {
+        private static final MethodHandle INVOKE_CLEANER = lookup();
+
+        private static MethodHandle lookup() {
+            try {
+                Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                return MethodHandles.lookup()
+                        .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                        .bindTo(field.get(null));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "Optic spool segments are unmapped by the garbage collector", e);
+                return null;
+            }
+        }
+
+        // The buffer must not be touched afterwards.
+        static void unmap(MappedByteBuffer buffer) {
+            if (INVOKE_CLEANER == null) {
+                return;
+            }
+            try {
+                INVOKE_CLEANER.invokeExact((ByteBuffer) buffer);
+            } catch (Throwable e) {
+                LOGGER.log(Level.FINE, "Failed to unmap Optic spool segment", e);
+            }
+        }
+    }
+}
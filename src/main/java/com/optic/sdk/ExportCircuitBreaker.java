@@ -0,0 +1,64 @@
+package com.optic.sdk;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Opens after consecutive failed exports, each counted once its retries are exhausted; once the open period has passed, a single probe request decides
+// whether to close again or stay open for another period.
+final class ExportCircuitBreaker {
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile boolean open;
+    private volatile long openUntilNanos;
+
+    ExportCircuitBreaker(OpticConfig.CircuitBreaker settings) {
+        this.failureThreshold = settings.isEnabled() ? settings.getFailureThreshold() : 0;
+        this.openNanos = settings.getOpenDuration().toNanos();
+    }
+
+    boolean tryAcquire() {
+        if (!open) {
+            return true;
+        }
+        if (System.nanoTime() - openUntilNanos < 0) {
+            return false;
+        }
+        return probing.compareAndSet(false, true);
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        open = false;
+        probing.set(false);
+    }
+
+    void onFailure() {
+        if (failureThreshold <= 0) {
+            return;
+        }
+        if (probing.get() || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openFor(openNanos);
+        }
+    }
+
+    // Used for a Retry-After longer than the retry policy is willing to wait.
+    void openFor(long nanos) {
+        if (failureThreshold <= 0) {
+            return;
+        }
+        openUntilNanos = System.nanoTime() + Math.max(nanos, openNanos);
+        open = true;
+        consecutiveFailures.set(0);
+        probing.set(false);
+    }
+
+    boolean isProbing() {
+        return probing.get();
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+}
@@ -1,25 +1,53 @@
 package com.optic.sdk;
 
+import com.optic.sdk.internal.PipelineTelemetry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.common.AttributesBuilder;
 import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.MeterProvider;
 import io.opentelemetry.api.trace.Tracer;
 import io.opentelemetry.exporter.otlp.http.logs.OtlpHttpLogRecordExporter;
+import io.opentelemetry.exporter.otlp.http.logs.OtlpHttpLogRecordExporterBuilder;
 import io.opentelemetry.exporter.otlp.http.metrics.OtlpHttpMetricExporter;
+import io.opentelemetry.exporter.otlp.http.metrics.OtlpHttpMetricExporterBuilder;
 import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporterBuilder;
+import io.opentelemetry.exporter.otlp.logs.OtlpGrpcLogRecordExporter;
+import io.opentelemetry.exporter.otlp.logs.OtlpGrpcLogRecordExporterBuilder;
+import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporter;
+import io.opentelemetry.exporter.otlp.metrics.OtlpGrpcMetricExporterBuilder;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporterBuilder;
 import io.opentelemetry.sdk.OpenTelemetrySdk;
 import io.opentelemetry.sdk.OpenTelemetrySdkBuilder;
+import io.opentelemetry.sdk.common.export.RetryPolicy;
 import io.opentelemetry.sdk.logs.SdkLoggerProvider;
 import io.opentelemetry.sdk.logs.export.BatchLogRecordProcessor;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentSelector;
 import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.View;
+import io.opentelemetry.sdk.metrics.ViewBuilder;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
 import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
+import io.opentelemetry.sdk.metrics.internal.SdkMeterProviderUtil;
 import io.opentelemetry.sdk.resources.Resource;
 import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SpanProcessor;
 import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
 import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public final class Optic implements AutoCloseable {
@@ -31,13 +59,21 @@ public final class Optic implements AutoCloseable {
     private final OpticConfig config;
     private final OpenTelemetry openTelemetry;
     private final OpenTelemetrySdk sdk;
+    private final RootSpanNotifier rootSpanNotifier;
+    // Shared with OpticMeterRegistry; null when metrics are disabled.
+    private final MetricExporter metricExporter;
+    private final Resource resource;
 
     private volatile boolean closed;
 
-    private Optic(OpticConfig config, OpenTelemetry openTelemetry, OpenTelemetrySdk sdk) {
+    private Optic(OpticConfig config, OpenTelemetry openTelemetry, OpenTelemetrySdk sdk, RootSpanNotifier rootSpanNotifier,
+                  MetricExporter metricExporter, Resource resource) {
         this.config = config;
         this.openTelemetry = openTelemetry;
         this.sdk = sdk;
+        this.rootSpanNotifier = rootSpanNotifier;
+        this.metricExporter = metricExporter;
+        this.resource = resource;
     }
 
     public static Optic init() {
@@ -55,54 +91,70 @@ public final class Optic implements AutoCloseable {
 
             Optic created;
             if (!effective.isEnableMetrics() && !effective.isEnableTraces() && !effective.isEnableLogs()) {
-                created = new Optic(effective, OpenTelemetry.noop(), null);
+                created = new Optic(effective, OpenTelemetry.noop(), null, null, null, Resource.empty());
             } else {
                 Resource resource = buildResource(effective);
                 String authValue = "Bearer " + effective.getApiKey();
                 OpenTelemetrySdkBuilder sdkBuilder = OpenTelemetrySdk.builder();
-
-                if (effective.isEnableTraces()) {
-                    OtlpHttpSpanExporter spanExporter = OtlpHttpSpanExporter.builder()
-                            .setEndpoint(signalEndpoint(effective.getEndpoint(), "/otlp/v1/traces"))
-                            .addHeader("Authorization", authValue)
-                            .build();
-                    SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
-                            .setResource(resource)
-                            .addSpanProcessor(BatchSpanProcessor.builder(spanExporter).build())
-                            .build();
-                    sdkBuilder = sdkBuilder.setTracerProvider(tracerProvider);
-                }
-
+                RootSpanNotifier rootSpanNotifier = null;
+                // Bound to the SDK meter once it exists; nothing is exported through it before that.
+                PipelineTelemetry telemetry = new PipelineTelemetry();
+                // One client, connection pool and dispatcher for all signals; released by the last exporter.
+                // Null when the stock OTel exporters are used instead.
+                OtlpHttpTransport transport = useOpticTransport(effective)
+                        ? new OtlpHttpTransport(authValue, effective, telemetry)
+                        : null;
+
+                // Metrics are set up first so that the trace and log pipelines can report into them.
+                MeterProvider selfMeterProvider = MeterProvider.noop();
+                MetricExporter sharedMetricExporter = null;
                 if (effective.isEnableMetrics()) {
-                    OtlpHttpMetricExporter metricExporter = OtlpHttpMetricExporter.builder()
-                            .setEndpoint(signalEndpoint(effective.getEndpoint(), "/otlp/v1/metrics"))
-                            .addHeader("Authorization", authValue)
-                            .build();
+                    MetricExporter metricExporter = new OverflowReportingMetricExporter(
+                            buildMetricExporter(effective, authValue, transport), telemetry);
+                    sharedMetricExporter = metricExporter;
                     PeriodicMetricReader reader = PeriodicMetricReader.builder(metricExporter)
                             .setInterval(effective.getExportInterval())
                             .build();
-                    SdkMeterProvider meterProvider = SdkMeterProvider.builder()
+                    SdkMeterProvider meterProvider = buildMeterProvider(effective, resource, reader);
+                    sdkBuilder = sdkBuilder.setMeterProvider(meterProvider);
+                    if (effective.isEnableSelfTelemetry()) {
+                        selfMeterProvider = meterProvider;
+                        telemetry.bind(meterProvider.meterBuilder(PipelineTelemetry.SCOPE)
+                                .setInstrumentationVersion(VERSION)
+                                .build());
+                    }
+                }
+
+                if (effective.isEnableTraces()) {
+                    SpanExporter spanExporter = buildSpanExporter(effective, authValue, transport, selfMeterProvider);
+                    rootSpanNotifier = new RootSpanNotifier();
+                    SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
                             .setResource(resource)
-                            .registerMetricReader(reader)
+                            .addSpanProcessor(rootSpanNotifier)
+                            .addSpanProcessor(buildSpanProcessor(effective, spanExporter, telemetry, selfMeterProvider))
                             .build();
-                    sdkBuilder = sdkBuilder.setMeterProvider(meterProvider);
+                    sdkBuilder = sdkBuilder.setTracerProvider(tracerProvider);
                 }
 
                 if (effective.isEnableLogs()) {
-                    OtlpHttpLogRecordExporter logExporter = OtlpHttpLogRecordExporter.builder()
-                            .setEndpoint(signalEndpoint(effective.getEndpoint(), "/otlp/v1/logs"))
-                            .addHeader("Authorization", authValue)
-                            .build();
+                    LogRecordExporter logExporter = buildLogExporter(effective, authValue, transport, selfMeterProvider);
+                    OpticConfig.Batch logBatch = effective.getLogBatch();
                     SdkLoggerProvider loggerProvider = SdkLoggerProvider.builder()
                             .setResource(resource)
-                            .addLogRecordProcessor(BatchLogRecordProcessor.builder(logExporter).build())
+                            .addLogRecordProcessor(BatchLogRecordProcessor.builder(logExporter)
+                                    .setMaxQueueSize(logBatch.getMaxQueueSize())
+                                    .setMaxExportBatchSize(logBatch.getMaxExportBatchSize())
+                                    .setScheduleDelay(logBatch.getScheduleDelay())
+                                    .setExporterTimeout(logBatch.getExportTimeout())
+                                    .setMeterProvider(selfMeterProvider)
+                                    .build())
                             .build();
                     sdkBuilder = sdkBuilder.setLoggerProvider(loggerProvider);
                 }
 
                 OpenTelemetrySdk sdk = sdkBuilder.buildAndRegisterGlobal();
 
-                created = new Optic(effective, sdk, sdk);
+                created = new Optic(effective, sdk, sdk, rootSpanNotifier, sharedMetricExporter, resource);
             }
 
             instance = created;
@@ -138,6 +190,18 @@ public final class Optic implements AutoCloseable {
         return openTelemetry.getLogsBridge().loggerBuilder(instrumentationScope).build();
     }
 
+    public void addRootSpanListener(RootSpanListener listener) {
+        if (rootSpanNotifier != null && listener != null) {
+            rootSpanNotifier.addListener(listener);
+        }
+    }
+
+    public void removeRootSpanListener(RootSpanListener listener) {
+        if (rootSpanNotifier != null && listener != null) {
+            rootSpanNotifier.removeListener(listener);
+        }
+    }
+
     public OpticConfig getConfig() {
         return config;
     }
@@ -146,6 +210,14 @@ public final class Optic implements AutoCloseable {
         return openTelemetry;
     }
 
+    MetricExporter metricExporter() {
+        return metricExporter;
+    }
+
+    Resource resource() {
+        return resource;
+    }
+
     public void shutdown() {
         if (closed) {
             return;
@@ -169,6 +241,217 @@ public final class Optic implements AutoCloseable {
         shutdown();
     }
 
+    // Optic's transport carries every OTLP/HTTP export, so retries with jitter, the circuit breaker, the shared client
+    // and the export metrics apply whatever the compression. It builds requests with OTel's internal marshalers, so
+    // the stock OTLP/HTTP exporters take over only when those are not compatible with the version this SDK was
+    // built against.
+    private static boolean useOpticTransport(OpticConfig config) {
+        return config.getProtocol() == OpticConfig.Protocol.HTTP_PROTOBUF && OtlpMarshalers.isCompatible();
+    }
+
+    private static SpanExporter buildSpanExporter(OpticConfig config, String authValue, OtlpHttpTransport transport,
+                                                  MeterProvider meterProvider) {
+        if (config.getProtocol() == OpticConfig.Protocol.GRPC) {
+            OtlpGrpcSpanExporterBuilder builder = OtlpGrpcSpanExporter.builder()
+                    .setEndpoint(grpcEndpoint(config.getEndpoint()))
+                    .addHeader("Authorization", authValue)
+                    .setCompression(stockCompression(config.getCompression()))
+                    .setTimeout(config.getTraceBatch().getExportTimeout())
+                    .setMeterProvider(meterProvider);
+            RetryPolicy retryPolicy = retryPolicy(config.getRetry());
+            if (retryPolicy != null) {
+                builder.setRetryPolicy(retryPolicy);
+            }
+            return builder.build();
+        }
+        if (transport == null) {
+            OtlpHttpSpanExporterBuilder builder = OtlpHttpSpanExporter.builder()
+                    .setEndpoint(signalEndpoint(config.getEndpoint(), "/otlp/v1/traces"))
+                    .addHeader("Authorization", authValue)
+                    .setCompression(stockCompression(config.getCompression()))
+                    .setTimeout(config.getTraceBatch().getExportTimeout())
+                    .setMeterProvider(meterProvider);
+            RetryPolicy retryPolicy = retryPolicy(config.getRetry());
+            if (retryPolicy != null) {
+                builder.setRetryPolicy(retryPolicy);
+            }
+            return builder.build();
+        }
+        return new OpticSpanExporter(
+                transport,
+                signalEndpoint(config.getEndpoint(), "/otlp/v1/traces"),
+                config.getTraceBatch().getExportTimeout(),
+                config.getSpool());
+    }
+
+    private static MetricExporter buildMetricExporter(OpticConfig config, String authValue, OtlpHttpTransport transport) {
+        AggregationTemporalitySelector temporality =
+                OpticMetricExporter.temporalitySelector(config.getMetrics().getTemporality());
+        DefaultAggregationSelector aggregation = OpticMetricExporter.aggregationSelector(config.getMetrics());
+        if (config.getProtocol() == OpticConfig.Protocol.GRPC) {
+            OtlpGrpcMetricExporterBuilder builder = OtlpGrpcMetricExporter.builder()
+                    .setEndpoint(grpcEndpoint(config.getEndpoint()))
+                    .addHeader("Authorization", authValue)
+                    .setCompression(stockCompression(config.getCompression()))
+                    .setTimeout(config.getExportInterval())
+                    .setAggregationTemporalitySelector(temporality)
+                    .setDefaultAggregationSelector(aggregation);
+            RetryPolicy retryPolicy = retryPolicy(config.getRetry());
+            if (retryPolicy != null) {
+                builder.setRetryPolicy(retryPolicy);
+            }
+            return builder.build();
+        }
+        if (transport == null) {
+            OtlpHttpMetricExporterBuilder builder = OtlpHttpMetricExporter.builder()
+                    .setEndpoint(signalEndpoint(config.getEndpoint(), "/otlp/v1/metrics"))
+                    .addHeader("Authorization", authValue)
+                    .setCompression(stockCompression(config.getCompression()))
+                    .setTimeout(config.getExportInterval())
+                    .setAggregationTemporalitySelector(temporality)
+                    .setDefaultAggregationSelector(aggregation);
+            RetryPolicy retryPolicy = retryPolicy(config.getRetry());
+            if (retryPolicy != null) {
+                builder.setRetryPolicy(retryPolicy);
+            }
+            return builder.build();
+        }
+        return new OpticMetricExporter(
+                transport,
+                signalEndpoint(config.getEndpoint(), "/otlp/v1/metrics"),
+                // The next collection is due after one interval, so an export must not retry past it.
+                config.getExportInterval(),
+                config.getSpool(),
+                temporality,
+                aggregation);
+    }
+
+    // Package-private so tests can read the configured views through their own reader.
+    static SdkMeterProvider buildMeterProvider(OpticConfig config, Resource resource, MetricReader reader) {
+        OpticConfig.Metrics metrics = config.getMetrics();
+        SdkMeterProviderBuilder builder = SdkMeterProvider.builder().setResource(resource);
+        int cardinalityLimit = metrics.getCardinalityLimit();
+        SdkMeterProviderUtil.registerMetricReaderWithCardinalitySelector(
+                builder, reader, instrumentType -> cardinalityLimit);
+        // A view overrides the reader-wide limit for the instruments it selects.
+        for (Map.Entry<String, Integer> limit : metrics.getCardinalityLimits().entrySet()) {
+            if (hasView(metrics, limit.getKey())) {
+                // The configured view for the same selector carries this limit; a second view would duplicate the stream.
+                continue;
+            }
+            ViewBuilder view = View.builder();
+            SdkMeterProviderUtil.setCardinalityLimit(view, limit.getValue());
+            builder.registerView(InstrumentSelector.builder().setName(limit.getKey()).build(), view.build());
+        }
+        for (OpticConfig.MetricView configured : metrics.getViews()) {
+            builder.registerView(InstrumentSelector.builder().setName(configured.getInstrument()).build(),
+                    buildView(configured, metrics));
+        }
+        return builder.build();
+    }
+
+    private static boolean hasView(OpticConfig.Metrics metrics, String instrument) {
+        for (OpticConfig.MetricView view : metrics.getViews()) {
+            if (view.getInstrument().equals(instrument)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static View buildView(OpticConfig.MetricView configured, OpticConfig.Metrics metrics) {
+        ViewBuilder view = View.builder();
+        if (configured.getName() != null) {
+            view.setName(configured.getName());
+        }
+        if (configured.getDescription() != null) {
+            view.setDescription(configured.getDescription());
+        }
+        Set<String> keep = configured.getAttributesKeep();
+        Set<String> drop = configured.getAttributesDrop();
+        if (keep != null) {
+            view.setAttributeFilter(key -> keep.contains(key) && !drop.contains(key));
+        } else if (!drop.isEmpty()) {
+            view.setAttributeFilter(key -> !drop.contains(key));
+        }
+        if (configured.getAggregation() != OpticConfig.MetricAggregation.DEFAULT) {
+            view.setAggregation(aggregation(configured, metrics));
+        }
+        // Views do not inherit the reader-wide limit, so resolve it here.
+        Integer limit = configured.getCardinalityLimit();
+        if (limit == null) {
+            limit = metrics.getCardinalityLimits().getOrDefault(configured.getInstrument(), metrics.getCardinalityLimit());
+        }
+        SdkMeterProviderUtil.setCardinalityLimit(view, limit);
+        return view.build();
+    }
+
+    private static Aggregation aggregation(OpticConfig.MetricView configured, OpticConfig.Metrics metrics) {
+        List<Double> bucketBoundaries = configured.getBucketBoundaries();
+        return switch (configured.getAggregation()) {
+            case DEFAULT -> Aggregation.defaultAggregation();
+            case SUM -> Aggregation.sum();
+            case LAST_VALUE -> Aggregation.lastValue();
+            case EXPLICIT_BUCKET -> bucketBoundaries == null
+                    ? Aggregation.explicitBucketHistogram()
+                    : Aggregation.explicitBucketHistogram(bucketBoundaries);
+            case BASE2_EXPONENTIAL -> OpticMetricExporter.exponentialHistogram(metrics);
+            case DROP -> Aggregation.drop();
+        };
+    }
+
+    private static LogRecordExporter buildLogExporter(OpticConfig config, String authValue, OtlpHttpTransport transport,
+                                                      MeterProvider meterProvider) {
+        if (config.getProtocol() == OpticConfig.Protocol.GRPC) {
+            OtlpGrpcLogRecordExporterBuilder builder = OtlpGrpcLogRecordExporter.builder()
+                    .setEndpoint(grpcEndpoint(config.getEndpoint()))
+                    .addHeader("Authorization", authValue)
+                    .setCompression(stockCompression(config.getCompression()))
+                    .setTimeout(config.getLogBatch().getExportTimeout())
+                    .setMeterProvider(meterProvider);
+            RetryPolicy retryPolicy = retryPolicy(config.getRetry());
+            if (retryPolicy != null) {
+                builder.setRetryPolicy(retryPolicy);
+            }
+            return builder.build();
+        }
+        if (transport == null) {
+            OtlpHttpLogRecordExporterBuilder builder = OtlpHttpLogRecordExporter.builder()
+                    .setEndpoint(signalEndpoint(config.getEndpoint(), "/otlp/v1/logs"))
+                    .addHeader("Authorization", authValue)
+                    .setCompression(stockCompression(config.getCompression()))
+                    .setTimeout(config.getLogBatch().getExportTimeout())
+                    .setMeterProvider(meterProvider);
+            RetryPolicy retryPolicy = retryPolicy(config.getRetry());
+            if (retryPolicy != null) {
+                builder.setRetryPolicy(retryPolicy);
+            }
+            return builder.build();
+        }
+        return new OpticLogRecordExporter(
+                transport,
+                signalEndpoint(config.getEndpoint(), "/otlp/v1/logs"),
+                config.getLogBatch().getExportTimeout(),
+                config.getSpool());
+    }
+
+    private static SpanProcessor buildSpanProcessor(OpticConfig config, SpanExporter spanExporter,
+                                                    PipelineTelemetry telemetry, MeterProvider meterProvider) {
+        OpticConfig.Batch batch = config.getTraceBatch();
+        if (config.getSpanProcessor() == OpticConfig.SpanProcessorType.STRIPED) {
+            return new StripedSpanProcessor(
+                    spanExporter, config.getTraceStripes(), config.getTraceExportWorkers(), batch, telemetry);
+        }
+        // The OTel batch processor reports its own queue size and drops through the given meter provider.
+        return BatchSpanProcessor.builder(spanExporter)
+                .setMaxQueueSize(batch.getMaxQueueSize())
+                .setMaxExportBatchSize(batch.getMaxExportBatchSize())
+                .setScheduleDelay(batch.getScheduleDelay())
+                .setExporterTimeout(batch.getExportTimeout())
+                .setMeterProvider(meterProvider)
+                .build();
+    }
+
     private static Resource buildResource(OpticConfig config) {
         AttributesBuilder attrs = Attributes.builder()
                 .put(AttributeKey.stringKey("service.name"), config.getServiceName())
@@ -207,6 +490,35 @@ public final class Optic implements AutoCloseable {
         return trimTrailingSlash(base) + signalPath;
     }
 
+    // gRPC services have fixed method paths, so only scheme, host and port of the endpoint are kept.
+    private static String grpcEndpoint(String endpoint) {
+        String base = endpoint == null ? "" : endpoint.trim();
+        if (base.isEmpty()) {
+            base = "http://localhost:8080";
+        }
+        int authorityStart = base.indexOf("://");
+        int pathStart = base.indexOf('/', authorityStart < 0 ? 0 : authorityStart + 3);
+        return pathStart < 0 ? base : base.substring(0, pathStart);
+    }
+
+    // The OTel exporters only know gzip; zstd reaches them over gRPC, or over HTTP when Optic's transport cannot be used.
+    private static String stockCompression(OpticConfig.Compression compression) {
+        return compression == OpticConfig.Compression.NONE ? "none" : "gzip";
+    }
+
+    // OTel's policy has no jitter and allows two to five attempts; null leaves its exporters without retries.
+    private static RetryPolicy retryPolicy(OpticConfig.Retry retry) {
+        if (retry.getMaxAttempts() <= 1) {
+            return null;
+        }
+        return RetryPolicy.builder()
+                .setMaxAttempts(Math.min(retry.getMaxAttempts(), 5))
+                .setInitialBackoff(retry.getInitialBackoff())
+                .setMaxBackoff(retry.getMaxBackoff())
+                .setBackoffMultiplier(retry.getBackoffMultiplier())
+                .build();
+    }
+
     private static String trimTrailingSlash(String value) {
         String output = value;
         while (output.endsWith("/")) {
@@ -1,7 +1,15 @@
 package com.optic.sdk;
 
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Objects;
 
 public final class OpticConfig {
@@ -13,7 +21,21 @@ public final class OpticConfig {
     private boolean enableTraces = true;
     private boolean enableMetrics = true;
     private boolean enableLogs = true;
+    private boolean enableSelfTelemetry = true;
     private Duration exportInterval = Duration.ofSeconds(10);
+    private Protocol protocol = Protocol.HTTP_PROTOBUF;
+    private Compression compression = Compression.NONE;
+    private final Batch traceBatch = new Batch(Duration.ofSeconds(5));
+    private SpanProcessorType spanProcessor = SpanProcessorType.BATCH;
+    private int traceExportWorkers = 2;
+    // 0 sizes the stripes from the CPU count and the trace batch settings.
+    private int traceStripes;
+    private final Batch logBatch = new Batch(Duration.ofSeconds(1));
+    private final Spool spool = new Spool();
+    private final Retry retry = new Retry();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private final Http http = new Http();
+    private final Metrics metrics = new Metrics();
 
     public static OpticConfig fromEnv() {
         OpticConfig cfg = new OpticConfig();
@@ -28,6 +50,7 @@ public final class OpticConfig {
         cfg.enableTraces = parseBoolean(env.get("OPTIC_ENABLE_TRACES"), cfg.enableTraces);
         cfg.enableMetrics = parseBoolean(env.get("OPTIC_ENABLE_METRICS"), cfg.enableMetrics);
         cfg.enableLogs = parseBoolean(env.get("OPTIC_ENABLE_LOGS"), cfg.enableLogs);
+        cfg.enableSelfTelemetry = parseBoolean(env.get("OPTIC_ENABLE_SELF_TELEMETRY"), cfg.enableSelfTelemetry);
 
         long intervalMs = parseLong(env.get("OPTIC_EXPORT_INTERVAL_MS"), -1L);
         if (intervalMs <= 0) {
@@ -37,6 +60,21 @@ public final class OpticConfig {
             cfg.exportInterval = Duration.ofMillis(intervalMs);
         }
 
+        cfg.setProtocol(parseProtocol(
+                firstNonBlank(env.get("OPTIC_PROTOCOL"), env.get("OTEL_EXPORTER_OTLP_PROTOCOL")), cfg.protocol));
+        cfg.setCompression(parseCompression(
+                firstNonBlank(env.get("OPTIC_COMPRESSION"), env.get("OTEL_EXPORTER_OTLP_COMPRESSION")), cfg.compression));
+        cfg.traceBatch.applyEnv(env, "OPTIC_TRACES_BATCH_", "OTEL_BSP_");
+        cfg.setSpanProcessor(parseSpanProcessor(env.get("OPTIC_TRACES_PROCESSOR"), cfg.spanProcessor));
+        cfg.traceExportWorkers = (int) parseLong(env.get("OPTIC_TRACES_EXPORT_WORKERS"), cfg.traceExportWorkers);
+        cfg.traceStripes = (int) parseLong(env.get("OPTIC_TRACES_STRIPES"), cfg.traceStripes);
+        cfg.logBatch.applyEnv(env, "OPTIC_LOGS_BATCH_", "OTEL_BLRP_");
+        cfg.spool.applyEnv(env);
+        cfg.retry.applyEnv(env);
+        cfg.circuitBreaker.applyEnv(env);
+        cfg.http.applyEnv(env);
+        cfg.metrics.applyEnv(env);
+
         return cfg;
     }
 
@@ -53,9 +91,36 @@ public final class OpticConfig {
         if (isBlank(endpoint)) {
             throw new IllegalArgumentException("endpoint must not be empty");
         }
+        if (protocol == Protocol.GRPC && compression == Compression.ZSTD) {
+            throw new IllegalArgumentException("zstd compression is not supported with the grpc protocol; use gzip");
+        }
+        if (protocol == Protocol.GRPC && spool.isEnabled()) {
+            throw new IllegalArgumentException("the spool is not supported with the grpc protocol; use http/protobuf");
+        }
         if (exportInterval == null || exportInterval.isZero() || exportInterval.isNegative()) {
             throw new IllegalArgumentException("exportInterval must be greater than zero");
         }
+        traceBatch.validate("traces");
+        if (traceExportWorkers <= 0) {
+            throw new IllegalArgumentException("traceExportWorkers must be greater than zero");
+        }
+        if (traceStripes < 0) {
+            throw new IllegalArgumentException("traceStripes must not be negative");
+        }
+        if (spanProcessor == SpanProcessorType.STRIPED) {
+            int stripes = StripedSpanProcessor.stripes(traceStripes, traceBatch);
+            if (traceBatch.getMaxQueueSize() / stripes < traceBatch.getMaxExportBatchSize()) {
+                throw new IllegalArgumentException("traces batch maxQueueSize (" + traceBatch.getMaxQueueSize()
+                        + ") split across " + stripes + " stripes holds less than maxExportBatchSize ("
+                        + traceBatch.getMaxExportBatchSize() + ") per stripe");
+            }
+        }
+        logBatch.validate("logs");
+        spool.validate();
+        retry.validate();
+        circuitBreaker.validate();
+        http.validate();
+        metrics.validate();
     }
 
     public String getApiKey() {
@@ -136,6 +201,16 @@ public final class OpticConfig {
         return this;
     }
 
+    // Pipeline health metrics under the com.optic.sdk scope; needs metrics to be enabled.
+    public boolean isEnableSelfTelemetry() {
+        return enableSelfTelemetry;
+    }
+
+    public OpticConfig setEnableSelfTelemetry(boolean enableSelfTelemetry) {
+        this.enableSelfTelemetry = enableSelfTelemetry;
+        return this;
+    }
+
     public Duration getExportInterval() {
         return exportInterval;
     }
@@ -147,6 +222,85 @@ public final class OpticConfig {
         return this;
     }
 
+    public Protocol getProtocol() {
+        return protocol;
+    }
+
+    public OpticConfig setProtocol(Protocol protocol) {
+        if (protocol != null) {
+            this.protocol = protocol;
+        }
+        return this;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public OpticConfig setCompression(Compression compression) {
+        if (compression != null) {
+            this.compression = compression;
+        }
+        return this;
+    }
+
+    public Batch getTraceBatch() {
+        return traceBatch;
+    }
+
+    public Batch getLogBatch() {
+        return logBatch;
+    }
+
+    public Spool getSpool() {
+        return spool;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public SpanProcessorType getSpanProcessor() {
+        return spanProcessor;
+    }
+
+    public OpticConfig setSpanProcessor(SpanProcessorType spanProcessor) {
+        if (spanProcessor != null) {
+            this.spanProcessor = spanProcessor;
+        }
+        return this;
+    }
+
+    public int getTraceExportWorkers() {
+        return traceExportWorkers;
+    }
+
+    public OpticConfig setTraceExportWorkers(int traceExportWorkers) {
+        this.traceExportWorkers = traceExportWorkers;
+        return this;
+    }
+
+    public int getTraceStripes() {
+        return traceStripes;
+    }
+
+    public OpticConfig setTraceStripes(int traceStripes) {
+        this.traceStripes = traceStripes;
+        return this;
+    }
+
     private static String firstNonBlank(String... values) {
         for (String value : values) {
             if (!isBlank(value)) {
@@ -170,6 +324,72 @@ public final class OpticConfig {
         return fallback;
     }
 
+    private static SpanProcessorType parseSpanProcessor(String raw, SpanProcessorType fallback) {
+        if (isBlank(raw)) {
+            return fallback;
+        }
+        String normalized = raw.trim().toLowerCase();
+        if (Objects.equals(normalized, "batch")) {
+            return SpanProcessorType.BATCH;
+        }
+        if (Objects.equals(normalized, "striped")) {
+            return SpanProcessorType.STRIPED;
+        }
+        return fallback;
+    }
+
+    private static Protocol parseProtocol(String raw, Protocol fallback) {
+        if (isBlank(raw)) {
+            return fallback;
+        }
+        String normalized = raw.trim().toLowerCase();
+        for (Protocol candidate : Protocol.values()) {
+            if (Objects.equals(normalized, candidate.id())) {
+                return candidate;
+            }
+        }
+        return fallback;
+    }
+
+    private static Compression parseCompression(String raw, Compression fallback) {
+        if (isBlank(raw)) {
+            return fallback;
+        }
+        String normalized = raw.trim().toLowerCase();
+        for (Compression candidate : Compression.values()) {
+            if (Objects.equals(normalized, candidate.encoding())) {
+                return candidate;
+            }
+        }
+        return fallback;
+    }
+
+    private static MetricTemporality parseTemporality(String raw, MetricTemporality fallback) {
+        if (isBlank(raw)) {
+            return fallback;
+        }
+        String normalized = raw.trim().toLowerCase();
+        for (MetricTemporality candidate : MetricTemporality.values()) {
+            if (Objects.equals(normalized, candidate.id())) {
+                return candidate;
+            }
+        }
+        return fallback;
+    }
+
+    private static HistogramAggregation parseHistogramAggregation(String raw, HistogramAggregation fallback) {
+        if (isBlank(raw)) {
+            return fallback;
+        }
+        String normalized = raw.trim().toLowerCase();
+        for (HistogramAggregation candidate : HistogramAggregation.values()) {
+            if (Objects.equals(normalized, candidate.id()) || Objects.equals(normalized, candidate.otelId())) {
+                return candidate;
+            }
+        }
+        return fallback;
+    }
+
     private static long parseLong(String raw, long fallback) {
         if (isBlank(raw)) {
             return fallback;
@@ -181,6 +401,28 @@ public final class OpticConfig {
         }
     }
 
+    private static Duration parseMillis(String raw, Duration fallback) {
+        long millis = parseLong(raw, -1L);
+        return millis > 0 ? Duration.ofMillis(millis) : fallback;
+    }
+
+    private static void requirePositive(Duration value, String name) {
+        if (value == null || value.isZero() || value.isNegative()) {
+            throw new IllegalArgumentException(name + " must be greater than zero");
+        }
+    }
+
+    private static double parseDouble(String raw, double fallback) {
+        if (isBlank(raw)) {
+            return fallback;
+        }
+        try {
+            return Double.parseDouble(raw.trim());
+        } catch (NumberFormatException ignored) {
+            return fallback;
+        }
+    }
+
     private static boolean isBlank(String value) {
         return value == null || value.trim().isEmpty();
     }
@@ -188,4 +430,822 @@ public final class OpticConfig {
     private static String nullToEmpty(String value) {
         return value == null ? "" : value;
     }
+
+    public enum Protocol {
+        HTTP_PROTOBUF("http/protobuf"),
+        GRPC("grpc");
+
+        private final String id;
+
+        Protocol(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+    }
+
+    public enum Compression {
+        NONE("none"),
+        GZIP("gzip"),
+        // OTLP/HTTP only. Needs com.github.luben:zstd-jni on the classpath; falls back to gzip otherwise.
+        ZSTD("zstd");
+
+        private final String encoding;
+
+        Compression(String encoding) {
+            this.encoding = encoding;
+        }
+
+        public String encoding() {
+            return encoding;
+        }
+    }
+
+    public enum MetricTemporality {
+        // State for every attribute set ever recorded is kept for the life of the process.
+        CUMULATIVE("cumulative"),
+        // Counters, histograms and their observable forms report per-interval changes; idle series are forgotten.
+        DELTA("delta"),
+        // Delta for synchronous counters and histograms, cumulative for everything else.
+        LOWMEMORY("lowmemory");
+
+        private final String id;
+
+        MetricTemporality(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+    }
+
+    public enum HistogramAggregation {
+        // OTel's fixed boundaries, 0 to 10000, tuned for nothing in particular.
+        EXPLICIT_BUCKET("explicit-bucket", "explicit_bucket_histogram"),
+        // Buckets follow the recorded range; precision is set by maxScale and capped by maxBuckets.
+        BASE2_EXPONENTIAL("base2-exponential", "base2_exponential_bucket_histogram");
+
+        private final String id;
+        private final String otelId;
+
+        HistogramAggregation(String id, String otelId) {
+            this.id = id;
+            this.otelId = otelId;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public String otelId() {
+            return otelId;
+        }
+    }
+
+    public enum MetricAggregation {
+        // Whatever the instrument type and exporter would use without a view.
+        DEFAULT("default"),
+        SUM("sum"),
+        LAST_VALUE("last-value"),
+        EXPLICIT_BUCKET("explicit-bucket"),
+        BASE2_EXPONENTIAL("base2-exponential"),
+        // Records nothing; the instrument costs a lookup and no storage.
+        DROP("drop");
+
+        private final String id;
+
+        MetricAggregation(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+    }
+
+    public enum SpanProcessorType {
+        BATCH,
+        STRIPED
+    }
+
+    public static final class Batch {
+        private int maxQueueSize = 2048;
+        private int maxExportBatchSize = 512;
+        private Duration scheduleDelay;
+        private Duration exportTimeout = Duration.ofSeconds(30);
+
+        private Batch(Duration scheduleDelay) {
+            this.scheduleDelay = scheduleDelay;
+        }
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public Batch setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+            return this;
+        }
+
+        public int getMaxExportBatchSize() {
+            return maxExportBatchSize;
+        }
+
+        public Batch setMaxExportBatchSize(int maxExportBatchSize) {
+            this.maxExportBatchSize = maxExportBatchSize;
+            return this;
+        }
+
+        public Duration getScheduleDelay() {
+            return scheduleDelay;
+        }
+
+        public Batch setScheduleDelay(Duration scheduleDelay) {
+            this.scheduleDelay = scheduleDelay;
+            return this;
+        }
+
+        public Duration getExportTimeout() {
+            return exportTimeout;
+        }
+
+        public Batch setExportTimeout(Duration exportTimeout) {
+            this.exportTimeout = exportTimeout;
+            return this;
+        }
+
+        private void applyEnv(Map<String, String> env, String opticPrefix, String otelPrefix) {
+            maxQueueSize = (int) parseLong(
+                    firstNonBlank(env.get(opticPrefix + "MAX_QUEUE_SIZE"), env.get(otelPrefix + "MAX_QUEUE_SIZE")),
+                    maxQueueSize);
+            maxExportBatchSize = (int) parseLong(
+                    firstNonBlank(env.get(opticPrefix + "MAX_EXPORT_BATCH_SIZE"), env.get(otelPrefix + "MAX_EXPORT_BATCH_SIZE")),
+                    maxExportBatchSize);
+            long delayMs = parseLong(
+                    firstNonBlank(env.get(opticPrefix + "SCHEDULE_DELAY_MS"), env.get(otelPrefix + "SCHEDULE_DELAY")), -1L);
+            if (delayMs > 0) {
+                scheduleDelay = Duration.ofMillis(delayMs);
+            }
+            long timeoutMs = parseLong(
+                    firstNonBlank(env.get(opticPrefix + "EXPORT_TIMEOUT_MS"), env.get(otelPrefix + "EXPORT_TIMEOUT")), -1L);
+            if (timeoutMs > 0) {
+                exportTimeout = Duration.ofMillis(timeoutMs);
+            }
+        }
+
+        private void validate(String signal) {
+            if (maxQueueSize <= 0) {
+                throw new IllegalArgumentException(signal + " batch maxQueueSize must be greater than zero");
+            }
+            if (maxExportBatchSize <= 0) {
+                throw new IllegalArgumentException(signal + " batch maxExportBatchSize must be greater than zero");
+            }
+            if (maxExportBatchSize > maxQueueSize) {
+                throw new IllegalArgumentException(signal + " batch maxExportBatchSize (" + maxExportBatchSize
+                        + ") must not exceed maxQueueSize (" + maxQueueSize + ")");
+            }
+            if (scheduleDelay == null || scheduleDelay.isZero() || scheduleDelay.isNegative()) {
+                throw new IllegalArgumentException(signal + " batch scheduleDelay must be greater than zero");
+            }
+            if (exportTimeout == null || exportTimeout.isZero() || exportTimeout.isNegative()) {
+                throw new IllegalArgumentException(signal + " batch exportTimeout must be greater than zero");
+            }
+        }
+    }
+
+    // Persistent queue for OTLP/HTTP requests that could not be delivered; off by default.
+    public static final class Spool {
+        private boolean enabled;
+        private String directory = Paths.get(System.getProperty("java.io.tmpdir"), "optic-spool").toString();
+        private long maxBytes = 256L * 1024 * 1024;
+        private long segmentBytes = 8L * 1024 * 1024;
+        private long replayBytesPerSecond = 1024L * 1024;
+
+        private Spool() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public Spool setEnabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public Spool setDirectory(String directory) {
+            String normalized = nullToEmpty(directory).trim();
+            if (!normalized.isEmpty()) {
+                this.directory = normalized;
+            }
+            return this;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public Spool setMaxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        public long getSegmentBytes() {
+            return segmentBytes;
+        }
+
+        public Spool setSegmentBytes(long segmentBytes) {
+            this.segmentBytes = segmentBytes;
+            return this;
+        }
+
+        public long getReplayBytesPerSecond() {
+            return replayBytesPerSecond;
+        }
+
+        public Spool setReplayBytesPerSecond(long replayBytesPerSecond) {
+            this.replayBytesPerSecond = replayBytesPerSecond;
+            return this;
+        }
+
+        private void applyEnv(Map<String, String> env) {
+            enabled = parseBoolean(env.get("OPTIC_SPOOL_ENABLED"), enabled);
+            setDirectory(env.get("OPTIC_SPOOL_DIR"));
+            maxBytes = parseLong(env.get("OPTIC_SPOOL_MAX_BYTES"), maxBytes);
+            segmentBytes = parseLong(env.get("OPTIC_SPOOL_SEGMENT_BYTES"), segmentBytes);
+            replayBytesPerSecond = parseLong(env.get("OPTIC_SPOOL_REPLAY_BYTES_PER_SECOND"), replayBytesPerSecond);
+        }
+
+        private void validate() {
+            if (!enabled) {
+                return;
+            }
+            if (segmentBytes < 64 * 1024 || segmentBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("spool segmentBytes must be between 64KB and 2GB");
+            }
+            if (maxBytes < segmentBytes) {
+                throw new IllegalArgumentException("spool maxBytes must be at least segmentBytes");
+            }
+            if (replayBytesPerSecond <= 0) {
+                throw new IllegalArgumentException("spool replayBytesPerSecond must be greater than zero");
+            }
+        }
+    }
+
+    // Retries of retryable OTLP/HTTP failures (connectivity, 408, 429, 502, 503, 504); maxAttempts 1 disables them.
+    public static final class Retry {
+        private int maxAttempts = 5;
+        private Duration initialBackoff = Duration.ofSeconds(1);
+        private Duration maxBackoff = Duration.ofSeconds(5);
+        private double backoffMultiplier = 1.5;
+        private double jitter = 0.2;
+
+        private Retry() {
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public Retry setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public Retry setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        // Also the longest Retry-After honoured; a longer one opens the circuit breaker instead.
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public Retry setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public double getBackoffMultiplier() {
+            return backoffMultiplier;
+        }
+
+        public Retry setBackoffMultiplier(double backoffMultiplier) {
+            this.backoffMultiplier = backoffMultiplier;
+            return this;
+        }
+
+        // Fraction by which each backoff is randomly shortened or lengthened, from 0 to 1.
+        public double getJitter() {
+            return jitter;
+        }
+
+        public Retry setJitter(double jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        private void applyEnv(Map<String, String> env) {
+            maxAttempts = (int) parseLong(env.get("OPTIC_RETRY_MAX_ATTEMPTS"), maxAttempts);
+            long initialMs = parseLong(env.get("OPTIC_RETRY_INITIAL_BACKOFF_MS"), -1L);
+            if (initialMs > 0) {
+                initialBackoff = Duration.ofMillis(initialMs);
+            }
+            long maxMs = parseLong(env.get("OPTIC_RETRY_MAX_BACKOFF_MS"), -1L);
+            if (maxMs > 0) {
+                maxBackoff = Duration.ofMillis(maxMs);
+            }
+            backoffMultiplier = parseDouble(env.get("OPTIC_RETRY_BACKOFF_MULTIPLIER"), backoffMultiplier);
+            jitter = parseDouble(env.get("OPTIC_RETRY_JITTER"), jitter);
+        }
+
+        private void validate() {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("retry maxAttempts must be greater than zero");
+            }
+            if (initialBackoff == null || initialBackoff.isZero() || initialBackoff.isNegative()) {
+                throw new IllegalArgumentException("retry initialBackoff must be greater than zero");
+            }
+            if (maxBackoff == null || maxBackoff.compareTo(initialBackoff) < 0) {
+                throw new IllegalArgumentException("retry maxBackoff must not be less than initialBackoff");
+            }
+            if (backoffMultiplier < 1.0) {
+                throw new IllegalArgumentException("retry backoffMultiplier must be at least 1");
+            }
+            if (jitter < 0.0 || jitter > 1.0) {
+                throw new IllegalArgumentException("retry jitter must be between 0 and 1");
+            }
+        }
+    }
+
+    public static final class CircuitBreaker {
+        private boolean enabled = true;
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        private CircuitBreaker() {
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public CircuitBreaker setEnabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        // Consecutive failed exports of one signal, each after its retries, that open that signal's circuit.
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public CircuitBreaker setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        // Time exports are short-circuited before a single probe request is let through.
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public CircuitBreaker setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        private void applyEnv(Map<String, String> env) {
+            enabled = parseBoolean(env.get("OPTIC_CIRCUIT_BREAKER_ENABLED"), enabled);
+            failureThreshold = (int) parseLong(env.get("OPTIC_CIRCUIT_BREAKER_FAILURE_THRESHOLD"), failureThreshold);
+            long openMs = parseLong(env.get("OPTIC_CIRCUIT_BREAKER_OPEN_DURATION_MS"), -1L);
+            if (openMs > 0) {
+                openDuration = Duration.ofMillis(openMs);
+            }
+        }
+
+        private void validate() {
+            if (!enabled) {
+                return;
+            }
+            if (failureThreshold <= 0) {
+                throw new IllegalArgumentException("circuit breaker failureThreshold must be greater than zero");
+            }
+            if (openDuration == null || openDuration.isZero() || openDuration.isNegative()) {
+                throw new IllegalArgumentException("circuit breaker openDuration must be greater than zero");
+            }
+        }
+    }
+
+    // Settings of the HTTP client shared by the OTLP/HTTP exporters of all signals.
+    public static final class Http {
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration readTimeout = Duration.ofSeconds(10);
+        private Duration callTimeout = Duration.ofSeconds(10);
+        private int maxIdleConnections = 5;
+        private Duration keepAlive = Duration.ofMinutes(5);
+        private int maxConcurrentRequests = 8;
+        private boolean http2 = true;
+
+        private Http() {
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public Http setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        // Applies to each socket read and write.
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public Http setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        // Caps a whole request attempt, including connecting and reading the response.
+        public Duration getCallTimeout() {
+            return callTimeout;
+        }
+
+        public Http setCallTimeout(Duration callTimeout) {
+            this.callTimeout = callTimeout;
+            return this;
+        }
+
+        public int getMaxIdleConnections() {
+            return maxIdleConnections;
+        }
+
+        public Http setMaxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public Http setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public Http setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        // Negotiated through ALPN on https endpoints; cleartext endpoints always use HTTP/1.1.
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public Http setHttp2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
+        private void applyEnv(Map<String, String> env) {
+            connectTimeout = parseMillis(env.get("OPTIC_HTTP_CONNECT_TIMEOUT_MS"), connectTimeout);
+            readTimeout = parseMillis(env.get("OPTIC_HTTP_READ_TIMEOUT_MS"), readTimeout);
+            callTimeout = parseMillis(env.get("OPTIC_HTTP_CALL_TIMEOUT_MS"), callTimeout);
+            maxIdleConnections = (int) parseLong(env.get("OPTIC_HTTP_MAX_IDLE_CONNECTIONS"), maxIdleConnections);
+            keepAlive = parseMillis(env.get("OPTIC_HTTP_KEEP_ALIVE_MS"), keepAlive);
+            maxConcurrentRequests = (int) parseLong(env.get("OPTIC_HTTP_MAX_CONCURRENT_REQUESTS"), maxConcurrentRequests);
+            http2 = parseBoolean(env.get("OPTIC_HTTP_HTTP2"), http2);
+        }
+
+        private void validate() {
+            requirePositive(connectTimeout, "http connectTimeout");
+            requirePositive(readTimeout, "http readTimeout");
+            requirePositive(callTimeout, "http callTimeout");
+            requirePositive(keepAlive, "http keepAlive");
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("http maxIdleConnections must not be negative");
+            }
+            if (maxConcurrentRequests <= 0) {
+                throw new IllegalArgumentException("http maxConcurrentRequests must be greater than zero");
+            }
+        }
+    }
+
+    public static final class Metrics {
+        private MetricTemporality temporality = MetricTemporality.CUMULATIVE;
+        // Same default as the OTel SDK; attribute sets past the cap fold into the otel.metric.overflow=true series.
+        private int cardinalityLimit = 2000;
+        private final Map<String, Integer> cardinalityLimits = new LinkedHashMap<>();
+        private final List<MetricView> views = new ArrayList<>();
+        private HistogramAggregation histogramAggregation = HistogramAggregation.EXPLICIT_BUCKET;
+        // OTel defaults: 160 buckets per sign; scale 20 is lowered automatically once the range needs more buckets.
+        private int exponentialMaxBuckets = 160;
+        private int exponentialMaxScale = 20;
+
+        private Metrics() {
+        }
+
+        public MetricTemporality getTemporality() {
+            return temporality;
+        }
+
+        public Metrics setTemporality(MetricTemporality temporality) {
+            if (temporality != null) {
+                this.temporality = temporality;
+            }
+            return this;
+        }
+
+        public int getCardinalityLimit() {
+            return cardinalityLimit;
+        }
+
+        public Metrics setCardinalityLimit(int cardinalityLimit) {
+            this.cardinalityLimit = cardinalityLimit;
+            return this;
+        }
+
+        /** Caps by instrument name pattern ({@code *} and {@code ?} wildcards), overriding the global limit. */
+        public Map<String, Integer> getCardinalityLimits() {
+            return Collections.unmodifiableMap(cardinalityLimits);
+        }
+
+        // validate() rejects patterns that can match the same instrument: each becomes a view, so that instrument
+        // would be exported as two streams.
+        public Metrics setCardinalityLimit(String instrumentPattern, int cardinalityLimit) {
+            cardinalityLimits.put(Objects.requireNonNull(instrumentPattern, "instrumentPattern").trim(), cardinalityLimit);
+            return this;
+        }
+
+        /** Aggregation for histogram instruments not covered by a view with an explicit aggregation. */
+        public HistogramAggregation getHistogramAggregation() {
+            return histogramAggregation;
+        }
+
+        public Metrics setHistogramAggregation(HistogramAggregation histogramAggregation) {
+            if (histogramAggregation != null) {
+                this.histogramAggregation = histogramAggregation;
+            }
+            return this;
+        }
+
+        public int getExponentialMaxBuckets() {
+            return exponentialMaxBuckets;
+        }
+
+        public Metrics setExponentialMaxBuckets(int exponentialMaxBuckets) {
+            this.exponentialMaxBuckets = exponentialMaxBuckets;
+            return this;
+        }
+
+        public int getExponentialMaxScale() {
+            return exponentialMaxScale;
+        }
+
+        public Metrics setExponentialMaxScale(int exponentialMaxScale) {
+            this.exponentialMaxScale = exponentialMaxScale;
+            return this;
+        }
+
+        public List<MetricView> getViews() {
+            return Collections.unmodifiableList(views);
+        }
+
+        /** Registers a view for the instruments matching {@code instrumentPattern}; configure it on the result. */
+        public MetricView addView(String instrumentPattern) {
+            MetricView view = new MetricView(Objects.requireNonNull(instrumentPattern, "instrumentPattern").trim());
+            views.add(view);
+            return view;
+        }
+
+        private void applyEnv(Map<String, String> env) {
+            temporality = parseTemporality(firstNonBlank(env.get("OPTIC_METRICS_TEMPORALITY"),
+                    env.get("OTEL_EXPORTER_OTLP_METRICS_TEMPORALITY_PREFERENCE")), temporality);
+            cardinalityLimit = (int) parseLong(firstNonBlank(env.get("OPTIC_METRICS_CARDINALITY_LIMIT"),
+                    env.get("OTEL_EXPERIMENTAL_METRICS_CARDINALITY_LIMIT")), cardinalityLimit);
+            histogramAggregation = parseHistogramAggregation(firstNonBlank(env.get("OPTIC_METRICS_HISTOGRAM_AGGREGATION"),
+                    env.get("OTEL_EXPORTER_OTLP_METRICS_DEFAULT_HISTOGRAM_AGGREGATION")), histogramAggregation);
+            exponentialMaxBuckets = (int) parseLong(env.get("OPTIC_METRICS_EXPONENTIAL_MAX_BUCKETS"), exponentialMaxBuckets);
+            exponentialMaxScale = (int) parseLong(env.get("OPTIC_METRICS_EXPONENTIAL_MAX_SCALE"), exponentialMaxScale);
+            // pattern=limit pairs, comma separated: "http.server.*=500,db.client.*=200"
+            String limits = env.get("OPTIC_METRICS_CARDINALITY_LIMITS");
+            if (!isBlank(limits)) {
+                for (String entry : limits.split(",")) {
+                    int separator = entry.lastIndexOf('=');
+                    if (separator > 0) {
+                        long limit = parseLong(entry.substring(separator + 1), -1L);
+                        if (limit > 0 && limit <= Integer.MAX_VALUE) {
+                            setCardinalityLimit(entry.substring(0, separator), (int) limit);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void validate() {
+            if (cardinalityLimit <= 0) {
+                throw new IllegalArgumentException("metrics cardinalityLimit must be greater than zero");
+            }
+            // Same bounds the OTel aggregation enforces, reported here instead of at provider build time.
+            if (exponentialMaxBuckets < 2) {
+                throw new IllegalArgumentException("metrics exponentialMaxBuckets must be at least 2");
+            }
+            if (exponentialMaxScale < -10 || exponentialMaxScale > 20) {
+                throw new IllegalArgumentException("metrics exponentialMaxScale must be between -10 and 20");
+            }
+            for (Map.Entry<String, Integer> entry : cardinalityLimits.entrySet()) {
+                if (entry.getKey().isEmpty()) {
+                    throw new IllegalArgumentException("metrics cardinalityLimits pattern must not be empty");
+                }
+                if (entry.getValue() == null || entry.getValue() <= 0) {
+                    throw new IllegalArgumentException("metrics cardinalityLimits[" + entry.getKey()
+                            + "] must be greater than zero");
+                }
+            }
+            for (MetricView view : views) {
+                view.validate();
+            }
+            List<String> patterns = new ArrayList<>(cardinalityLimits.keySet());
+            for (int i = 0; i < patterns.size(); i++) {
+                for (int j = i + 1; j < patterns.size(); j++) {
+                    if (patternsOverlap(patterns.get(i), patterns.get(j))) {
+                        throw new IllegalArgumentException("metrics cardinalityLimits[" + patterns.get(i)
+                                + "] and cardinalityLimits[" + patterns.get(j) + "] can match the same instrument");
+                    }
+                }
+                // A limit keyed by a view's own selector is carried by that view; any other overlap adds a stream.
+                for (MetricView view : views) {
+                    String instrument = view.getInstrument();
+                    if (!instrument.equals(patterns.get(i)) && patternsOverlap(patterns.get(i), instrument)) {
+                        throw new IllegalArgumentException("metrics cardinalityLimits[" + patterns.get(i)
+                                + "] can match instruments of view " + instrument
+                                + "; set cardinalityLimit on the view instead");
+                    }
+                }
+            }
+        }
+
+        // Whether some instrument name matches both wildcard patterns, ignoring case as OTel does for exact names.
+        static boolean patternsOverlap(String a, String b) {
+            return patternsOverlap(a, 0, b, 0, new Boolean[a.length() + 1][b.length() + 1]);
+        }
+
+        private static boolean patternsOverlap(String a, int i, String b, int j, Boolean[][] memo) {
+            if (memo[i][j] != null) {
+                return memo[i][j];
+            }
+            boolean overlap;
+            if (i == a.length() && j == b.length()) {
+                overlap = true;
+            } else if (i < a.length() && a.charAt(i) == '*') {
+                // The star matches nothing, or swallows the next character of b.
+                overlap = patternsOverlap(a, i + 1, b, j, memo)
+                        || j < b.length() && patternsOverlap(a, i, b, j + 1, memo);
+            } else if (j < b.length() && b.charAt(j) == '*') {
+                overlap = patternsOverlap(a, i, b, j + 1, memo)
+                        || i < a.length() && patternsOverlap(a, i + 1, b, j, memo);
+            } else if (i < a.length() && j < b.length()) {
+                char x = Character.toLowerCase(a.charAt(i));
+                char y = Character.toLowerCase(b.charAt(j));
+                overlap = (x == '?' || y == '?' || x == y) && patternsOverlap(a, i + 1, b, j + 1, memo);
+            } else {
+                overlap = false;
+            }
+            memo[i][j] = overlap;
+            return overlap;
+        }
+    }
+
+    // Applied at record time: dropped attributes never create series, so they cost neither memory nor bandwidth.
+    public static final class MetricView {
+        private final String instrument;
+        private String name;
+        private String description;
+        private Set<String> attributesKeep;
+        private Set<String> attributesDrop = Set.of();
+        private MetricAggregation aggregation = MetricAggregation.DEFAULT;
+        private List<Double> bucketBoundaries;
+        private Integer cardinalityLimit;
+
+        private MetricView(String instrument) {
+            this.instrument = instrument;
+        }
+
+        /** Instrument name or pattern ({@code *} and {@code ?} wildcards) this view selects. */
+        public String getInstrument() {
+            return instrument;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Exports the selected instrument under a new name; needs an exact instrument name. */
+        public MetricView setName(String name) {
+            this.name = isBlank(name) ? null : name.trim();
+            return this;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public MetricView setDescription(String description) {
+            this.description = isBlank(description) ? null : description;
+            return this;
+        }
+
+        public Set<String> getAttributesKeep() {
+            return attributesKeep;
+        }
+
+        // null keeps every attribute; an empty set keeps none and aggregates everything into one series.
+        public MetricView setAttributesKeep(Collection<String> attributesKeep) {
+            this.attributesKeep = attributesKeep == null ? null : Collections.unmodifiableSet(new LinkedHashSet<>(attributesKeep));
+            return this;
+        }
+
+        public Set<String> getAttributesDrop() {
+            return attributesDrop;
+        }
+
+        public MetricView setAttributesDrop(Collection<String> attributesDrop) {
+            this.attributesDrop = attributesDrop == null ? Set.of() : Collections.unmodifiableSet(new LinkedHashSet<>(attributesDrop));
+            return this;
+        }
+
+        public MetricAggregation getAggregation() {
+            return aggregation;
+        }
+
+        public MetricView setAggregation(MetricAggregation aggregation) {
+            if (aggregation != null) {
+                this.aggregation = aggregation;
+            }
+            return this;
+        }
+
+        public List<Double> getBucketBoundaries() {
+            return bucketBoundaries;
+        }
+
+        /** Boundaries for {@link MetricAggregation#EXPLICIT_BUCKET}; the OTel defaults when unset. */
+        public MetricView setBucketBoundaries(List<Double> bucketBoundaries) {
+            this.bucketBoundaries = bucketBoundaries == null ? null : List.copyOf(bucketBoundaries);
+            return this;
+        }
+
+        public Integer getCardinalityLimit() {
+            return cardinalityLimit;
+        }
+
+        /** Overrides {@code cardinalityLimits} and the global limit for the streams of this view. */
+        public MetricView setCardinalityLimit(Integer cardinalityLimit) {
+            this.cardinalityLimit = cardinalityLimit;
+            return this;
+        }
+
+        private void validate() {
+            if (instrument.isEmpty()) {
+                throw new IllegalArgumentException("metrics view instrument must not be empty");
+            }
+            if (name != null && (instrument.indexOf('*') >= 0 || instrument.indexOf('?') >= 0)) {
+                throw new IllegalArgumentException("metrics view " + instrument
+                        + " selects a pattern and cannot rename; use an exact instrument name");
+            }
+            if (cardinalityLimit != null && cardinalityLimit <= 0) {
+                throw new IllegalArgumentException("metrics view " + instrument
+                        + " cardinalityLimit must be greater than zero");
+            }
+            if (bucketBoundaries != null) {
+                for (int i = 1; i < bucketBoundaries.size(); i++) {
+                    if (!(bucketBoundaries.get(i) > bucketBoundaries.get(i - 1))) {
+                        throw new IllegalArgumentException("metrics view " + instrument
+                                + " bucketBoundaries must be strictly increasing");
+                    }
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package com.optic.sdk;
+
+import io.opentelemetry.exporter.internal.otlp.logs.LogsRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.logs.export.LogRecordExporter;
+import java.time.Duration;
+import java.util.Collection;
+
+final class OpticLogRecordExporter implements LogRecordExporter {
+    private final OtlpHttpExporter<LogRecordData> delegate;
+
+    OpticLogRecordExporter(OtlpHttpTransport transport, String url, Duration timeout, OpticConfig.Spool spool) {
+        this.delegate = new OtlpHttpExporter<>(transport, url, "logs", LogsRequestMarshaler::create, timeout, spool);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<LogRecordData> logs) {
+        return delegate.export(logs);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+}
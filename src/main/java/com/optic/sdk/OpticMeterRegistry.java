@@ -0,0 +1,689 @@
+package com.optic.sdk;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import io.micrometer.core.instrument.config.NamingConvention;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.Histogram;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.NoopHistogram;
+import io.micrometer.core.instrument.distribution.StepBucketHistogram;
+import io.micrometer.core.instrument.distribution.pause.PauseDetector;
+import io.micrometer.core.instrument.step.StepDistributionSummary;
+import io.micrometer.core.instrument.step.StepMeterRegistry;
+import io.micrometer.core.instrument.step.StepRegistryConfig;
+import io.micrometer.core.instrument.step.StepTimer;
+import io.micrometer.core.instrument.util.NamedThreadFactory;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.Data;
+import io.opentelemetry.sdk.metrics.data.DoubleExemplarData;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.GaugeData;
+import io.opentelemetry.sdk.metrics.data.HistogramData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.data.SumData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Micrometer registry that aggregates with Micrometer's own step meters and hands OTLP metric data straight to
+ * the Optic metric exporter, instead of re-recording every measurement into OTel instruments the way
+ * {@code OpenTelemetryMeterRegistry} does. It publishes every {@code exportInterval}, aligned to the interval.
+ *
+ * <p>Meter names, units and companion series ({@code .max}, {@code .active}, {@code .duration}, {@code .count},
+ * {@code .sum}) follow the OTel bridge, so dashboards keep working when switching. Counters and histograms are
+ * exported with delta temporality whatever {@code optic.metrics.temporality} says. Timers and distribution
+ * summaries carry bucket counts only when a percentile histogram or SLO boundaries are configured; client-side
+ * percentiles are not exported. OTel views do not apply, but the cardinality limits do: once a meter name
+ * reaches its limit, new tag sets are folded into an {@code otel.metric.overflow=true} meter. Limits count the
+ * ids meters are registered under, after every {@link MeterFilter}, and denied meters take no slot.
+ *
+ * <p>Metric data implements the public {@code io.opentelemetry.sdk.metrics.data} interfaces only, so the registry
+ * runs against whichever OTel SDK version the application manages.
+ */
+public final class OpticMeterRegistry extends StepMeterRegistry {
+    public static final String SCOPE = "com.optic.micrometer";
+
+    private static final Logger LOGGER = Logger.getLogger(OpticMeterRegistry.class.getName());
+    private static final String OVERFLOW_TAG = "otel.metric.overflow";
+    private static final AttributeKey<Boolean> OVERFLOW = AttributeKey.booleanKey(OVERFLOW_TAG);
+
+    private final MetricExporter exporter;
+    private final Resource resource;
+    private final InstrumentationScopeInfo scope;
+    private final long stepMillis;
+    private final long startEpochNanos;
+    private final ConcurrentHashMap<Meter.Id, Series> series = new ConcurrentHashMap<>();
+    private final CardinalityLimit cardinalityLimit;
+    private final LimitingConfig limitingConfig;
+
+    public OpticMeterRegistry(Optic optic) {
+        this(optic, Clock.SYSTEM);
+    }
+
+    public OpticMeterRegistry(Optic optic, Clock clock) {
+        this(optic.getConfig(), metricExporter(optic), optic.resource(), clock);
+        start(new NamedThreadFactory("optic-micrometer-publisher"));
+    }
+
+    // Not started, so tests drive publish() themselves.
+    OpticMeterRegistry(OpticConfig opticConfig, MetricExporter exporter, Resource resource, Clock clock) {
+        super(stepConfig(opticConfig.getExportInterval()), clock);
+        this.exporter = exporter;
+        this.resource = resource;
+        this.scope = InstrumentationScopeInfo.builder(SCOPE).setVersion(Optic.VERSION).build();
+        this.stepMillis = opticConfig.getExportInterval().toMillis();
+        this.startEpochNanos = TimeUnit.MILLISECONDS.toNanos(clock.wallTime());
+        this.cardinalityLimit = new CardinalityLimit(opticConfig.getMetrics());
+        this.limitingConfig = new LimitingConfig();
+        config().namingConvention(NamingConvention.identity)
+                .meterFilter(cardinalityLimit)
+                .onMeterRemoved(meter -> {
+                    series.remove(meter.getId());
+                    cardinalityLimit.release(meter.getId());
+                });
+    }
+
+    @Override
+    public Config config() {
+        return limitingConfig;
+    }
+
+    @Override
+    protected TimeUnit getBaseTimeUnit() {
+        return TimeUnit.MILLISECONDS;
+    }
+
+    @Override
+    protected Timer newTimer(Meter.Id id, DistributionStatisticConfig distributionStatisticConfig,
+                             PauseDetector pauseDetector) {
+        return new HistogramTimer(id, clock, distributionStatisticConfig, pauseDetector, getBaseTimeUnit(), stepMillis,
+                histogram(distributionStatisticConfig));
+    }
+
+    @Override
+    protected DistributionSummary newDistributionSummary(Meter.Id id,
+                                                         DistributionStatisticConfig distributionStatisticConfig,
+                                                         double scale) {
+        return new HistogramDistributionSummary(id, clock, distributionStatisticConfig, scale, stepMillis,
+                histogram(distributionStatisticConfig));
+    }
+
+    @Override
+    protected void publish() {
+        // Published just after a step boundary, so the step that ended is [end - step, end).
+        long end = clock.wallTime() / stepMillis * stepMillis;
+        Batch batch = new Batch(TimeUnit.MILLISECONDS.toNanos(end - stepMillis), TimeUnit.MILLISECONDS.toNanos(end));
+        for (Meter meter : getMeters()) {
+            Series meterSeries = series.computeIfAbsent(meter.getId(), this::series);
+            meter.use(
+                    gauge -> batch.gauge(meterSeries, unit(meter), gauge.value()),
+                    counter -> batch.deltaSum(meterSeries, unit(meter), counter.count()),
+                    timer -> batch.histogram(meterSeries, "ms", timer.takeSnapshot(), TimeUnit.MILLISECONDS),
+                    summary -> batch.histogram(meterSeries, unit(meter), summary.takeSnapshot(), null),
+                    longTaskTimer -> batch.longTaskTimer(meterSeries, longTaskTimer),
+                    timeGauge -> batch.gauge(meterSeries, "ms", timeGauge.value(TimeUnit.MILLISECONDS)),
+                    functionCounter -> batch.deltaSum(meterSeries, unit(meter), functionCounter.count()),
+                    functionTimer -> batch.functionTimer(meterSeries, functionTimer),
+                    other -> batch.measurements(meterSeries, other));
+        }
+        List<MetricData> metrics = batch.build();
+        if (!metrics.isEmpty()) {
+            // Waiting keeps at most one Micrometer export in flight; a publish that overruns the step is skipped.
+            exporter.export(metrics).join(Math.max(stepMillis, 10_000L), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Histogram histogram(DistributionStatisticConfig distributionStatisticConfig) {
+        // Per-step, non-cumulative bucket counts line up with the delta count and sum of the same step.
+        return distributionStatisticConfig.isPublishingHistogram()
+                ? new StepBucketHistogram(clock, stepMillis, distributionStatisticConfig, true, false)
+                : NoopHistogram.INSTANCE;
+    }
+
+    private Series series(Meter.Id id) {
+        NamingConvention convention = config().namingConvention();
+        AttributesBuilder attributes = Attributes.builder();
+        for (Tag tag : id.getConventionTags(convention)) {
+            if (OVERFLOW_TAG.equals(tag.getKey())) {
+                attributes.put(OVERFLOW, true);
+            } else {
+                attributes.put(tag.getKey(), tag.getValue());
+            }
+        }
+        String description = id.getDescription() == null ? "" : id.getDescription();
+        return new Series(id.getConventionName(convention), description, attributes.build());
+    }
+
+    private static MetricExporter metricExporter(Optic optic) {
+        if (optic.metricExporter() == null) {
+            throw new IllegalStateException("Optic metrics are disabled");
+        }
+        return optic.metricExporter();
+    }
+
+    private static String unit(Meter meter) {
+        String baseUnit = meter.getId().getBaseUnit();
+        return baseUnit == null ? "" : baseUnit;
+    }
+
+    private static StepRegistryConfig stepConfig(Duration step) {
+        return new StepRegistryConfig() {
+            @Override
+            public String prefix() {
+                return "optic.micrometer";
+            }
+
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public Duration step() {
+                return step;
+            }
+        };
+    }
+
+    private record Series(String name, String description, Attributes attributes) {
+    }
+
+    private enum Kind {
+        DELTA_SUM,
+        UP_DOWN_SUM,
+        GAUGE,
+        HISTOGRAM
+    }
+
+    // Points of one export, grouped into one metric per name and kind.
+    private final class Batch {
+        private final long startNanos;
+        private final long endNanos;
+        private final Map<String, Group> groups = new LinkedHashMap<>();
+
+        private Batch(long startNanos, long endNanos) {
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+
+        void gauge(Series meter, String unit, double value) {
+            // NaN is what Micrometer reports once a gauge's target has been garbage collected.
+            if (!Double.isNaN(value)) {
+                add(Kind.GAUGE, meter.name(), meter, unit, new DoublePoint(
+                        startNanos, endNanos, meter.attributes(), value));
+            }
+        }
+
+        void deltaSum(Series meter, String unit, double value) {
+            deltaSum(meter.name(), meter, unit, value);
+        }
+
+        void histogram(Series meter, String unit, HistogramSnapshot snapshot, TimeUnit timeUnit) {
+            CountAtBucket[] buckets = snapshot.histogramCounts();
+            List<Double> boundaries = new ArrayList<>(buckets.length);
+            List<Long> counts = new ArrayList<>(buckets.length + 1);
+            long counted = 0;
+            for (CountAtBucket bucket : buckets) {
+                double boundary = timeUnit == null ? bucket.bucket() : bucket.bucket(timeUnit);
+                if (Double.isInfinite(boundary)) {
+                    continue;
+                }
+                long count = (long) bucket.count();
+                boundaries.add(boundary);
+                counts.add(count);
+                counted += count;
+            }
+            long overflow = Math.max(0L, snapshot.count() - counted);
+            counts.add(overflow);
+            double sum = timeUnit == null ? snapshot.total() : snapshot.total(timeUnit);
+            double max = timeUnit == null ? snapshot.max() : snapshot.max(timeUnit);
+            add(Kind.HISTOGRAM, meter.name(), meter, unit, new HistogramPoint(startNanos, endNanos,
+                    meter.attributes(), sum, counted + overflow, snapshot.count() > 0, max, boundaries, counts));
+            add(Kind.GAUGE, meter.name() + ".max", meter, unit, new DoublePoint(
+                    startNanos, endNanos, meter.attributes(), max));
+        }
+
+        void longTaskTimer(Series meter, LongTaskTimer timer) {
+            upDownSum(meter.name() + ".active", meter, "{tasks}", timer.activeTasks());
+            upDownSum(meter.name() + ".duration", meter, "ms", timer.duration(TimeUnit.MILLISECONDS));
+        }
+
+        void functionTimer(Series meter, FunctionTimer timer) {
+            deltaSum(meter.name() + ".count", meter, "{calls}", timer.count());
+            deltaSum(meter.name() + ".sum", meter, "ms", timer.totalTime(TimeUnit.MILLISECONDS));
+        }
+
+        void measurements(Series meter, Meter other) {
+            for (Measurement measurement : other.measure()) {
+                if (!Double.isNaN(measurement.getValue())) {
+                    add(Kind.GAUGE, meter.name() + "." + measurement.getStatistic().getTagValueRepresentation(),
+                            meter, unit(other), new DoublePoint(
+                                    startNanos, endNanos, meter.attributes(), measurement.getValue()));
+                }
+            }
+        }
+
+        private void deltaSum(String name, Series meter, String unit, double value) {
+            add(Kind.DELTA_SUM, name, meter, unit, new DoublePoint(
+                    startNanos, endNanos, meter.attributes(), value));
+        }
+
+        // Current values rather than per-step changes, so they start when the registry did.
+        private void upDownSum(String name, Series meter, String unit, double value) {
+            add(Kind.UP_DOWN_SUM, name, meter, unit, new DoublePoint(
+                    startEpochNanos, endNanos, meter.attributes(), value));
+        }
+
+        private void add(Kind kind, String name, Series meter, String unit, PointData point) {
+            groups.computeIfAbsent(kind + ":" + name, key -> new Group(kind, name, meter.description(), unit))
+                    .points.add(point);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<MetricData> build() {
+            List<MetricData> metrics = new ArrayList<>(groups.size());
+            for (Group group : groups.values()) {
+                List<DoublePointData> doublePoints = (List<DoublePointData>) (List<?>) group.points;
+                metrics.add(switch (group.kind) {
+                    case DELTA_SUM -> new Metric(resource, scope, group.name, group.description, group.unit,
+                            MetricDataType.DOUBLE_SUM, new SumPoints(doublePoints, true, AggregationTemporality.DELTA));
+                    case UP_DOWN_SUM -> new Metric(resource, scope, group.name, group.description, group.unit,
+                            MetricDataType.DOUBLE_SUM,
+                            new SumPoints(doublePoints, false, AggregationTemporality.CUMULATIVE));
+                    case GAUGE -> new Metric(resource, scope, group.name, group.description, group.unit,
+                            MetricDataType.DOUBLE_GAUGE, new GaugePoints(doublePoints));
+                    case HISTOGRAM -> new Metric(resource, scope, group.name, group.description, group.unit,
+                            MetricDataType.HISTOGRAM, new HistogramPoints(
+                                    (List<HistogramPointData>) (List<?>) group.points, AggregationTemporality.DELTA));
+                });
+            }
+            return metrics;
+        }
+    }
+
+    private static final class Group {
+        private final Kind kind;
+        private final String name;
+        private final String description;
+        private final String unit;
+        private final List<PointData> points = new ArrayList<>();
+
+        private Group(Kind kind, String name, String description, String unit) {
+            this.kind = kind;
+            this.name = name;
+            this.description = description;
+            this.unit = unit;
+        }
+    }
+
+    private record Metric(Resource resource, InstrumentationScopeInfo scope, String name, String description,
+                          String unit, MetricDataType type, Data<?> data) implements MetricData {
+        @Override
+        public Resource getResource() {
+            return resource;
+        }
+
+        @Override
+        public InstrumentationScopeInfo getInstrumentationScopeInfo() {
+            return scope;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String getUnit() {
+            return unit;
+        }
+
+        @Override
+        public MetricDataType getType() {
+            return type;
+        }
+
+        @Override
+        public Data<?> getData() {
+            return data;
+        }
+
+        // The interface's defaults cast to the SDK's internal data classes, so the typed views are overridden.
+        @Override
+        @SuppressWarnings("unchecked")
+        public GaugeData<DoublePointData> getDoubleGaugeData() {
+            return type == MetricDataType.DOUBLE_GAUGE ? (GaugeData<DoublePointData>) data : new GaugePoints(List.of());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public SumData<DoublePointData> getDoubleSumData() {
+            return type == MetricDataType.DOUBLE_SUM
+                    ? (SumData<DoublePointData>) data
+                    : new SumPoints(List.of(), false, AggregationTemporality.CUMULATIVE);
+        }
+
+        @Override
+        public HistogramData getHistogramData() {
+            return type == MetricDataType.HISTOGRAM
+                    ? (HistogramData) data
+                    : new HistogramPoints(List.of(), AggregationTemporality.CUMULATIVE);
+        }
+    }
+
+    private record SumPoints(List<DoublePointData> points, boolean monotonic, AggregationTemporality temporality)
+            implements SumData<DoublePointData> {
+        @Override
+        public Collection<DoublePointData> getPoints() {
+            return points;
+        }
+
+        @Override
+        public boolean isMonotonic() {
+            return monotonic;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality() {
+            return temporality;
+        }
+    }
+
+    private record GaugePoints(List<DoublePointData> points) implements GaugeData<DoublePointData> {
+        @Override
+        public Collection<DoublePointData> getPoints() {
+            return points;
+        }
+    }
+
+    private record HistogramPoints(List<HistogramPointData> points, AggregationTemporality temporality)
+            implements HistogramData {
+        @Override
+        public Collection<HistogramPointData> getPoints() {
+            return points;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality() {
+            return temporality;
+        }
+    }
+
+    private record DoublePoint(long startNanos, long endNanos, Attributes attributes, double value)
+            implements DoublePointData {
+        @Override
+        public long getStartEpochNanos() {
+            return startNanos;
+        }
+
+        @Override
+        public long getEpochNanos() {
+            return endNanos;
+        }
+
+        @Override
+        public Attributes getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public double getValue() {
+            return value;
+        }
+
+        @Override
+        public List<DoubleExemplarData> getExemplars() {
+            return List.of();
+        }
+    }
+
+    // Micrometer tracks no minimum, so min is never reported.
+    private record HistogramPoint(long startNanos, long endNanos, Attributes attributes, double sum, long count,
+                                  boolean hasMax, double max, List<Double> boundaries, List<Long> counts)
+            implements HistogramPointData {
+        @Override
+        public long getStartEpochNanos() {
+            return startNanos;
+        }
+
+        @Override
+        public long getEpochNanos() {
+            return endNanos;
+        }
+
+        @Override
+        public Attributes getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public double getSum() {
+            return sum;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public boolean hasMin() {
+            return false;
+        }
+
+        @Override
+        public double getMin() {
+            return 0;
+        }
+
+        @Override
+        public boolean hasMax() {
+            return hasMax;
+        }
+
+        @Override
+        public double getMax() {
+            return max;
+        }
+
+        @Override
+        public List<Double> getBoundaries() {
+            return boundaries;
+        }
+
+        @Override
+        public List<Long> getCounts() {
+            return counts;
+        }
+
+        @Override
+        public List<DoubleExemplarData> getExemplars() {
+            return List.of();
+        }
+    }
+
+    // Hands every filter added after the cardinality limit to it, so it can tell the id a meter ends up under.
+    private final class LimitingConfig extends Config {
+        @Override
+        public synchronized Config meterFilter(MeterFilter filter) {
+            if (filter != cardinalityLimit) {
+                cardinalityLimit.later.add(filter);
+            }
+            super.meterFilter(filter);
+            return this;
+        }
+    }
+
+    // optic.metrics.cardinality-limit(s) applied per meter name; the overflow meter takes the last slot, as in OTel.
+    // Installed first, so it runs the filters added after it itself: slots are taken and released by the id the
+    // meter is registered under, and a meter a later filter denies takes none.
+    private static final class CardinalityLimit implements MeterFilter {
+        private final OpticConfig.Metrics metrics;
+        private final List<Map.Entry<Pattern, Integer>> patterns = new ArrayList<>();
+        private final ConcurrentHashMap<String, Admitted> byName = new ConcurrentHashMap<>();
+        private final List<MeterFilter> later = new CopyOnWriteArrayList<>();
+
+        private CardinalityLimit(OpticConfig.Metrics metrics) {
+            this.metrics = metrics;
+            for (Map.Entry<String, Integer> limit : metrics.getCardinalityLimits().entrySet()) {
+                patterns.add(Map.entry(glob(limit.getKey()), limit.getValue()));
+            }
+        }
+
+        @Override
+        public Meter.Id map(Meter.Id id) {
+            Meter.Id registered = registeredId(id);
+            if (registered == null) {
+                return id;
+            }
+            Admitted admitted = byName.computeIfAbsent(registered.getName(), this::admitted);
+            if (admitted.admit(registered)) {
+                return id;
+            }
+            if (admitted.warned.compareAndSet(false, true)) {
+                LOGGER.log(Level.WARNING, "Meter " + registered.getName() + " reached its cardinality limit; "
+                        + "further tag sets are folded into the otel.metric.overflow meter");
+            }
+            return id.replaceTags(Tags.of(OVERFLOW_TAG, "true"));
+        }
+
+        void release(Meter.Id registered) {
+            Admitted admitted = byName.get(registered.getName());
+            if (admitted != null) {
+                admitted.release(registered);
+            }
+        }
+
+        // The registry maps through every filter and then asks them in order to accept; null when denied.
+        private Meter.Id registeredId(Meter.Id id) {
+            Meter.Id mapped = id;
+            for (MeterFilter filter : later) {
+                mapped = filter.map(mapped);
+            }
+            for (MeterFilter filter : later) {
+                MeterFilterReply reply = filter.accept(mapped);
+                if (reply == MeterFilterReply.DENY) {
+                    return null;
+                }
+                if (reply == MeterFilterReply.ACCEPT) {
+                    break;
+                }
+            }
+            return mapped;
+        }
+
+        private Admitted admitted(String name) {
+            for (Map.Entry<Pattern, Integer> pattern : patterns) {
+                if (pattern.getKey().matcher(name).matches()) {
+                    return new Admitted(pattern.getValue());
+                }
+            }
+            return new Admitted(metrics.getCardinalityLimit());
+        }
+
+        // Same wildcards as the OTel instrument selector: * for any run of characters, ? for exactly one.
+        private static Pattern glob(String pattern) {
+            StringBuilder regex = new StringBuilder();
+            for (String literal : pattern.split("(?<=[*?])|(?=[*?])")) {
+                regex.append(switch (literal) {
+                    case "*" -> ".*";
+                    case "?" -> ".";
+                    default -> Pattern.quote(literal);
+                });
+            }
+            return Pattern.compile(regex.toString());
+        }
+    }
+
+    private static final class Admitted {
+        private final int limit;
+        private final Set<Meter.Id> ids = ConcurrentHashMap.newKeySet();
+        // Slots reserved before an id is added, so concurrent registrations cannot overshoot the limit.
+        private final AtomicInteger reserved = new AtomicInteger();
+        private final AtomicBoolean warned = new AtomicBoolean();
+
+        private Admitted(int limit) {
+            this.limit = limit;
+        }
+
+        boolean admit(Meter.Id id) {
+            if (ids.contains(id)) {
+                return true;
+            }
+            int taken;
+            do {
+                taken = reserved.get();
+                if (taken >= limit - 1) {
+                    // Full, unless another thread has just admitted this same id.
+                    return ids.contains(id);
+                }
+            } while (!reserved.compareAndSet(taken, taken + 1));
+            if (!ids.add(id)) {
+                reserved.decrementAndGet();
+            }
+            return true;
+        }
+
+        void release(Meter.Id id) {
+            if (ids.remove(id)) {
+                reserved.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class HistogramTimer extends StepTimer {
+        private HistogramTimer(Meter.Id id, Clock clock, DistributionStatisticConfig distributionStatisticConfig,
+                               PauseDetector pauseDetector, TimeUnit baseTimeUnit, long stepMillis,
+                               Histogram histogram) {
+            super(id, clock, distributionStatisticConfig, pauseDetector, baseTimeUnit, stepMillis, histogram);
+        }
+    }
+
+    private static final class HistogramDistributionSummary extends StepDistributionSummary {
+        private HistogramDistributionSummary(Meter.Id id, Clock clock,
+                                             DistributionStatisticConfig distributionStatisticConfig, double scale,
+                                             long stepMillis, Histogram histogram) {
+            super(id, clock, distributionStatisticConfig, scale, stepMillis, histogram);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.optic.sdk;
+
+import io.opentelemetry.exporter.internal.otlp.metrics.MetricsRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.AggregationTemporalitySelector;
+import io.opentelemetry.sdk.metrics.export.DefaultAggregationSelector;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.time.Duration;
+import java.util.Collection;
+
+final class OpticMetricExporter implements MetricExporter {
+    private final OtlpHttpExporter<MetricData> delegate;
+    private final AggregationTemporalitySelector temporality;
+    private final DefaultAggregationSelector aggregation;
+
+    OpticMetricExporter(OtlpHttpTransport transport, String url, Duration timeout, OpticConfig.Spool spool,
+                        AggregationTemporalitySelector temporality, DefaultAggregationSelector aggregation) {
+        this.delegate = new OtlpHttpExporter<>(transport, url, "metrics", MetricsRequestMarshaler::create, timeout, spool);
+        this.temporality = temporality;
+        this.aggregation = aggregation;
+    }
+
+    static AggregationTemporalitySelector temporalitySelector(OpticConfig.MetricTemporality temporality) {
+        return switch (temporality) {
+            case CUMULATIVE -> AggregationTemporalitySelector.alwaysCumulative();
+            case DELTA -> AggregationTemporalitySelector.deltaPreferred();
+            case LOWMEMORY -> AggregationTemporalitySelector.lowMemory();
+        };
+    }
+
+    static DefaultAggregationSelector aggregationSelector(OpticConfig.Metrics metrics) {
+        DefaultAggregationSelector defaults = DefaultAggregationSelector.getDefault();
+        if (metrics.getHistogramAggregation() == OpticConfig.HistogramAggregation.EXPLICIT_BUCKET) {
+            return defaults;
+        }
+        return defaults.with(InstrumentType.HISTOGRAM, exponentialHistogram(metrics));
+    }
+
+    static Aggregation exponentialHistogram(OpticConfig.Metrics metrics) {
+        return Aggregation.base2ExponentialBucketHistogram(
+                metrics.getExponentialMaxBuckets(), metrics.getExponentialMaxScale());
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return temporality.getAggregationTemporality(instrumentType);
+    }
+
+    @Override
+    public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+        return aggregation.getDefaultAggregation(instrumentType);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<MetricData> metrics) {
+        return delegate.export(metrics);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+}
@@ -0,0 +1,31 @@
+package com.optic.sdk;
+
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Duration;
+import java.util.Collection;
+
+final class OpticSpanExporter implements SpanExporter {
+    private final OtlpHttpExporter<SpanData> delegate;
+
+    OpticSpanExporter(OtlpHttpTransport transport, String url, Duration timeout, OpticConfig.Spool spool) {
+        this.delegate = new OtlpHttpExporter<>(transport, url, "spans", TraceRequestMarshaler::create, timeout, spool);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        return delegate.export(spans);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+}
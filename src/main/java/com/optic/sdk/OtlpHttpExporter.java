@@ -0,0 +1,120 @@
+package com.optic.sdk;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Signal-agnostic half of the Optic OTLP/HTTP exporters; the typed wrappers only pick the marshaler.
+final class OtlpHttpExporter<T> {
+    private static final Logger LOGGER = Logger.getLogger(OtlpHttpExporter.class.getName());
+
+    private final OtlpHttpTransport transport;
+    private final String url;
+    private final PipelineTelemetry.Signal signal;
+    private final Function<Collection<T>, Marshaler> marshaler;
+    private final long timeoutNanos;
+    private final DiskSpool spool;
+    private final SpoolReplayer replayer;
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+    // Exports whose outcome is still pending; the spool stays open until the last one has had its chance to
+    // append, including retries the shared transport completes when its final user releases it.
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final CompletableResultCode closed = new CompletableResultCode();
+
+    OtlpHttpExporter(OtlpHttpTransport transport, String url, String signal,
+                     Function<Collection<T>, Marshaler> marshaler, Duration timeout, OpticConfig.Spool spoolSettings) {
+        this.transport = transport;
+        transport.retain();
+        this.url = url;
+        this.signal = transport.telemetry().signal(signal);
+        this.marshaler = marshaler;
+        this.timeoutNanos = timeout.toNanos();
+        this.spool = DiskSpool.forSignal(spoolSettings, signal);
+        if (spool != null) {
+            this.replayer = new SpoolReplayer(spool, transport, url, this.signal, spoolSettings.getReplayBytesPerSecond());
+            replayer.start();
+        } else {
+            this.replayer = null;
+        }
+    }
+
+    CompletableResultCode export(Collection<T> items) {
+        if (items.isEmpty()) {
+            return shutdown.get() ? CompletableResultCode.ofFailure() : CompletableResultCode.ofSuccess();
+        }
+        inFlight.incrementAndGet();
+        if (shutdown.get()) {
+            finished();
+            return CompletableResultCode.ofFailure();
+        }
+        int count = items.size();
+        signal.batch(count);
+        long start = System.nanoTime();
+        byte[] payload;
+        try {
+            payload = transport.encode(marshaler.apply(items));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to serialize OTLP " + signal.name() + " request", e);
+            signal.dropped(count, "serialization");
+            finished();
+            return CompletableResultCode.ofFailure();
+        }
+        OpticConfig.Compression encoding = transport.compression();
+        CompletableResultCode result = new CompletableResultCode();
+        transport.post(url, signal, payload, encoding, timeoutNanos).whenComplete((outcome, error) -> {
+            if (outcome == OtlpHttpTransport.Outcome.SUCCESS) {
+                signal.exported("success", System.nanoTime() - start);
+                if (replayer != null) {
+                    replayer.wake();
+                }
+                result.succeed();
+            } else if (outcome == OtlpHttpTransport.Outcome.RETRYABLE && spool != null && spool.append(encoding, payload)) {
+                // Durably queued for replay.
+                signal.exported("spooled", System.nanoTime() - start);
+                result.succeed();
+            } else {
+                signal.exported(outcome == OtlpHttpTransport.Outcome.REJECTED ? "rejected" : "failed",
+                        System.nanoTime() - start);
+                signal.dropped(count, "export_failed");
+                result.fail();
+            }
+            finished();
+        });
+        return result;
+    }
+
+    // Completes once every pending export has settled and the spool is closed.
+    CompletableResultCode shutdown() {
+        if (shutdown.compareAndSet(false, true)) {
+            if (replayer != null) {
+                replayer.stop();
+            }
+            transport.release();
+            if (inFlight.get() == 0) {
+                close();
+            }
+        }
+        return closed;
+    }
+
+    private void finished() {
+        if (inFlight.decrementAndGet() == 0 && shutdown.get()) {
+            close();
+        }
+    }
+
+    private void close() {
+        if (spool != null) {
+            spool.close();
+        }
+        closed.succeed();
+    }
+}
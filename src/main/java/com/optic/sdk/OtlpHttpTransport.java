@@ -0,0 +1,318 @@
+package com.optic.sdk;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+// Posts OTLP protobuf payloads; owns compression so that codecs the OTel builders lack (zstd) can be used.
+final class OtlpHttpTransport {
+    enum Outcome {
+        SUCCESS,
+        RETRYABLE,
+        REJECTED
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(OtlpHttpTransport.class.getName());
+    private static final MediaType PROTOBUF = MediaType.get("application/x-protobuf");
+
+    private final OkHttpClient client;
+    private final String authorization;
+    private final OpticConfig.Compression compression;
+    private final OpticConfig.Retry retry;
+    private final OpticConfig.CircuitBreaker circuitBreakerSettings;
+    // One breaker per signal: a backend that rejects one signal's payloads should not stall the others.
+    private final ConcurrentHashMap<String, ExportCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService retryScheduler;
+    private final long callTimeoutNanos;
+    private final PipelineTelemetry telemetry;
+    private final AtomicInteger users = new AtomicInteger();
+    private volatile boolean shutdown;
+
+    OtlpHttpTransport(String authorization, OpticConfig config, PipelineTelemetry telemetry) {
+        this.client = buildClient(config.getHttp());
+        this.callTimeoutNanos = config.getHttp().getCallTimeout().toNanos();
+        this.telemetry = telemetry;
+        this.authorization = authorization;
+        this.compression = resolve(config.getCompression());
+        this.retry = config.getRetry();
+        this.circuitBreakerSettings = config.getCircuitBreaker();
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "optic-export-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    PipelineTelemetry telemetry() {
+        return telemetry;
+    }
+
+    OpticConfig.Compression compression() {
+        return compression;
+    }
+
+    // Completes with RETRYABLE when retries are exhausted, the circuit is open, the server asked for a longer
+    // pause than the retry policy allows, or the next attempt would end after timeoutNanos; the caller may spool
+    // the payload in that case. Attempts and backoff together never outlast the timeout.
+    CompletableFuture<Outcome> post(String url, PipelineTelemetry.Signal signal, byte[] payload,
+                                    OpticConfig.Compression encoding, long timeoutNanos) {
+        Request.Builder builder = new Request.Builder()
+                .url(url)
+                .header("Authorization", authorization)
+                .post(RequestBody.create(payload, PROTOBUF));
+        if (encoding != OpticConfig.Compression.NONE) {
+            builder.header("Content-Encoding", encoding.encoding());
+        }
+        CompletableFuture<Outcome> result = new CompletableFuture<>();
+        attempt(builder.build(), signal, 1, System.nanoTime() + timeoutNanos, result);
+        return result;
+    }
+
+    void retain() {
+        users.incrementAndGet();
+    }
+
+    // Shuts the shared client down once every exporter using it has been shut down.
+    void release() {
+        if (users.decrementAndGet() == 0) {
+            shutdown();
+        }
+    }
+
+    void shutdown() {
+        shutdown = true;
+        // Pending retries run once more and give up immediately, so no caller is left waiting.
+        for (Runnable pending : retryScheduler.shutdownNow()) {
+            pending.run();
+        }
+        client.dispatcher().cancelAll();
+        // Not shutdownNow(): cancelled calls still complete on these threads, and an interrupt there would fail
+        // the spool's file I/O for the very payloads that are being spooled.
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    private static OkHttpClient buildClient(OpticConfig.Http http) {
+        Dispatcher dispatcher = new Dispatcher();
+        // Every request goes to the same host, so the per-host limit is the effective one.
+        dispatcher.setMaxRequests(http.getMaxConcurrentRequests());
+        dispatcher.setMaxRequestsPerHost(http.getMaxConcurrentRequests());
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(
+                        http.getMaxIdleConnections(), http.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+                .protocols(http.isHttp2()
+                        ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1)
+                        : List.of(Protocol.HTTP_1_1))
+                .connectTimeout(http.getConnectTimeout())
+                .readTimeout(http.getReadTimeout())
+                .writeTimeout(http.getReadTimeout())
+                .callTimeout(http.getCallTimeout())
+                .build();
+    }
+
+    private void attempt(Request request, PipelineTelemetry.Signal signal, int attempt, long deadlineNanos,
+                         CompletableFuture<Outcome> result) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (shutdown || remainingNanos <= 0) {
+            result.complete(Outcome.RETRYABLE);
+            return;
+        }
+        ExportCircuitBreaker circuitBreaker = circuitBreaker(signal);
+        if (!circuitBreaker.tryAcquire()) {
+            LOGGER.log(Level.FINE, "Skipping " + signal.name() + " export while the circuit breaker is open");
+            signal.failed("circuit_open");
+            result.complete(Outcome.RETRYABLE);
+            return;
+        }
+        signal.sent(bodyLength(request));
+        Call call = client.newCall(request);
+        if (callTimeoutNanos <= 0 || remainingNanos < callTimeoutNanos) {
+            call.timeout().timeout(remainingNanos, TimeUnit.NANOSECONDS);
+        }
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    int code = response.code();
+                    if (response.isSuccessful()) {
+                        circuitBreaker.onSuccess();
+                        result.complete(Outcome.SUCCESS);
+                        return;
+                    }
+                    if (!isRetryable(code)) {
+                        // The backend is reachable; the request itself is bad and is never retried.
+                        circuitBreaker.onSuccess();
+                        signal.failed(Integer.toString(code));
+                        LOGGER.log(Level.WARNING, "Failed to export " + signal.name()
+                                + ". Server responded with HTTP status code " + code);
+                        result.complete(Outcome.REJECTED);
+                        return;
+                    }
+                    signal.failed(Integer.toString(code));
+                    retryOrGiveUp(request, signal, circuitBreaker, attempt, deadlineNanos, retryAfterNanos(response),
+                            result, "Server responded with HTTP status code " + code);
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                signal.failed(e.getClass().getSimpleName());
+                retryOrGiveUp(request, signal, circuitBreaker, attempt, deadlineNanos, -1L, result, e.getMessage());
+            }
+        });
+    }
+
+    private void retryOrGiveUp(Request request, PipelineTelemetry.Signal signal, ExportCircuitBreaker circuitBreaker,
+                               int attempt, long deadlineNanos, long retryAfterNanos, CompletableFuture<Outcome> result,
+                               String reason) {
+        boolean wasOpen = circuitBreaker.isOpen();
+        // A pause longer than the policy's own ceiling is not waited out on an export thread; with the breaker
+        // enabled it keeps the circuit open for that long instead.
+        boolean pauseTooLong = retryAfterNanos > retry.getMaxBackoff().toNanos();
+        long delay = Math.max(backoffNanos(attempt), retryAfterNanos);
+        boolean giveUp = shutdown || attempt >= retry.getMaxAttempts() || pauseTooLong
+                || System.nanoTime() + delay - deadlineNanos >= 0;
+        // The breaker counts exports that failed after their retries, not attempts; only a failed probe reopens
+        // the circuit on its own.
+        if ((giveUp && !shutdown) || circuitBreaker.isProbing()) {
+            circuitBreaker.onFailure();
+        }
+        if (pauseTooLong) {
+            circuitBreaker.openFor(retryAfterNanos);
+        }
+        if (!wasOpen && circuitBreaker.isOpen()) {
+            LOGGER.log(Level.WARNING, "Optic " + signal.name() + " export circuit opened: " + reason);
+        }
+        if (giveUp || circuitBreaker.isOpen()) {
+            LOGGER.log(Level.WARNING, "Failed to export " + signal.name() + " after " + attempt + " attempt(s). " + reason
+                    + (pauseTooLong ? " (Retry-After " + TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos) + "s)" : ""));
+            result.complete(Outcome.RETRYABLE);
+            return;
+        }
+        try {
+            retryScheduler.schedule(() -> attempt(request, signal, attempt + 1, deadlineNanos, result),
+                    delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            result.complete(Outcome.RETRYABLE);
+        }
+    }
+
+    private ExportCircuitBreaker circuitBreaker(PipelineTelemetry.Signal signal) {
+        return circuitBreakers.computeIfAbsent(signal.name(), name -> new ExportCircuitBreaker(circuitBreakerSettings));
+    }
+
+    private static long bodyLength(Request request) {
+        try {
+            return request.body() == null ? 0L : request.body().contentLength();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private long backoffNanos(int attempt) {
+        double base = retry.getInitialBackoff().toNanos() * Math.pow(retry.getBackoffMultiplier(), attempt - 1);
+        double capped = Math.min(base, retry.getMaxBackoff().toNanos());
+        double jitter = retry.getJitter() * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        return (long) (capped * (1 + jitter));
+    }
+
+    // Retry-After is either delta-seconds or an HTTP date; -1 when absent or unparseable.
+    private static long retryAfterNanos(Response response) {
+        String value = response.header("Retry-After");
+        if (value == null || value.isBlank()) {
+            return -1L;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0L, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            // Fall through to the date form.
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0L, Duration.between(ZonedDateTime.now(at.getZone()), at).toNanos());
+        } catch (DateTimeParseException ignored) {
+            return -1L;
+        }
+    }
+
+    byte[] encode(Marshaler request) throws IOException {
+        int size = request.getBinarySerializedSize();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(compression == OpticConfig.Compression.NONE ? size : size / 4 + 64);
+        try (OutputStream out = wrap(buffer)) {
+            request.writeBinaryTo(out);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == 408 || code == 429 || code == 502 || code == 503 || code == 504;
+    }
+
+    private OutputStream wrap(OutputStream out) throws IOException {
+        return switch (compression) {
+            case GZIP -> new GZIPOutputStream(out, 8192);
+            case ZSTD -> Zstd.wrap(out);
+            case NONE -> out;
+        };
+    }
+
+    private static OpticConfig.Compression resolve(OpticConfig.Compression requested) {
+        if (requested == OpticConfig.Compression.ZSTD && !Zstd.isAvailable()) {
+            LOGGER.warning("zstd compression requested but com.github.luben:zstd-jni is not usable; falling back to gzip");
+            return OpticConfig.Compression.GZIP;
+        }
+        return requested == null ? OpticConfig.Compression.NONE : requested;
+    }
+
+    // Only touches zstd-jni classes after isAvailable() succeeded, so the dependency stays optional.
+    private static final class Zstd {
+        private static final boolean AVAILABLE = probe();
+
+        private static boolean isAvailable() {
+            return AVAILABLE;
+        }
+
+        private static boolean probe() {
+            try {
+                Class.forName("com.github.luben.zstd.ZstdOutputStreamNoFinalizer", false, Zstd.class.getClassLoader());
+                com.github.luben.zstd.util.Native.load();
+                return true;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+
+        private static OutputStream wrap(OutputStream out) throws IOException {
+            return new com.github.luben.zstd.ZstdOutputStreamNoFinalizer(out);
+        }
+    }
+}
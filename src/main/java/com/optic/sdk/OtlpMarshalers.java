@@ -0,0 +1,57 @@
+package com.optic.sdk;
+
+import io.opentelemetry.exporter.internal.marshal.Marshaler;
+import io.opentelemetry.exporter.internal.otlp.logs.LogsRequestMarshaler;
+import io.opentelemetry.exporter.internal.otlp.metrics.MetricsRequestMarshaler;
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Optic's transport serializes requests with the internal marshalers of opentelemetry-exporter-otlp-common,
+// which carry no compatibility promise between OTel releases. One probe per JVM decides whether they link and
+// encode as this SDK was built against; if not, Optic falls back to the stock OTLP/HTTP exporters.
+final class OtlpMarshalers {
+    private static final Logger LOGGER = Logger.getLogger(OtlpMarshalers.class.getName());
+    private static volatile Boolean compatible;
+
+    private OtlpMarshalers() {
+    }
+
+    static boolean isCompatible() {
+        Boolean result = compatible;
+        if (result == null) {
+            result = probe();
+            compatible = result;
+        }
+        return result;
+    }
+
+    private static boolean probe() {
+        try {
+            // Empty requests are valid OTLP and encode to zero bytes.
+            return encodesEmpty(TraceRequestMarshaler.create(List.of()))
+                    && encodesEmpty(MetricsRequestMarshaler.create(List.of()))
+                    && encodesEmpty(LogsRequestMarshaler.create(List.of()));
+        } catch (LinkageError | IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "OpenTelemetry OTLP marshalers on the classpath do not match the version "
+                    + "Optic was built against; falling back to the stock OTLP/HTTP exporters without zstd compression, "
+                    + "the spool, the circuit breaker or the shared HTTP client", e);
+            return false;
+        }
+    }
+
+    private static boolean encodesEmpty(Marshaler marshaler) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaler.writeBinaryTo(out);
+        if (out.size() != 0 || marshaler.getBinarySerializedSize() != 0) {
+            LOGGER.warning("OpenTelemetry OTLP marshalers on the classpath encode differently than the version "
+                    + "Optic was built against; falling back to the stock OTLP/HTTP exporters without zstd compression, "
+                    + "the spool, the circuit breaker or the shared HTTP client");
+            return false;
+        }
+        return true;
+    }
+}
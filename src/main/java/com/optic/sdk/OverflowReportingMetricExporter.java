@@ -0,0 +1,126 @@
+package com.optic.sdk;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.Aggregation;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// Spots the overflow series the SDK creates once an instrument hits its cardinality limit and reports what was
+// recorded into it in self-telemetry; wraps either protocol's exporter.
+final class OverflowReportingMetricExporter implements MetricExporter {
+    private static final Logger LOGGER = Logger.getLogger(OverflowReportingMetricExporter.class.getName());
+    private static final AttributeKey<Boolean> OVERFLOW = AttributeKey.booleanKey("otel.metric.overflow");
+
+    private final MetricExporter delegate;
+    private final PipelineTelemetry telemetry;
+    private final Set<String> warned = ConcurrentHashMap.newKeySet();
+    // Last cumulative overflow total per scope and instrument, so each export reports only its increase.
+    private final Map<String, Cumulative> cumulative = new ConcurrentHashMap<>();
+
+    OverflowReportingMetricExporter(MetricExporter delegate, PipelineTelemetry telemetry) {
+        this.delegate = delegate;
+        this.telemetry = telemetry;
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return delegate.getAggregationTemporality(instrumentType);
+    }
+
+    @Override
+    public Aggregation getDefaultAggregation(InstrumentType instrumentType) {
+        return delegate.getDefaultAggregation(instrumentType);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<MetricData> metrics) {
+        for (MetricData metric : metrics) {
+            for (PointData point : metric.getData().getPoints()) {
+                if (Boolean.TRUE.equals(point.getAttributes().get(OVERFLOW))) {
+                    reportOverflow(metric, point);
+                }
+            }
+        }
+        return delegate.export(metrics);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+
+    private void reportOverflow(MetricData metric, PointData point) {
+        if (warned.add(metric.getName())) {
+            LOGGER.log(Level.WARNING, "Metric " + metric.getName() + " reached its cardinality limit; "
+                    + "further attribute sets are folded into the otel.metric.overflow series");
+        }
+        telemetry.metricOverflow(metric.getName(), increase(metric, point));
+    }
+
+    // Measurements for histograms and the increase for monotonic sums, since the previous export. Gauges and
+    // up-down counters have no such amount and report 0.
+    private double increase(MetricData metric, PointData point) {
+        double total;
+        AggregationTemporality temporality;
+        switch (metric.getType()) {
+            case HISTOGRAM -> {
+                total = ((HistogramPointData) point).getCount();
+                temporality = metric.getHistogramData().getAggregationTemporality();
+            }
+            case EXPONENTIAL_HISTOGRAM -> {
+                total = ((ExponentialHistogramPointData) point).getCount();
+                temporality = metric.getExponentialHistogramData().getAggregationTemporality();
+            }
+            case LONG_SUM -> {
+                if (!metric.getLongSumData().isMonotonic()) {
+                    return 0;
+                }
+                total = ((LongPointData) point).getValue();
+                temporality = metric.getLongSumData().getAggregationTemporality();
+            }
+            case DOUBLE_SUM -> {
+                if (!metric.getDoubleSumData().isMonotonic()) {
+                    return 0;
+                }
+                total = ((DoublePointData) point).getValue();
+                temporality = metric.getDoubleSumData().getAggregationTemporality();
+            }
+            default -> {
+                return 0;
+            }
+        }
+        if (temporality == AggregationTemporality.DELTA) {
+            return total;
+        }
+        String key = metric.getInstrumentationScopeInfo().getName() + '\n' + metric.getName();
+        Cumulative previous = cumulative.put(key, new Cumulative(point.getStartEpochNanos(), total));
+        // A new start time or a lower total means the stream was reset, so everything in it is new.
+        if (previous == null || previous.startEpochNanos() != point.getStartEpochNanos() || total < previous.total()) {
+            return total;
+        }
+        return total - previous.total();
+    }
+
+    private record Cumulative(long startEpochNanos, double total) {
+    }
+}
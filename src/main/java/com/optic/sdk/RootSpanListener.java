@@ -0,0 +1,6 @@
+package com.optic.sdk;
+
+@FunctionalInterface
+public interface RootSpanListener {
+    void onRootSpanEnd(String traceId, boolean error);
+}
@@ -0,0 +1,64 @@
+package com.optic.sdk;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+final class RootSpanNotifier implements SpanProcessor {
+    private final CopyOnWriteArrayList<RootSpanListener> listeners = new CopyOnWriteArrayList<>();
+
+    void addListener(RootSpanListener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    void removeListener(RootSpanListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        SpanContext parent = span.getParentSpanContext();
+        // Local root: no parent, or the parent lives in another process.
+        if (parent.isValid() && !parent.isRemote()) {
+            return;
+        }
+        boolean error = isError(span);
+        String traceId = span.getSpanContext().getTraceId();
+        for (RootSpanListener listener : listeners) {
+            try {
+                listener.onRootSpanEnd(traceId, error);
+            } catch (RuntimeException ignored) {
+                // Listeners must never break span processing.
+            }
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    // Only the span status decides; error.type and HTTP status attributes are left to the instrumentation that sets
+    // the status. ReadableSpan exposes no status in this OTel version, so it is read from toSpanData(), which copies
+    // the span's attributes and events. That copy is paid once per local root span, and only while a listener is
+    // registered.
+    private static boolean isError(ReadableSpan span) {
+        return span.toSpanData().getStatus().getStatusCode() == StatusCode.ERROR;
+    }
+}
@@ -0,0 +1,74 @@
+package com.optic.sdk;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Re-sends spooled requests oldest-first, paced to a byte rate so that recovery cannot saturate the link.
+final class SpoolReplayer implements Runnable {
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // Nobody waits on a replay, but a bound keeps a stalled endpoint from holding the thread past stop().
+    private static final long REPLAY_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final DiskSpool spool;
+    private final OtlpHttpTransport transport;
+    private final String url;
+    private final PipelineTelemetry.Signal signal;
+    private final long bytesPerSecond;
+    private final Thread thread;
+    private volatile boolean stopped;
+
+    SpoolReplayer(DiskSpool spool, OtlpHttpTransport transport, String url, PipelineTelemetry.Signal signal, long bytesPerSecond) {
+        this.spool = spool;
+        this.transport = transport;
+        this.url = url;
+        this.signal = signal;
+        this.bytesPerSecond = Math.max(1L, bytesPerSecond);
+        this.thread = new Thread(this, "optic-spool-replay-" + signal.name());
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    // Called when a live export succeeds, which usually means the endpoint is back.
+    void wake() {
+        LockSupport.unpark(thread);
+    }
+
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void run() {
+        long backoff = MIN_BACKOFF_NANOS;
+        long nextSend = System.nanoTime();
+        while (!stopped) {
+            DiskSpool.Record record = spool.peek();
+            if (record == null) {
+                LockSupport.parkNanos(this, IDLE_NANOS);
+                continue;
+            }
+            long wait = nextSend - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            OtlpHttpTransport.Outcome outcome = transport.post(url, signal, record.payload(), record.encoding(), REPLAY_TIMEOUT_NANOS).join();
+            if (outcome == OtlpHttpTransport.Outcome.RETRYABLE) {
+                LockSupport.parkNanos(this, backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+                continue;
+            }
+            // Rejected requests will never be accepted, so they are discarded like delivered ones.
+            spool.remove(record);
+            backoff = MIN_BACKOFF_NANOS;
+            nextSend = System.nanoTime() + record.payload().length * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.optic.sdk;
+
+import com.optic.sdk.internal.MpscRingBuffer;
+import com.optic.sdk.internal.PipelineTelemetry;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+// Span processor with per-thread-striped wait-free queues drained by several export workers,
+// each of which owns a fixed set of stripes and keeps its own export request in flight.
+final class StripedSpanProcessor implements SpanProcessor {
+    private final SpanExporter exporter;
+    private final MpscRingBuffer<ReadableSpan>[] stripes;
+    private final int stripeMask;
+    private final Worker[] workers;
+    private final int maxExportBatchSize;
+    private final long scheduleDelayNanos;
+    private final long exportTimeoutNanos;
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+    // Set once every worker has returned; from then on the stripes are drained under this processor's lock.
+    private volatile boolean workersExited;
+    private final PipelineTelemetry.Signal telemetry;
+    private final AutoCloseable queueGauge;
+
+    StripedSpanProcessor(SpanExporter exporter, int stripeCount, int workerCount, OpticConfig.Batch batch,
+                         PipelineTelemetry telemetry) {
+        this.exporter = exporter;
+        int stripesRounded = stripes(stripeCount, batch);
+        this.stripes = newStripes(stripesRounded);
+        this.stripeMask = stripesRounded - 1;
+        int perStripe = Math.max(1, batch.getMaxQueueSize() / stripesRounded);
+        for (int i = 0; i < stripesRounded; i++) {
+            stripes[i] = new MpscRingBuffer<>(perStripe);
+        }
+        this.maxExportBatchSize = batch.getMaxExportBatchSize();
+        this.scheduleDelayNanos = batch.getScheduleDelay().toNanos();
+        this.exportTimeoutNanos = batch.getExportTimeout().toNanos();
+
+        int workersClamped = Math.min(Math.max(1, workerCount), stripesRounded);
+        this.workers = new Worker[workersClamped];
+        for (int w = 0; w < workersClamped; w++) {
+            List<MpscRingBuffer<ReadableSpan>> owned = new ArrayList<>();
+            for (int i = w; i < stripesRounded; i += workersClamped) {
+                owned.add(stripes[i]);
+            }
+            workers[w] = new Worker(owned);
+        }
+        for (int w = 0; w < workersClamped; w++) {
+            Thread thread = new Thread(workers[w], "optic-span-export-" + w);
+            thread.setDaemon(true);
+            workers[w].thread = thread;
+            thread.start();
+        }
+        this.telemetry = telemetry.signal("spans");
+        this.queueGauge = telemetry.observeQueue("span_processor", this::queueSize);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (!span.getSpanContext().isSampled()) {
+            return;
+        }
+        if (shutdown.get()) {
+            telemetry.dropped(1, "shutdown");
+            return;
+        }
+        int index = stripeIndex(Thread.currentThread().getId());
+        MpscRingBuffer<ReadableSpan> stripe = stripes[index];
+        if (!stripe.offer(span)) {
+            telemetry.dropped(1, "queue_full");
+            return;
+        }
+        // Shutdown began after the check above and the final drain may already have run: nothing reads the
+        // stripes any more, so whatever is left is counted instead of silently lost.
+        if (workersExited) {
+            int late = takeLeftovers().size();
+            if (late > 0) {
+                telemetry.dropped(late, "shutdown");
+            }
+            return;
+        }
+        Worker worker = workers[index % workers.length];
+        // Whatever tops up the worker's batch puts at least its share into one of the owned stripes, so only
+        // this stripe's size is read on the common path.
+        if (stripe.size() >= worker.share) {
+            worker.wakeForFullBatch();
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        List<CompletableResultCode> results = new ArrayList<>(workers.length);
+        for (Worker worker : workers) {
+            results.add(worker.requestFlush());
+        }
+        return CompletableResultCode.ofAll(results);
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        if (!shutdown.compareAndSet(false, true)) {
+            return CompletableResultCode.ofSuccess();
+        }
+        try {
+            queueGauge.close();
+        } catch (Exception ignored) {
+            // Unregistering the gauge is best effort.
+        }
+        CompletableResultCode result = new CompletableResultCode();
+        List<CompletableResultCode> drained = new ArrayList<>(workers.length);
+        for (Worker worker : workers) {
+            drained.add(worker.stopped);
+            worker.wake();
+        }
+        CompletableResultCode.ofAll(drained).whenComplete(() -> {
+            workersExited = true;
+            exportLeftovers();
+            CompletableResultCode exporterShutdown = exporter.shutdown();
+            exporterShutdown.whenComplete(() -> {
+                if (exporterShutdown.isSuccess()) {
+                    result.succeed();
+                } else {
+                    result.fail();
+                }
+            });
+        });
+        return result;
+    }
+
+    // Spans offered between a worker's last pass and its exit.
+    private void exportLeftovers() {
+        List<SpanData> leftovers = takeLeftovers();
+        for (int from = 0; from < leftovers.size(); from += maxExportBatchSize) {
+            List<SpanData> batch = new ArrayList<>(
+                    leftovers.subList(from, Math.min(leftovers.size(), from + maxExportBatchSize)));
+            try {
+                exporter.export(batch).join(exportTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException ignored) {
+                // The exporter is shut down next either way.
+            }
+        }
+    }
+
+    // Only called once the workers have exited; the lock keeps each stripe down to one consumer. workersExited is
+    // written before the stripes are read and producers read it after their offer, so any span this pass misses
+    // is seen by its producer, which comes back here.
+    private synchronized List<SpanData> takeLeftovers() {
+        List<SpanData> leftovers = new ArrayList<>();
+        for (MpscRingBuffer<ReadableSpan> stripe : stripes) {
+            while (stripe.size() > 0) {
+                ReadableSpan span = stripe.poll();
+                if (span == null) {
+                    // Reserved by a producer that has not filled its slot yet.
+                    Thread.onSpinWait();
+                    continue;
+                }
+                leftovers.add(span.toSpanData());
+            }
+        }
+        return leftovers;
+    }
+
+    private long queueSize() {
+        long size = 0;
+        for (MpscRingBuffer<ReadableSpan> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    // The stripe count actually used: a power of two, by default the CPU count but no more stripes than leave
+    // room for a full export batch in each.
+    static int stripes(int requested, OpticConfig.Batch batch) {
+        if (requested <= 0) {
+            int fit = Math.max(1, batch.getMaxQueueSize() / batch.getMaxExportBatchSize());
+            return Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), fit));
+        }
+        int rounded = 1;
+        while (rounded < requested) {
+            rounded <<= 1;
+        }
+        return rounded;
+    }
+
+    private int stripeIndex(long threadId) {
+        long mixed = threadId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32) & stripeMask;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MpscRingBuffer<ReadableSpan>[] newStripes(int count) {
+        return (MpscRingBuffer<ReadableSpan>[]) new MpscRingBuffer<?>[count];
+    }
+
+    private final class Worker implements Runnable {
+        private final List<MpscRingBuffer<ReadableSpan>> owned;
+        // What the owned stripes must hold to top the parked worker's batch up to a full one, and the stripe
+        // size from which producers check that; both are set before the worker parks.
+        private volatile int wanted;
+        private volatile int share;
+        private final List<SpanData> batch;
+        private final AtomicReference<CompletableResultCode> flushRequest = new AtomicReference<>();
+        private final CompletableResultCode stopped = new CompletableResultCode();
+        private volatile boolean parked;
+        private volatile Thread thread;
+
+        private Worker(List<MpscRingBuffer<ReadableSpan>> owned) {
+            this.owned = owned;
+            this.batch = new ArrayList<>(maxExportBatchSize);
+        }
+
+        private void wake() {
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private void wakeForFullBatch() {
+            if (parked && pending() >= wanted) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private CompletableResultCode requestFlush() {
+            if (stopped.isDone()) {
+                return CompletableResultCode.ofSuccess();
+            }
+            CompletableResultCode request = new CompletableResultCode();
+            if (!flushRequest.compareAndSet(null, request)) {
+                CompletableResultCode pending = flushRequest.get();
+                return pending == null ? CompletableResultCode.ofSuccess() : pending;
+            }
+            LockSupport.unpark(thread);
+            return request;
+        }
+
+        @Override
+        public void run() {
+            long nextExport = System.nanoTime() + scheduleDelayNanos;
+            try {
+                while (true) {
+                    boolean drainedAny = fill();
+                    if (batch.size() >= maxExportBatchSize) {
+                        export();
+                        nextExport = System.nanoTime() + scheduleDelayNanos;
+                        continue;
+                    }
+                    CompletableResultCode flush = flushRequest.get();
+                    boolean stopping = shutdown.get();
+                    if (flush != null || stopping) {
+                        if (drainedAny) {
+                            continue;
+                        }
+                        export();
+                        if (flush != null) {
+                            flushRequest.set(null);
+                            flush.succeed();
+                        }
+                        if (stopping) {
+                            return;
+                        }
+                        nextExport = System.nanoTime() + scheduleDelayNanos;
+                        continue;
+                    }
+                    long now = System.nanoTime();
+                    if (now - nextExport >= 0) {
+                        export();
+                        nextExport = now + scheduleDelayNanos;
+                        continue;
+                    }
+                    int missing = maxExportBatchSize - batch.size();
+                    wanted = missing;
+                    share = (missing + owned.size() - 1) / owned.size();
+                    parked = true;
+                    if (!drainedAny && pending() < missing && flushRequest.get() == null && !shutdown.get()) {
+                        LockSupport.parkNanos(this, nextExport - now);
+                    }
+                    parked = false;
+                }
+            } finally {
+                CompletableResultCode flush = flushRequest.getAndSet(null);
+                if (flush != null) {
+                    flush.succeed();
+                }
+                stopped.succeed();
+            }
+        }
+
+        private int pending() {
+            int pending = 0;
+            for (MpscRingBuffer<ReadableSpan> stripe : owned) {
+                pending += stripe.size();
+            }
+            return pending;
+        }
+
+        private boolean fill() {
+            boolean drainedAny = false;
+            for (MpscRingBuffer<ReadableSpan> stripe : owned) {
+                ReadableSpan span;
+                while (batch.size() < maxExportBatchSize && (span = stripe.poll()) != null) {
+                    batch.add(span.toSpanData());
+                    drainedAny = true;
+                }
+            }
+            return drainedAny;
+        }
+
+        private void export() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                exporter.export(new ArrayList<>(batch)).join(exportTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException ignored) {
+                // A failing exporter must not kill the worker.
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
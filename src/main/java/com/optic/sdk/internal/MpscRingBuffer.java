@@ -0,0 +1,74 @@
+package com.optic.sdk.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer/single-consumer array queue whose {@link #offer(Object)} is wait-free: a producer
+ * reserves room with one {@code getAndIncrement} and claims its slot with another, so it never retries against
+ * other producers. It returns {@code false} when the buffer is full.
+ *
+ * <p>{@link #poll()} must only ever be called from one thread at a time. An element whose producer has claimed
+ * but not yet filled its slot is not visible, and neither is anything behind it until it is.
+ */
+public final class MpscRingBuffer<E> {
+    private final int mask;
+    private final int capacity;
+    private final AtomicReferenceArray<E> elements;
+    // Reserved by producers and released by the consumer only once the slot is empty again.
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+        int slots = 1;
+        while (slots < requestedCapacity && slots < (1 << 30)) {
+            slots <<= 1;
+        }
+        this.mask = slots - 1;
+        this.capacity = Math.min(requestedCapacity, slots);
+        this.elements = new AtomicReferenceArray<>(slots);
+    }
+
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        if (size.getAndIncrement() >= capacity) {
+            size.getAndDecrement();
+            return false;
+        }
+        // Every reservation up to this one succeeded, so the slot one lap behind has been consumed and cleared.
+        long pos = tail.getAndIncrement();
+        elements.lazySet((int) pos & mask, element);
+        return true;
+    }
+
+    public E poll() {
+        int index = (int) head & mask;
+        E element = elements.get(index);
+        if (element == null) {
+            return null;
+        }
+        elements.lazySet(index, null);
+        head++;
+        size.getAndDecrement();
+        return element;
+    }
+
+    public int size() {
+        return Math.min(Math.max(size.get(), 0), capacity);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
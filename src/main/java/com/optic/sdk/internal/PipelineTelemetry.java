@@ -0,0 +1,185 @@
+package com.optic.sdk.internal;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleCounter;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Health metrics of the Optic export pipeline, recorded under the reserved {@link #SCOPE}.
+ * Records nothing until {@link #bind(Meter)} is called, so components can be wired before the meter exists.
+ */
+public final class PipelineTelemetry {
+    public static final String SCOPE = "com.optic.sdk";
+
+    private static final AttributeKey<String> SIGNAL = AttributeKey.stringKey("signal");
+    private static final AttributeKey<String> COMPONENT = AttributeKey.stringKey("component");
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final AttributeKey<String> REASON = AttributeKey.stringKey("reason");
+    private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+    private static final AttributeKey<String> METRIC = AttributeKey.stringKey("metric");
+
+    private volatile Instruments instruments;
+    // Keyed by instrument name, which the application bounds, not by attribute values.
+    private final ConcurrentHashMap<String, Attributes> byMetric = new ConcurrentHashMap<>();
+
+    public PipelineTelemetry() {
+    }
+
+    public PipelineTelemetry(Meter meter) {
+        bind(meter);
+    }
+
+    public void bind(Meter meter) {
+        instruments = new Instruments(meter);
+    }
+
+    public Signal signal(String name) {
+        return new Signal(name);
+    }
+
+    /** Publishes {@code size} as {@code optic.sdk.queue.size}; close the handle when the queue goes away. */
+    public AutoCloseable observeQueue(String component, LongSupplier size) {
+        Instruments bound = instruments;
+        if (bound == null) {
+            return () -> { };
+        }
+        Attributes attributes = Attributes.of(COMPONENT, component);
+        ObservableLongGauge gauge = bound.meter.gaugeBuilder("optic.sdk.queue.size")
+                .setDescription("Items waiting in an Optic pipeline queue")
+                .setUnit("{item}")
+                .ofLongs()
+                .buildWithCallback(measurement -> measurement.record(size.getAsLong(), attributes));
+        return gauge::close;
+    }
+
+    public void recordAppendNanos(long nanos) {
+        Instruments bound = instruments;
+        if (bound != null) {
+            bound.appendDuration.record(nanos);
+        }
+    }
+
+    /**
+     * Adds what {@code metric} folded into its {@code otel.metric.overflow} series since the previous export; 0
+     * still marks the instrument as overflowing.
+     */
+    public void metricOverflow(String metric, double amount) {
+        Instruments bound = instruments;
+        if (bound != null) {
+            bound.metricOverflow.add(amount, byMetric.computeIfAbsent(metric, m -> Attributes.of(METRIC, m)));
+        }
+    }
+
+    private static final class Instruments {
+        private final Meter meter;
+        private final LongCounter dropped;
+        private final LongHistogram batchSize;
+        private final DoubleHistogram exportDuration;
+        private final LongCounter exportBytes;
+        private final LongCounter exportFailures;
+        private final LongHistogram appendDuration;
+        private final DoubleCounter metricOverflow;
+
+        private Instruments(Meter meter) {
+            this.meter = meter;
+            this.dropped = meter.counterBuilder("optic.sdk.dropped")
+                    .setDescription("Telemetry items discarded by the Optic SDK")
+                    .setUnit("{item}")
+                    .build();
+            this.batchSize = meter.histogramBuilder("optic.sdk.export.batch.size")
+                    .setDescription("Items per export request")
+                    .setUnit("{item}")
+                    .ofLongs()
+                    .build();
+            this.exportDuration = meter.histogramBuilder("optic.sdk.export.duration")
+                    .setDescription("Time from handing a batch to the exporter until its outcome is known, retries included")
+                    .setUnit("ms")
+                    .build();
+            this.exportBytes = meter.counterBuilder("optic.sdk.export.bytes")
+                    .setDescription("Request body bytes sent, after compression")
+                    .setUnit("By")
+                    .build();
+            this.exportFailures = meter.counterBuilder("optic.sdk.export.failures")
+                    .setDescription("Failed export attempts")
+                    .setUnit("{attempt}")
+                    .build();
+            this.appendDuration = meter.histogramBuilder("optic.sdk.logback.append.duration")
+                    .setDescription("Time spent in the Logback bridge append on the logging thread (sampled)")
+                    .setUnit("ns")
+                    .ofLongs()
+                    .build();
+            this.metricOverflow = meter.counterBuilder("optic.sdk.metric.overflow")
+                    .setDescription("Recorded into otel.metric.overflow series: measurements for histograms, "
+                            + "the increase for monotonic sums")
+                    .setUnit("1")
+                    .ofDoubles()
+                    .build();
+        }
+    }
+
+    /** Per-signal handle; attribute sets are cached so recording does not allocate on the steady path. */
+    public final class Signal {
+        private final String name;
+        private final Attributes attributes;
+        private final ConcurrentHashMap<String, Attributes> byOutcome = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Attributes> byReason = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Attributes> byErrorType = new ConcurrentHashMap<>();
+
+        private Signal(String name) {
+            this.name = name;
+            this.attributes = Attributes.of(SIGNAL, name);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public void dropped(long items, String reason) {
+            Instruments bound = instruments;
+            if (bound != null && items > 0) {
+                bound.dropped.add(items, byReason.computeIfAbsent(reason, r -> with(REASON, r)));
+            }
+        }
+
+        public void batch(int items) {
+            Instruments bound = instruments;
+            if (bound != null) {
+                bound.batchSize.record(items, attributes);
+            }
+        }
+
+        public void exported(String outcome, long durationNanos) {
+            Instruments bound = instruments;
+            if (bound != null) {
+                bound.exportDuration.record(durationNanos / 1_000_000.0,
+                        byOutcome.computeIfAbsent(outcome, o -> with(OUTCOME, o)));
+            }
+        }
+
+        public void sent(long bytes) {
+            Instruments bound = instruments;
+            if (bound != null) {
+                bound.exportBytes.add(bytes, attributes);
+            }
+        }
+
+        // errorType is an HTTP status code or a short failure class, so its cardinality stays small.
+        public void failed(String errorType) {
+            Instruments bound = instruments;
+            if (bound != null) {
+                bound.exportFailures.add(1, byErrorType.computeIfAbsent(errorType, e -> with(ERROR_TYPE, e)));
+            }
+        }
+
+        private Attributes with(AttributeKey<String> key, String value) {
+            return attributes.toBuilder().put(key, value).build();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.optic.sdk.spring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// Confined to the bridge's export thread; not thread-safe.
+final class LogAggregator<T> {
+    interface Sink<T> {
+        void emit(T first, long repeatCount, long firstTimestamp, long lastTimestamp);
+    }
+
+    private final long windowNanos;
+    private final int maxKeys;
+    private final LinkedHashMap<Key, Aggregate<T>> pending = new LinkedHashMap<>();
+    private final Key probe = new Key();
+
+    LogAggregator(Duration window, int maxKeys) {
+        this.windowNanos = window.toNanos();
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    void add(T item, ILoggingEvent event, long nowNanos, Sink<T> sink) {
+        probe.set(event.getLoggerName(), event.getLevel(), event.getMessage());
+        Aggregate<T> aggregate = pending.get(probe);
+        if (aggregate != null) {
+            if (nowNanos - aggregate.startNanos < windowNanos) {
+                aggregate.count++;
+                aggregate.lastTimestamp = event.getTimeStamp();
+                return;
+            }
+            pending.remove(probe);
+            aggregate.emitTo(sink);
+        } else if (pending.size() >= maxKeys) {
+            Iterator<Aggregate<T>> eldest = pending.values().iterator();
+            Aggregate<T> evicted = eldest.next();
+            eldest.remove();
+            evicted.emitTo(sink);
+        }
+        pending.put(probe.copy(), new Aggregate<>(item, nowNanos, event.getTimeStamp()));
+    }
+
+    void flushExpired(long nowNanos, Sink<T> sink) {
+        Iterator<Map.Entry<Key, Aggregate<T>>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Aggregate<T> aggregate = it.next().getValue();
+            // Insertion order equals window start order, so the first live window ends the scan.
+            if (nowNanos - aggregate.startNanos < windowNanos) {
+                return;
+            }
+            it.remove();
+            aggregate.emitTo(sink);
+        }
+    }
+
+    void flushAll(Sink<T> sink) {
+        Iterator<Aggregate<T>> it = pending.values().iterator();
+        while (it.hasNext()) {
+            Aggregate<T> aggregate = it.next();
+            it.remove();
+            aggregate.emitTo(sink);
+        }
+    }
+
+    private static final class Aggregate<T> {
+        private final T first;
+        private final long startNanos;
+        private final long firstTimestamp;
+        private long lastTimestamp;
+        private long count = 1;
+
+        private Aggregate(T first, long startNanos, long firstTimestamp) {
+            this.first = first;
+            this.startNanos = startNanos;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = firstTimestamp;
+        }
+
+        private void emitTo(Sink<T> sink) {
+            sink.emit(first, count, firstTimestamp, lastTimestamp);
+        }
+    }
+
+    private static final class Key {
+        private String loggerName;
+        private Level level;
+        private String template;
+        private int hash;
+
+        private void set(String loggerName, Level level, String template) {
+            this.loggerName = loggerName == null ? "" : loggerName;
+            this.level = level;
+            this.template = template == null ? "" : template;
+            this.hash = (this.loggerName.hashCode() * 31 + Objects.hashCode(level)) * 31 + this.template.hashCode();
+        }
+
+        private Key copy() {
+            Key copy = new Key();
+            copy.loggerName = loggerName;
+            copy.level = level;
+            copy.template = template;
+            copy.hash = hash;
+            return copy;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key key)) {
+                return false;
+            }
+            return hash == key.hash
+                    && level == key.level
+                    && loggerName.equals(key.loggerName)
+                    && template.equals(key.template);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.optic.sdk.spring;
+
+import io.opentelemetry.api.common.AttributeKey;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class LogAttributeKeys {
+    static final AttributeKey<String> LOGGER_NAME = AttributeKey.stringKey("logger.name");
+    static final AttributeKey<String> THREAD_NAME = AttributeKey.stringKey("thread.name");
+    static final AttributeKey<String> EXCEPTION_TYPE = AttributeKey.stringKey("exception.type");
+    static final AttributeKey<String> EXCEPTION_MESSAGE = AttributeKey.stringKey("exception.message");
+    static final AttributeKey<String> EXCEPTION_STACKTRACE = AttributeKey.stringKey("exception.stacktrace");
+    static final AttributeKey<String> EXCEPTION_FINGERPRINT = AttributeKey.stringKey("exception.fingerprint");
+    static final AttributeKey<Long> EXCEPTION_REPEAT_COUNT = AttributeKey.longKey("exception.repeat_count");
+    static final AttributeKey<Long> LOG_REPEAT_COUNT = AttributeKey.longKey("log.repeat_count");
+    static final AttributeKey<Long> LOG_FIRST_TIMESTAMP = AttributeKey.longKey("log.first_timestamp");
+    static final AttributeKey<Long> LOG_LAST_TIMESTAMP = AttributeKey.longKey("log.last_timestamp");
+    static final AttributeKey<String> LOG_TEMPLATE = AttributeKey.stringKey("log.template");
+
+    private static final String MDC_PREFIX = "log.mdc.";
+    private static final int MAX_CACHED_MDC_KEYS = 1024;
+    private static final String ARG_PREFIX = "log.arg.";
+    private static final AttributeKey<String>[] ARG_KEYS = argKeys(16);
+
+    private static final ConcurrentHashMap<String, AttributeKey<String>> MDC_KEYS = new ConcurrentHashMap<>();
+
+    private LogAttributeKeys() {
+    }
+
+    static AttributeKey<String> argKey(int index) {
+        if (index < ARG_KEYS.length) {
+            return ARG_KEYS[index];
+        }
+        return AttributeKey.stringKey(ARG_PREFIX + index);
+    }
+
+    static AttributeKey<String> mdcKey(String mdcKey) {
+        AttributeKey<String> key = MDC_KEYS.get(mdcKey);
+        if (key != null) {
+            return key;
+        }
+        key = AttributeKey.stringKey(MDC_PREFIX + mdcKey);
+        // Bounded so that MDC keys derived from request data cannot grow the cache without limit.
+        if (MDC_KEYS.size() < MAX_CACHED_MDC_KEYS) {
+            AttributeKey<String> existing = MDC_KEYS.putIfAbsent(mdcKey, key);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AttributeKey<String>[] argKeys(int count) {
+        AttributeKey<String>[] keys = (AttributeKey<String>[]) new AttributeKey<?>[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = AttributeKey.stringKey(ARG_PREFIX + i);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,104 @@
+package com.optic.sdk.spring;
+
+import ch.qos.logback.classic.Level;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class LogMetrics {
+    private static final AttributeKey<String> LEVEL = AttributeKey.stringKey("log.level");
+    private static final AttributeKey<String> LOGGER_PREFIX = AttributeKey.stringKey("logger.prefix");
+    private static final Level[] LEVELS = {Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE};
+    private static final int MAX_CACHED_LOGGERS = 10_000;
+    static final int MAX_PREFIXES = 1_000;
+    static final String OTHER_PREFIX = "other";
+    private static final int MAX_EXCEPTION_TYPES_PER_LEVEL = 64;
+    private static final String OTHER_EXCEPTION = "other";
+
+    private final LongCounter events;
+    private final int prefixDepth;
+    private final ConcurrentHashMap<String, PrefixAttributes> byLogger = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PrefixAttributes> byPrefix = new ConcurrentHashMap<>();
+
+    LogMetrics(Meter meter, int prefixDepth) {
+        this.events = meter.counterBuilder("log.events")
+                .setDescription("Log events seen by the Optic Logback bridge")
+                .setUnit("{event}")
+                .build();
+        this.prefixDepth = Math.max(1, prefixDepth);
+    }
+
+    void record(String loggerName, Level level, String exceptionType) {
+        PrefixAttributes prefix = byLogger.get(loggerName);
+        if (prefix == null) {
+            prefix = prefix(truncate(loggerName));
+            if (byLogger.size() < MAX_CACHED_LOGGERS) {
+                byLogger.putIfAbsent(loggerName, prefix);
+            }
+        }
+        int index = levelIndex(level);
+        events.add(1, exceptionType == null ? prefix.byLevel[index] : prefix.withException(index, exceptionType));
+    }
+
+    private PrefixAttributes prefix(String name) {
+        PrefixAttributes prefix = byPrefix.get(name);
+        if (prefix != null) {
+            return prefix;
+        }
+        // Bounded like exception types, so that loggers named after dynamic values cannot explode cardinality.
+        return byPrefix.computeIfAbsent(byPrefix.size() < MAX_PREFIXES ? name : OTHER_PREFIX, PrefixAttributes::new);
+    }
+
+    private String truncate(String loggerName) {
+        int end = -1;
+        for (int i = 0; i < prefixDepth; i++) {
+            end = loggerName.indexOf('.', end + 1);
+            if (end < 0) {
+                return loggerName;
+            }
+        }
+        return loggerName.substring(0, end);
+    }
+
+    private static int levelIndex(Level level) {
+        if (level == null) {
+            return 2;
+        }
+        return switch (level.toInt()) {
+            case Level.ERROR_INT -> 0;
+            case Level.WARN_INT -> 1;
+            case Level.DEBUG_INT -> 3;
+            case Level.TRACE_INT -> 4;
+            default -> 2;
+        };
+    }
+
+    private static final class PrefixAttributes {
+        private final Attributes[] byLevel = new Attributes[LEVELS.length];
+        @SuppressWarnings("unchecked")
+        private final ConcurrentHashMap<String, Attributes>[] byException =
+                (ConcurrentHashMap<String, Attributes>[]) new ConcurrentHashMap<?, ?>[LEVELS.length];
+
+        private PrefixAttributes(String prefix) {
+            for (int i = 0; i < LEVELS.length; i++) {
+                byLevel[i] = Attributes.of(LEVEL, LEVELS[i].toString(), LOGGER_PREFIX, prefix);
+                byException[i] = new ConcurrentHashMap<>();
+            }
+        }
+
+        private Attributes withException(int index, String exceptionType) {
+            ConcurrentHashMap<String, Attributes> cache = byException[index];
+            Attributes attributes = cache.get(exceptionType);
+            if (attributes != null) {
+                return attributes;
+            }
+            // Bounded so that dynamically generated exception classes cannot explode cardinality.
+            String type = cache.size() < MAX_EXCEPTION_TYPES_PER_LEVEL ? exceptionType : OTHER_EXCEPTION;
+            return cache.computeIfAbsent(type, t -> byLevel[index].toBuilder()
+                    .put(LogAttributeKeys.EXCEPTION_TYPE, t)
+                    .build());
+        }
+    }
+}
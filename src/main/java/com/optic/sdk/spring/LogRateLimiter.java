@@ -0,0 +1,210 @@
+package com.optic.sdk.spring;
+
+import ch.qos.logback.classic.Level;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+final class LogRateLimiter {
+    private static final int MAX_CACHED_LOGGERS = 10_000;
+    private static final Level[] LEVELS = {Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE};
+    private static final Rule NO_RULE = new Rule("", new TokenBucket[LEVELS.length]);
+
+    private final Rule[] rules;
+    private final ConcurrentHashMap<String, Rule> rulesByLogger = new ConcurrentHashMap<>();
+
+    private LogRateLimiter(Rule[] rules) {
+        this.rules = rules;
+    }
+
+    static LogRateLimiter fromConfig(Map<String, String> limits) {
+        if (limits == null || limits.isEmpty()) {
+            return null;
+        }
+        List<Rule> parsed = new ArrayList<>();
+        for (Map.Entry<String, String> entry : limits.entrySet()) {
+            String prefix = entry.getKey() == null ? "" : entry.getKey().trim();
+            if (prefix.isEmpty()) {
+                continue;
+            }
+            parsed.add(new Rule(prefix, parseBuckets(prefix, entry.getValue())));
+        }
+        if (parsed.isEmpty()) {
+            return null;
+        }
+        // Longest prefix first so that the first match is the most specific rule.
+        parsed.sort((a, b) -> Integer.compare(b.prefix.length(), a.prefix.length()));
+        return new LogRateLimiter(parsed.toArray(new Rule[0]));
+    }
+
+    boolean tryAcquire(String loggerName, Level level) {
+        return tryAcquire(loggerName, level, System.nanoTime());
+    }
+
+    boolean tryAcquire(String loggerName, Level level, long nowNanos) {
+        Rule rule = rulesByLogger.get(loggerName);
+        if (rule == null) {
+            rule = resolve(loggerName);
+            if (rulesByLogger.size() < MAX_CACHED_LOGGERS) {
+                rulesByLogger.putIfAbsent(loggerName, rule);
+            }
+        }
+        if (rule == NO_RULE) {
+            return true;
+        }
+        TokenBucket bucket = rule.buckets[levelIndex(level)];
+        return bucket == null || bucket.tryAcquire(nowNanos);
+    }
+
+    String drainSuppressedSummary() {
+        StringBuilder sb = null;
+        for (Rule rule : rules) {
+            for (int i = 0; i < LEVELS.length; i++) {
+                TokenBucket bucket = rule.buckets[i];
+                if (bucket == null) {
+                    continue;
+                }
+                long suppressed = bucket.suppressed.sumThenReset();
+                if (suppressed <= 0) {
+                    continue;
+                }
+                if (sb == null) {
+                    sb = new StringBuilder("Optic log rate limits suppressed events:");
+                } else {
+                    sb.append(',');
+                }
+                sb.append(' ').append(rule.prefix).append(' ').append(LEVELS[i]).append('=').append(suppressed);
+            }
+        }
+        return sb == null ? null : sb.toString();
+    }
+
+    private Rule resolve(String loggerName) {
+        for (Rule rule : rules) {
+            if (loggerName.startsWith(rule.prefix)
+                    && (loggerName.length() == rule.prefix.length() || loggerName.charAt(rule.prefix.length()) == '.')) {
+                return rule;
+            }
+        }
+        return NO_RULE;
+    }
+
+    private static int levelIndex(Level level) {
+        if (level == null) {
+            return 2;
+        }
+        return switch (level.toInt()) {
+            case Level.ERROR_INT -> 0;
+            case Level.WARN_INT -> 1;
+            case Level.DEBUG_INT -> 3;
+            case Level.TRACE_INT -> 4;
+            default -> 2;
+        };
+    }
+
+    // Accepts "100/s" (all levels) or a comma list such as "DEBUG:10/s, INFO:100/s, 500/m".
+    private static TokenBucket[] parseBuckets(String prefix, String raw) {
+        TokenBucket[] buckets = new TokenBucket[LEVELS.length];
+        TokenBucket fallback = null;
+        String value = raw == null ? "" : raw.trim();
+        for (String part : value.split(",")) {
+            String spec = part.trim();
+            if (spec.isEmpty()) {
+                continue;
+            }
+            int colon = spec.indexOf(':');
+            if (colon < 0) {
+                fallback = parseRate(prefix, spec);
+                continue;
+            }
+            Level level = Level.toLevel(spec.substring(0, colon).trim().toUpperCase(Locale.ROOT), null);
+            if (level == null) {
+                throw new IllegalArgumentException("invalid level in optic.logs.rate-limits." + prefix + ": " + spec);
+            }
+            buckets[levelIndex(level)] = parseRate(prefix, spec.substring(colon + 1).trim());
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] == null && fallback != null) {
+                // Each level gets its own budget so a noisy DEBUG stream cannot starve WARN.
+                buckets[i] = fallback.copy();
+            }
+        }
+        return buckets;
+    }
+
+    private static TokenBucket parseRate(String prefix, String spec) {
+        int slash = spec.indexOf('/');
+        if (slash <= 0) {
+            throw new IllegalArgumentException("invalid rate in optic.logs.rate-limits." + prefix + ": " + spec);
+        }
+        long permits;
+        try {
+            permits = Long.parseLong(spec.substring(0, slash).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid rate in optic.logs.rate-limits." + prefix + ": " + spec);
+        }
+        if (permits <= 0) {
+            throw new IllegalArgumentException("rate must be greater than zero in optic.logs.rate-limits." + prefix);
+        }
+        String unit = spec.substring(slash + 1).trim().toLowerCase(Locale.ROOT);
+        long periodNanos = switch (unit) {
+            case "s", "sec", "second" -> TimeUnit.SECONDS.toNanos(1);
+            case "m", "min", "minute" -> TimeUnit.MINUTES.toNanos(1);
+            case "h", "hour" -> TimeUnit.HOURS.toNanos(1);
+            default -> throw new IllegalArgumentException(
+                    "invalid rate unit in optic.logs.rate-limits." + prefix + ": " + spec);
+        };
+        return new TokenBucket(permits, periodNanos);
+    }
+
+    private static final class Rule {
+        private final String prefix;
+        private final TokenBucket[] buckets;
+
+        private Rule(String prefix, TokenBucket[] buckets) {
+            this.prefix = prefix;
+            this.buckets = buckets;
+        }
+    }
+
+    // Token bucket expressed as a theoretical arrival time (GCRA): one CAS per event, no locks.
+    private static final class TokenBucket {
+        private final long permits;
+        private final long periodNanos;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final AtomicLong theoreticalArrival;
+        private final LongAdder suppressed = new LongAdder();
+
+        private TokenBucket(long permits, long periodNanos) {
+            this.permits = permits;
+            this.periodNanos = periodNanos;
+            this.intervalNanos = Math.max(1L, periodNanos / permits);
+            this.burstNanos = intervalNanos * (permits - 1);
+            this.theoreticalArrival = new AtomicLong(System.nanoTime());
+        }
+
+        private TokenBucket copy() {
+            return new TokenBucket(permits, periodNanos);
+        }
+
+        private boolean tryAcquire(long nowNanos) {
+            while (true) {
+                long arrival = theoreticalArrival.get();
+                long allowAt = arrival - nowNanos > 0 ? arrival : nowNanos;
+                if (allowAt - nowNanos > burstNanos) {
+                    suppressed.increment();
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(arrival, allowAt + intervalNanos)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.optic.sdk.spring;
+
+import ch.qos.logback.classic.Level;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class LoggerNameFilter {
+    static final int EXCLUDED = Integer.MAX_VALUE;
+
+    private static final int MAX_CACHED_LOGGERS = 10_000;
+    private static final String ROOT_KEY = "root";
+    // Always excluded to avoid feedback loops from SDK/exporter internals.
+    private static final List<String> INTERNAL_PREFIXES = List.of("io.opentelemetry", "com.optic.sdk");
+
+    private final Node root = new Node();
+    private final boolean includesConfigured;
+    private final ConcurrentHashMap<String, Integer> decisions = new ConcurrentHashMap<>();
+
+    private LoggerNameFilter(boolean includesConfigured) {
+        this.includesConfigured = includesConfigured;
+    }
+
+    static LoggerNameFilter compile(List<String> includes, List<String> excludes, Map<String, String> minLevels) {
+        boolean hasIncludes = false;
+        if (includes != null) {
+            for (String include : includes) {
+                hasIncludes |= include != null && !include.trim().isEmpty();
+            }
+        }
+        LoggerNameFilter filter = new LoggerNameFilter(hasIncludes);
+        if (includes != null) {
+            for (String include : includes) {
+                filter.node(include).include = Boolean.TRUE;
+            }
+        }
+        if (excludes != null) {
+            for (String exclude : excludes) {
+                filter.node(exclude).include = Boolean.FALSE;
+            }
+        }
+        if (minLevels != null) {
+            for (Map.Entry<String, String> entry : minLevels.entrySet()) {
+                String prefix = entry.getKey() == null ? "" : entry.getKey().trim();
+                String rawLevel = entry.getValue() == null ? "" : entry.getValue().trim();
+                Level level = Level.toLevel(rawLevel.toUpperCase(Locale.ROOT), null);
+                if (level == null) {
+                    throw new IllegalArgumentException("invalid level in optic.logs.min-levels." + prefix + ": " + rawLevel);
+                }
+                Node node = ROOT_KEY.equalsIgnoreCase(prefix) ? filter.root : filter.node(prefix);
+                node.minLevel = level.toInt();
+            }
+        }
+        for (String prefix : INTERNAL_PREFIXES) {
+            filter.node(prefix).internal = true;
+        }
+        return filter;
+    }
+
+    // Returns the minimum Logback level int an event from this logger must reach, or EXCLUDED.
+    int minLevel(String loggerName) {
+        Integer cached = decisions.get(loggerName);
+        if (cached != null) {
+            return cached;
+        }
+        int decision = decide(loggerName);
+        if (decisions.size() < MAX_CACHED_LOGGERS) {
+            decisions.putIfAbsent(loggerName, decision);
+        }
+        return decision;
+    }
+
+    // Decisions depend only on the compiled rules, but a reconfiguration can leave the bounded cache full of
+    // logger names that are never used again; starting over lets the current loggers be cached.
+    void invalidate() {
+        decisions.clear();
+    }
+
+    int cachedDecisions() {
+        return decisions.size();
+    }
+
+    private int decide(String loggerName) {
+        Node node = root;
+        Boolean include = root.include;
+        int minLevel = root.minLevel;
+        int start = 0;
+        while (node != null && start <= loggerName.length()) {
+            int end = loggerName.indexOf('.', start);
+            if (end < 0) {
+                end = loggerName.length();
+            }
+            node = node.children.get(loggerName.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (node.internal) {
+                return EXCLUDED;
+            }
+            if (node.include != null) {
+                include = node.include;
+            }
+            if (node.minLevel != Integer.MIN_VALUE) {
+                minLevel = node.minLevel;
+            }
+            start = end + 1;
+        }
+        if (Boolean.FALSE.equals(include) || (includesConfigured && include == null)) {
+            return EXCLUDED;
+        }
+        return minLevel;
+    }
+
+    private Node node(String prefix) {
+        Node node = root;
+        String normalized = prefix == null ? "" : prefix.trim();
+        if (normalized.isEmpty()) {
+            return node;
+        }
+        for (String segment : normalized.split("\\.")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            node = node.children.computeIfAbsent(segment, ignored -> new Node());
+        }
+        return node;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Boolean include;
+        private int minLevel = Integer.MIN_VALUE;
+        private boolean internal;
+    }
+}
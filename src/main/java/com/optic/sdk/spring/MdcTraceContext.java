@@ -0,0 +1,137 @@
+package com.optic.sdk.spring;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+final class MdcTraceContext {
+    private static final List<String> DEFAULT_TRACE_ID_KEYS = List.of("trace.id", "trace_id", "traceId", "otel.trace_id");
+    private static final List<String> DEFAULT_SPAN_ID_KEYS = List.of("span.id", "span_id", "spanId", "otel.span_id");
+
+    private static final int CACHE_SLOTS = 64;
+
+    private final String[] traceIdKeys;
+    private final String[] spanIdKeys;
+    // Slots are immutable, so racy reads and writes from several threads are benign.
+    private final Slot[] cache = new Slot[CACHE_SLOTS];
+
+    MdcTraceContext(List<String> traceIdKeys, List<String> spanIdKeys) {
+        this.traceIdKeys = normalize(traceIdKeys, DEFAULT_TRACE_ID_KEYS);
+        this.spanIdKeys = normalize(spanIdKeys, DEFAULT_SPAN_ID_KEYS);
+    }
+
+    Context resolve(Map<String, String> mdc) {
+        if (mdc == null || mdc.isEmpty()) {
+            return null;
+        }
+        String traceId = firstPresent(mdc, traceIdKeys);
+        if (traceId == null) {
+            return null;
+        }
+        String spanId = firstPresent(mdc, spanIdKeys);
+        if (spanId == null) {
+            return null;
+        }
+
+        // Consecutive logs of a request share the same MDC value instances, so this is usually an identity hit.
+        int index = (traceId.hashCode() * 31 + spanId.hashCode()) & (CACHE_SLOTS - 1);
+        Slot slot = cache[index];
+        if (slot != null && slot.matches(traceId, spanId)) {
+            return slot.context;
+        }
+
+        String normalizedTraceId = trimIfNeeded(traceId);
+        String normalizedSpanId = trimIfNeeded(spanId);
+        if (!isValidTraceID(normalizedTraceId) || !isValidSpanID(normalizedSpanId)) {
+            return null;
+        }
+        SpanContext spanContext = SpanContext.createFromRemoteParent(
+                normalizedTraceId,
+                normalizedSpanId,
+                TraceFlags.getSampled(),
+                TraceState.getDefault()
+        );
+        Context context = Context.root().with(Span.wrap(spanContext));
+        cache[index] = new Slot(traceId, spanId, context);
+        return context;
+    }
+
+    private static String firstPresent(Map<String, String> mdc, String[] keys) {
+        for (String key : keys) {
+            String value = mdc.get(key);
+            // A blank value under an earlier key must not hide a usable one under a later key.
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static String trimIfNeeded(String value) {
+        if (value.charAt(0) <= ' ' || value.charAt(value.length() - 1) <= ' ') {
+            return value.trim();
+        }
+        return value;
+    }
+
+    private static boolean isValidTraceID(String value) {
+        return isHex(value, 32) && !"00000000000000000000000000000000".equals(value);
+    }
+
+    private static boolean isValidSpanID(String value) {
+        return isHex(value, 16) && !"0000000000000000".equals(value);
+    }
+
+    private static boolean isHex(String value, int expectedLen) {
+        if (value == null || value.length() != expectedLen) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean ok = (c >= '0' && c <= '9')
+                    || (c >= 'a' && c <= 'f')
+                    || (c >= 'A' && c <= 'F');
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] normalize(List<String> keys, List<String> defaults) {
+        List<String> normalized = new ArrayList<>();
+        if (keys != null) {
+            for (String key : keys) {
+                if (key != null && !key.trim().isEmpty()) {
+                    normalized.add(key.trim());
+                }
+            }
+        }
+        if (normalized.isEmpty()) {
+            normalized.addAll(defaults);
+        }
+        return normalized.toArray(new String[0]);
+    }
+
+    private static final class Slot {
+        private final String traceId;
+        private final String spanId;
+        private final Context context;
+
+        private Slot(String traceId, String spanId, Context context) {
+            this.traceId = traceId;
+            this.spanId = spanId;
+            this.context = context;
+        }
+
+        private boolean matches(String otherTraceId, String otherSpanId) {
+            return (traceId == otherTraceId || traceId.equals(otherTraceId))
+                    && (spanId == otherSpanId || spanId.equals(otherSpanId));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.optic.sdk.spring;
 
 import com.optic.sdk.Optic;
 import com.optic.sdk.OpticConfig;
+import com.optic.sdk.OpticMeterRegistry;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.instrumentation.micrometer.v1_5.OpenTelemetryMeterRegistry;
@@ -11,6 +12,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 
 @AutoConfiguration
@@ -32,20 +34,34 @@ public class OpticAutoConfiguration {
         return optic.getOpenTelemetry();
     }
 
-    @Bean
-    @ConditionalOnClass({MeterRegistry.class, OpenTelemetryMeterRegistry.class})
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
     @ConditionalOnProperty(prefix = "optic", name = "enable-metrics", havingValue = "true", matchIfMissing = true)
-    @ConditionalOnMissingBean(name = "opticOpenTelemetryMeterRegistry")
-    public MeterRegistry opticOpenTelemetryMeterRegistry(Optic optic) {
-        return OpenTelemetryMeterRegistry.builder(optic.getOpenTelemetry()).build();
+    static class MicrometerConfiguration {
+
+        @Bean
+        @ConditionalOnClass(OpenTelemetryMeterRegistry.class)
+        @ConditionalOnProperty(prefix = "optic.metrics", name = "micrometer", havingValue = "bridge", matchIfMissing = true)
+        @ConditionalOnMissingBean(name = "opticOpenTelemetryMeterRegistry")
+        public MeterRegistry opticOpenTelemetryMeterRegistry(Optic optic) {
+            return OpenTelemetryMeterRegistry.builder(optic.getOpenTelemetry()).build();
+        }
+
+        // Closed before the Optic bean it depends on, so its last step is exported before the SDK shuts down.
+        @Bean(destroyMethod = "close")
+        @ConditionalOnProperty(prefix = "optic.metrics", name = "micrometer", havingValue = "native")
+        @ConditionalOnMissingBean(name = "opticMeterRegistry")
+        public MeterRegistry opticMeterRegistry(Optic optic) {
+            return new OpticMeterRegistry(optic);
+        }
     }
 
     @Bean(destroyMethod = "close")
     @ConditionalOnProperty(prefix = "optic", name = "enable-logs", havingValue = "true", matchIfMissing = true)
     @ConditionalOnClass(name = {"ch.qos.logback.classic.LoggerContext", "org.slf4j.LoggerFactory"})
     @ConditionalOnMissingBean(name = "opticLogbackBridge")
-    public AutoCloseable opticLogbackBridge(Optic optic) {
-        return new OpticLogbackBridge(optic);
+    public AutoCloseable opticLogbackBridge(Optic optic, OpticProperties properties) {
+        return new OpticLogbackBridge(optic, properties.getLogs());
     }
 
     private static OpticConfig buildConfig(OpticProperties properties, Environment environment) {
@@ -69,7 +85,27 @@ public class OpticAutoConfiguration {
         config.setEnableTraces(properties.isEnableTraces());
         config.setEnableMetrics(properties.isEnableMetrics());
         config.setEnableLogs(properties.isEnableLogs());
+        config.setEnableSelfTelemetry(properties.isEnableSelfTelemetry());
         config.setExportInterval(properties.getExportInterval());
+        config.setProtocol(properties.getProtocol());
+        config.setCompression(properties.getCompression());
+        OpticProperties.Traces traces = properties.getTraces();
+        applyBatch(config.getTraceBatch(), traces.getBatch());
+        if (traces.getProcessor() != null) {
+            config.setSpanProcessor(traces.getProcessor());
+        }
+        if (traces.getExportWorkers() != null) {
+            config.setTraceExportWorkers(traces.getExportWorkers());
+        }
+        if (traces.getStripes() != null) {
+            config.setTraceStripes(traces.getStripes());
+        }
+        applyBatch(config.getLogBatch(), properties.getLogs().getBatch());
+        applySpool(config.getSpool(), properties.getSpool());
+        applyRetry(config.getRetry(), properties.getRetry());
+        applyCircuitBreaker(config.getCircuitBreaker(), properties.getCircuitBreaker());
+        applyHttp(config.getHttp(), properties.getHttp());
+        applyMetrics(config.getMetrics(), properties.getMetrics());
 
         if (!hasText(config.getServiceName())) {
             config.setServiceName(environment.getProperty("spring.application.name", ""));
@@ -78,6 +114,134 @@ public class OpticAutoConfiguration {
         return config;
     }
 
+    private static void applyBatch(OpticConfig.Batch target, OpticProperties.Batch source) {
+        if (source.getMaxQueueSize() != null) {
+            target.setMaxQueueSize(source.getMaxQueueSize());
+        }
+        if (source.getMaxExportBatchSize() != null) {
+            target.setMaxExportBatchSize(source.getMaxExportBatchSize());
+        }
+        if (source.getScheduleDelay() != null) {
+            target.setScheduleDelay(source.getScheduleDelay());
+        }
+        if (source.getExportTimeout() != null) {
+            target.setExportTimeout(source.getExportTimeout());
+        }
+    }
+
+    private static void applySpool(OpticConfig.Spool target, OpticProperties.Spool source) {
+        if (source.getEnabled() != null) {
+            target.setEnabled(source.getEnabled());
+        }
+        if (hasText(source.getDirectory())) {
+            target.setDirectory(source.getDirectory());
+        }
+        if (source.getMaxSize() != null) {
+            target.setMaxBytes(source.getMaxSize().toBytes());
+        }
+        if (source.getSegmentSize() != null) {
+            target.setSegmentBytes(source.getSegmentSize().toBytes());
+        }
+        if (source.getReplayRate() != null) {
+            target.setReplayBytesPerSecond(source.getReplayRate().toBytes());
+        }
+    }
+
+    private static void applyRetry(OpticConfig.Retry target, OpticProperties.Retry source) {
+        if (source.getMaxAttempts() != null) {
+            target.setMaxAttempts(source.getMaxAttempts());
+        }
+        if (source.getInitialBackoff() != null) {
+            target.setInitialBackoff(source.getInitialBackoff());
+        }
+        if (source.getMaxBackoff() != null) {
+            target.setMaxBackoff(source.getMaxBackoff());
+        }
+        if (source.getBackoffMultiplier() != null) {
+            target.setBackoffMultiplier(source.getBackoffMultiplier());
+        }
+        if (source.getJitter() != null) {
+            target.setJitter(source.getJitter());
+        }
+    }
+
+    private static void applyCircuitBreaker(OpticConfig.CircuitBreaker target, OpticProperties.CircuitBreaker source) {
+        if (source.getEnabled() != null) {
+            target.setEnabled(source.getEnabled());
+        }
+        if (source.getFailureThreshold() != null) {
+            target.setFailureThreshold(source.getFailureThreshold());
+        }
+        if (source.getOpenDuration() != null) {
+            target.setOpenDuration(source.getOpenDuration());
+        }
+    }
+
+    private static void applyHttp(OpticConfig.Http target, OpticProperties.Http source) {
+        if (source.getConnectTimeout() != null) {
+            target.setConnectTimeout(source.getConnectTimeout());
+        }
+        if (source.getReadTimeout() != null) {
+            target.setReadTimeout(source.getReadTimeout());
+        }
+        if (source.getCallTimeout() != null) {
+            target.setCallTimeout(source.getCallTimeout());
+        }
+        if (source.getMaxIdleConnections() != null) {
+            target.setMaxIdleConnections(source.getMaxIdleConnections());
+        }
+        if (source.getKeepAlive() != null) {
+            target.setKeepAlive(source.getKeepAlive());
+        }
+        if (source.getMaxConcurrentRequests() != null) {
+            target.setMaxConcurrentRequests(source.getMaxConcurrentRequests());
+        }
+        if (source.getHttp2() != null) {
+            target.setHttp2(source.getHttp2());
+        }
+    }
+
+    private static void applyMetrics(OpticConfig.Metrics target, OpticProperties.Metrics source) {
+        if (source.getTemporality() != null) {
+            target.setTemporality(source.getTemporality());
+        }
+        if (source.getCardinalityLimit() != null) {
+            target.setCardinalityLimit(source.getCardinalityLimit());
+        }
+        if (source.getCardinalityLimits() != null) {
+            source.getCardinalityLimits().forEach((pattern, limit) -> {
+                if (limit != null) {
+                    target.setCardinalityLimit(pattern, limit);
+                }
+            });
+        }
+        if (source.getHistogramAggregation() != null) {
+            target.setHistogramAggregation(source.getHistogramAggregation());
+        }
+        if (source.getExponentialMaxBuckets() != null) {
+            target.setExponentialMaxBuckets(source.getExponentialMaxBuckets());
+        }
+        if (source.getExponentialMaxScale() != null) {
+            target.setExponentialMaxScale(source.getExponentialMaxScale());
+        }
+        if (source.getViews() != null) {
+            for (OpticProperties.Metrics.View view : source.getViews()) {
+                if (view == null) {
+                    continue;
+                }
+                // A missing instrument is rejected by OpticConfig.validate().
+                target.addView(hasText(view.getInstrument()) ? view.getInstrument() : "")
+                        .setName(view.getName())
+                        .setDescription(view.getDescription())
+                        .setAttributesKeep(view.getAttributesKeep())
+                        .setAttributesDrop(view.getAttributesDrop())
+                        .setAggregation(view.getAggregation())
+                        .setBucketBoundaries(view.getBucketBoundaries())
+                        .setCardinalityLimit(view.getCardinalityLimit());
+            }
+        }
+    }
+
     private static boolean hasText(String value) {
         return value != null && !value.trim().isEmpty();
     }
@@ -4,87 +4,558 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.LoggerContextListener;
 import ch.qos.logback.classic.spi.StackTraceElementProxy;
-import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import com.optic.sdk.Optic;
-import io.opentelemetry.api.common.AttributeKey;
+import com.optic.sdk.RootSpanListener;
+import com.optic.sdk.internal.MpmcRingBuffer;
+import com.optic.sdk.internal.PipelineTelemetry;
 import io.opentelemetry.api.logs.LogRecordBuilder;
 import io.opentelemetry.api.logs.Logger;
 import io.opentelemetry.api.logs.Severity;
 import io.opentelemetry.api.trace.Span;
-import io.opentelemetry.api.trace.SpanContext;
-import io.opentelemetry.api.trace.TraceFlags;
-import io.opentelemetry.api.trace.TraceState;
 import io.opentelemetry.context.Context;
+import java.time.Duration;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import org.slf4j.LoggerFactory;
 
 final class OpticLogbackBridge implements AutoCloseable {
     private static final String APPENDER_NAME = "OPTIC_OTEL_APPENDER";
     private static final String ROOT_LOGGER = org.slf4j.Logger.ROOT_LOGGER_NAME;
 
+    // Bridges still open; Spring re-initialising logging re-attaches them. See OpticLoggingReinitListener.
+    private static final Set<OpticLogbackBridge> OPEN = ConcurrentHashMap.newKeySet();
+
+    private final LoggerContext context;
     private final ch.qos.logback.classic.Logger rootLogger;
     private final OpticLogbackAppender appender;
+    private final ReconfigurationListener reconfigurationListener = new ReconfigurationListener();
+    private volatile boolean closed;
 
-    OpticLogbackBridge(Optic optic) {
+    OpticLogbackBridge(Optic optic, OpticProperties.Logs settings) {
         Object factory = LoggerFactory.getILoggerFactory();
         if (!(factory instanceof LoggerContext context)) {
             throw new IllegalStateException("Logback LoggerContext not available");
         }
 
+        this.context = context;
         this.rootLogger = context.getLogger(ROOT_LOGGER);
-        this.appender = new OpticLogbackAppender(optic.logger("optic-logback-bridge"));
+        this.appender = new OpticLogbackAppender(optic, settings);
         this.appender.setName(APPENDER_NAME);
         this.appender.setContext(context);
-        this.appender.start();
-        this.rootLogger.addAppender(this.appender);
+        attach();
+        OPEN.add(this);
+    }
+
+    // Called once logging has been re-initialised from outside Logback, e.g. by Spring Boot.
+    static void reattachAll() {
+        for (OpticLogbackBridge bridge : OPEN) {
+            bridge.attach();
+        }
     }
 
     @Override
     public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        OPEN.remove(this);
+        context.removeListener(reconfigurationListener);
         if (rootLogger != null && appender != null) {
             rootLogger.detachAppender(appender);
             appender.stop();
         }
     }
 
-    private static final class OpticLogbackAppender extends AppenderBase<ILoggingEvent> {
+    // LoggerContext.reset() detaches and stops every appender; stop() also drops every listener, reset resistant
+    // or not. Both are undone here, and repeating it is harmless.
+    private synchronized void attach() {
+        if (closed) {
+            return;
+        }
+        if (!context.getCopyOfListenerList().contains(reconfigurationListener)) {
+            context.addListener(reconfigurationListener);
+        }
+        if (rootLogger.getAppender(APPENDER_NAME) == null) {
+            appender.start();
+            rootLogger.addAppender(appender);
+        }
+    }
+
+    private final class ReconfigurationListener implements LoggerContextListener {
+        @Override
+        public boolean isResetResistant() {
+            return true;
+        }
+
+        @Override
+        public void onStart(LoggerContext loggerContext) {
+            attach();
+        }
+
+        // Scan-triggered reconfiguration calls reset() and then configures without start(), so re-attach here:
+        // the appenders of the new configuration are added next to ours.
+        @Override
+        public void onReset(LoggerContext loggerContext) {
+            attach();
+        }
+
+        @Override
+        public void onStop(LoggerContext loggerContext) {
+        }
+
+        @Override
+        public void onLevelChange(ch.qos.logback.classic.Logger logger, Level level) {
+        }
+    }
+
+    private record PendingLog(ILoggingEvent event, String message, Context context) {
+    }
+
+    private record RootSpanEnd(String traceId, boolean error) {
+    }
+
+    static final class OpticLogbackAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+        private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+        private static final long STOP_TIMEOUT_MILLIS = 5_000;
+        private static final int HOUSEKEEPING_EVERY_EVENTS = 256;
+        private static final String BRIDGE_LOGGER_NAME = "com.optic.sdk.logback";
+        private static final String SCOPE_NAME = "optic-logback-bridge";
+        private static final int APPEND_SAMPLE_RATE = 64;
+
         private final Logger otelLogger;
+        private final MpmcRingBuffer<PendingLog> buffer;
+        private final OpticProperties.DropPolicy dropPolicy;
+        private final StackTraceFingerprints fingerprints;
+        private final LoggerNameFilter loggerFilter;
+        private final MdcTraceContext mdcTraceContext;
+        private final LogRateLimiter rateLimiter;
+        private final LogMetrics logMetrics;
+        private final int exportMinLevel;
+        private final LogAggregator<PendingLog> aggregator;
+        private final LogAggregator.Sink<PendingLog> aggregateSink = this::emit;
+        private final boolean deferredFormatting;
+        private final boolean structuredArguments;
+        private final Optic optic;
+        private final TraceLogBuffer<PendingLog> flightRecorder;
+        private final ConcurrentLinkedQueue<RootSpanEnd> rootSpanEnds = new ConcurrentLinkedQueue<>();
+        private final RootSpanListener rootSpanListener = this::onRootSpanEnd;
+        private final long summaryIntervalNanos;
+        private final PipelineTelemetry telemetry;
+        private final PipelineTelemetry.Signal logTelemetry;
+        private AutoCloseable queueGauge;
+        private long nextSummaryNanos;
+
+        private volatile boolean running;
+        private volatile boolean consumerParked;
+        private volatile Thread consumer;
+        // Bumped by every start(); a consumer from an earlier start leaves as soon as it sees a newer one.
+        private volatile long generation;
 
-        private OpticLogbackAppender(Logger otelLogger) {
+        private OpticLogbackAppender(Optic optic, OpticProperties.Logs settings) {
+            this(optic, settings, optic.logger(SCOPE_NAME), optic.getConfig().isEnableSelfTelemetry()
+                    ? new PipelineTelemetry(optic.meter(PipelineTelemetry.SCOPE))
+                    : null);
+        }
+
+        // Tests hand in the logger records are emitted to and the telemetry drops are reported to.
+        OpticLogbackAppender(Optic optic, OpticProperties.Logs settings, Logger otelLogger,
+                             PipelineTelemetry telemetry) {
             this.otelLogger = otelLogger;
+            this.buffer = new MpmcRingBuffer<>(Math.max(1, settings.getQueueCapacity()));
+            this.dropPolicy = settings.getDropPolicy() == null
+                    ? OpticProperties.DropPolicy.DROP_NEWEST
+                    : settings.getDropPolicy();
+            Duration dedupWindow = settings.getStackTraceDedupWindow();
+            this.fingerprints = dedupWindow == null || dedupWindow.isZero() || dedupWindow.isNegative()
+                    ? null
+                    : new StackTraceFingerprints(dedupWindow, settings.getStackTraceCacheSize());
+            this.loggerFilter = LoggerNameFilter.compile(
+                    settings.getInclude(), settings.getExclude(), settings.getMinLevels());
+            this.mdcTraceContext = new MdcTraceContext(settings.getTraceIdMdcKeys(), settings.getSpanIdMdcKeys());
+            this.rateLimiter = LogRateLimiter.fromConfig(settings.getRateLimits());
+            OpticProperties.Logs.Metrics metrics = settings.getMetrics();
+            if (metrics.isEnabled()) {
+                this.logMetrics = new LogMetrics(optic.meter(SCOPE_NAME), metrics.getLoggerPrefixDepth());
+                this.exportMinLevel = Level.toLevel(metrics.getExportMinLevel(), Level.WARN).toInt();
+            } else {
+                this.logMetrics = null;
+                this.exportMinLevel = Level.ALL_INT;
+            }
+            Duration summaryInterval = settings.getRateLimitSummaryInterval();
+            this.summaryIntervalNanos = summaryInterval == null || summaryInterval.isZero() || summaryInterval.isNegative()
+                    ? TimeUnit.MINUTES.toNanos(1)
+                    : summaryInterval.toNanos();
+            Duration aggregationWindow = settings.getAggregationWindow();
+            this.aggregator = aggregationWindow == null || aggregationWindow.isZero() || aggregationWindow.isNegative()
+                    ? null
+                    : new LogAggregator<>(aggregationWindow, settings.getAggregationMaxKeys());
+            // Aggregated events are mostly collapsed into a record that is formatted once, so formatting each
+            // of them on the logging thread would be wasted.
+            this.deferredFormatting = settings.isDeferredFormatting() || aggregator != null;
+            this.structuredArguments = settings.isStructuredArguments();
+            this.optic = optic;
+            OpticProperties.Logs.FlightRecorder recorder = settings.getFlightRecorder();
+            this.flightRecorder = recorder.isEnabled()
+                    ? new TraceLogBuffer<>(
+                            recorder.getMaxTraces(),
+                            recorder.getMaxBytes().toBytes(),
+                            recorder.getMaxRecordsPerTrace(),
+                            recorder.getMaxAge())
+                    : null;
+            this.telemetry = telemetry;
+            this.logTelemetry = telemetry == null ? null : telemetry.signal("logs");
+        }
+
+        // The aggregator, fingerprints and flight recorder assume a single consumer. A consumer that stop() gave up
+        // waiting for may still be running, so the new one takes over only once the previous one has exited.
+        @Override
+        public synchronized void start() {
+            if (isStarted()) {
+                return;
+            }
+            // Logback resets and Spring's logging re-init restart the appender.
+            loggerFilter.invalidate();
+            long startGeneration = ++generation;
+            Thread previous = consumer;
+            running = true;
+            Thread thread = new Thread(() -> drain(previous, startGeneration), "optic-logback-bridge");
+            thread.setDaemon(true);
+            consumer = thread;
+            thread.start();
+            if (flightRecorder != null) {
+                optic.addRootSpanListener(rootSpanListener);
+            }
+            if (telemetry != null) {
+                queueGauge = telemetry.observeQueue("logback_bridge", buffer::size);
+            }
+            super.start();
+        }
+
+        @Override
+        public synchronized void stop() {
+            if (!isStarted()) {
+                return;
+            }
+            super.stop();
+            if (flightRecorder != null) {
+                optic.removeRootSpanListener(rootSpanListener);
+            }
+            closeQueueGauge();
+            running = false;
+            Thread thread = consumer;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+                try {
+                    thread.join(STOP_TIMEOUT_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (!thread.isAlive()) {
+                    discardQueued();
+                }
+            }
+        }
+
+        // Events an application thread enqueued after the consumer's final drain would otherwise sit unseen.
+        private void discardQueued() {
+            long discarded = 0;
+            while (buffer.poll() != null) {
+                discarded++;
+            }
+            if (discarded > 0 && logTelemetry != null) {
+                logTelemetry.dropped(discarded, "shutdown");
+            }
+        }
+
+        private void onRootSpanEnd(String traceId, boolean error) {
+            rootSpanEnds.offer(new RootSpanEnd(traceId, error));
+            if (consumerParked) {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        private void closeQueueGauge() {
+            AutoCloseable gauge = queueGauge;
+            queueGauge = null;
+            if (gauge != null) {
+                try {
+                    gauge.close();
+                } catch (Exception ignored) {
+                    // Unregistering the gauge is best effort.
+                }
+            }
         }
 
         @Override
         protected void append(ILoggingEvent event) {
-            if (event == null) {
+            // Timing every call would cost about as much as the append itself, so only a sample is measured.
+            if (telemetry == null || ThreadLocalRandom.current().nextInt(APPEND_SAMPLE_RATE) != 0) {
+                accept(event);
+                return;
+            }
+            long start = System.nanoTime();
+            accept(event);
+            telemetry.recordAppendNanos(System.nanoTime() - start);
+        }
+
+        private void accept(ILoggingEvent event) {
+            if (event == null || !running) {
                 return;
             }
 
             String loggerName = safe(event.getLoggerName());
-            // Avoid feedback loops from SDK/exporter internals.
-            if (loggerName.startsWith("io.opentelemetry.") || loggerName.startsWith("com.optic.sdk.")) {
+            Level level = event.getLevel();
+            int levelInt = level == null ? Level.INFO_INT : level.toInt();
+            if (levelInt < loggerFilter.minLevel(loggerName)) {
+                return;
+            }
+            Context active = activeContext();
+            // DEBUG/TRACE records of a trace go to the flight recorder, which bounds them itself and exports them
+            // only for failed traces; the export-level and rate-limit gates would otherwise discard them first.
+            boolean recordable = flightRecorder != null && levelInt < Level.INFO_INT
+                    && (active != null || mdcTraceContext.resolve(event.getMDCPropertyMap()) != null);
+            if (logMetrics != null) {
+                IThrowableProxy throwable = event.getThrowableProxy();
+                logMetrics.record(loggerName, level, throwable == null ? null : throwable.getClassName());
+                if (levelInt < exportMinLevel && !recordable) {
+                    return;
+                }
+            }
+            if (!recordable && rateLimiter != null && !rateLimiter.tryAcquire(loggerName, level)) {
+                if (logTelemetry != null) {
+                    logTelemetry.dropped(1, "rate_limited");
+                }
                 return;
             }
 
-            String message = safe(event.getFormattedMessage());
-            if (message.isEmpty()) {
+            String message = null;
+            if (deferredFormatting) {
+                // The export thread formats the template; arguments must not be mutated after logging.
+                if (isBlank(event.getMessage())) {
+                    return;
+                }
+            } else {
+                message = safe(event.getFormattedMessage());
+                if (message.isEmpty()) {
+                    return;
+                }
+            }
+
+            // Thread name, MDC and the active span are only visible from the logging thread.
+            event.getThreadName();
+            event.getMDCPropertyMap();
+            enqueue(new PendingLog(event, message, active));
+        }
+
+        private static Context activeContext() {
+            Context current = Context.current();
+            return Span.fromContext(current).getSpanContext().isValid() ? current : null;
+        }
+
+        private void enqueue(PendingLog pending) {
+            if (!buffer.offer(pending)) {
+                if (logTelemetry != null) {
+                    logTelemetry.dropped(1, "queue_full");
+                }
+                if (dropPolicy != OpticProperties.DropPolicy.DROP_OLDEST) {
+                    return;
+                }
+                buffer.poll();
+                if (!buffer.offer(pending)) {
+                    return;
+                }
+            }
+            if (!running) {
+                // Stopped since accept() checked; nobody drains the buffer once the consumer has exited.
+                Thread thread = consumer;
+                if (thread == null || !thread.isAlive()) {
+                    discardQueued();
+                }
                 return;
             }
+            if (consumerParked) {
+                LockSupport.unpark(consumer);
+            }
+        }
 
+        private void drain(Thread previous, long drainGeneration) {
+            if (previous != null) {
+                awaitExit(previous);
+            }
+            nextSummaryNanos = System.nanoTime() + summaryIntervalNanos;
+            int sinceHousekeeping = 0;
+            while (true) {
+                if (generation != drainGeneration) {
+                    // Restarted: the newer consumer carries on with the same state and whatever is still queued.
+                    return;
+                }
+                PendingLog pending = buffer.poll();
+                if (pending != null) {
+                    process(pending);
+                    if (++sinceHousekeeping >= HOUSEKEEPING_EVERY_EVENTS) {
+                        sinceHousekeeping = 0;
+                        housekeeping(System.nanoTime());
+                    }
+                    continue;
+                }
+                sinceHousekeeping = 0;
+                housekeeping(System.nanoTime());
+                if (!running) {
+                    if (aggregator != null) {
+                        aggregator.flushAll(aggregateSink);
+                    }
+                    if (flightRecorder != null) {
+                        flightRecorder.clear();
+                    }
+                    reportSuppressed();
+                    return;
+                }
+                consumerParked = true;
+                if (buffer.isEmpty() && rootSpanEnds.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                consumerParked = false;
+            }
+        }
+
+        private static void awaitExit(Thread thread) {
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void process(PendingLog pending) {
+            if (flightRecorder != null && bufferForTrace(pending)) {
+                return;
+            }
+            if (aggregator != null) {
+                aggregator.add(pending, pending.event(), System.nanoTime(), aggregateSink);
+                return;
+            }
+            emit(pending, 1, 0, 0);
+        }
+
+        // Keeps DEBUG/TRACE records of a trace in memory until the trace is known to have failed.
+        private boolean bufferForTrace(PendingLog pending) {
+            Level level = pending.event().getLevel();
+            int levelInt = level == null ? Level.INFO_INT : level.toInt();
+            if (levelInt >= Level.INFO_INT && levelInt < Level.ERROR_INT) {
+                return false;
+            }
+            Context ctx = resolveContext(pending);
+            if (ctx == null) {
+                return false;
+            }
+            String traceId = Span.fromContext(ctx).getSpanContext().getTraceId();
+            if (levelInt >= Level.ERROR_INT) {
+                flightRecorder.complete(traceId, true, this::emitBuffered);
+                return false;
+            }
+            long bytes = estimateBytes(pending);
+            return flightRecorder.add(traceId, pending, bytes, System.nanoTime()) != TraceLogBuffer.Outcome.EMIT;
+        }
+
+        private void emitBuffered(PendingLog pending) {
+            emit(pending, 1, 0, 0);
+        }
+
+        private static long estimateBytes(PendingLog pending) {
+            String text = pending.message() != null ? pending.message() : pending.event().getMessage();
+            Map<String, String> mdc = pending.event().getMDCPropertyMap();
+            return 256L + 2L * (text == null ? 0 : text.length()) + 64L * (mdc == null ? 0 : mdc.size());
+        }
+
+        private Context resolveContext(PendingLog pending) {
+            // Explicit MDC trace ids take precedence over the span active on the logging thread.
+            Context ctx = mdcTraceContext.resolve(pending.event().getMDCPropertyMap());
+            return ctx != null ? ctx : pending.context();
+        }
+
+        private void housekeeping(long nowNanos) {
+            if (flightRecorder != null) {
+                RootSpanEnd end;
+                while ((end = rootSpanEnds.poll()) != null) {
+                    flightRecorder.complete(end.traceId(), end.error(), this::emitBuffered);
+                }
+                flightRecorder.expire(nowNanos);
+            }
+            if (aggregator != null) {
+                aggregator.flushExpired(nowNanos, aggregateSink);
+            }
+            if (nowNanos - nextSummaryNanos >= 0) {
+                nextSummaryNanos = nowNanos + summaryIntervalNanos;
+                reportSuppressed();
+            }
+        }
+
+        private void reportSuppressed() {
+            if (rateLimiter == null) {
+                return;
+            }
+            String summary = rateLimiter.drainSuppressedSummary();
+            if (summary == null) {
+                return;
+            }
+            try {
+                otelLogger.logRecordBuilder()
+                        .setTimestamp(System.currentTimeMillis(), TimeUnit.MILLISECONDS)
+                        .setSeverity(Severity.WARN)
+                        .setBody(summary)
+                        .setAttribute(LogAttributeKeys.LOGGER_NAME, BRIDGE_LOGGER_NAME)
+                        .emit();
+            } catch (RuntimeException ignored) {
+                // Never break app logging pipeline due to telemetry export errors.
+            }
+        }
+
+        private void emit(PendingLog pending, long repeatCount, long firstTimestamp, long lastTimestamp) {
+            ILoggingEvent event = pending.event();
             try {
+                String message = pending.message() != null ? pending.message() : safe(event.getFormattedMessage());
+                if (message.isEmpty()) {
+                    return;
+                }
                 LogRecordBuilder record = otelLogger.logRecordBuilder()
                         .setTimestamp(event.getTimeStamp(), TimeUnit.MILLISECONDS)
                         .setSeverity(toSeverity(event.getLevel()))
                         .setBody(message)
-                        .setAttribute(AttributeKey.stringKey("logger.name"), loggerName)
-                        .setAttribute(AttributeKey.stringKey("thread.name"), safe(event.getThreadName()));
+                        .setAttribute(LogAttributeKeys.LOGGER_NAME, safe(event.getLoggerName()))
+                        .setAttribute(LogAttributeKeys.THREAD_NAME, safe(event.getThreadName()));
 
-                Context ctx = contextFromEvent(event);
+                Context ctx = resolveContext(pending);
                 if (ctx != null) {
                     record.setContext(ctx);
                 }
+                if (structuredArguments) {
+                    Object[] arguments = event.getArgumentArray();
+                    if (arguments != null && arguments.length > 0) {
+                        record.setAttribute(LogAttributeKeys.LOG_TEMPLATE, safe(event.getMessage()));
+                        for (int i = 0; i < arguments.length; i++) {
+                            record.setAttribute(LogAttributeKeys.argKey(i), String.valueOf(arguments[i]));
+                        }
+                    }
+                }
+                if (repeatCount > 1) {
+                    record.setAttribute(LogAttributeKeys.LOG_REPEAT_COUNT, repeatCount);
+                    record.setAttribute(LogAttributeKeys.LOG_FIRST_TIMESTAMP, firstTimestamp);
+                    record.setAttribute(LogAttributeKeys.LOG_LAST_TIMESTAMP, lastTimestamp);
+                }
 
                 Map<String, String> mdc = event.getMDCPropertyMap();
                 if (mdc != null && !mdc.isEmpty()) {
@@ -92,18 +563,28 @@ final class OpticLogbackBridge implements AutoCloseable {
                         String key = safe(entry.getKey());
                         String value = safe(entry.getValue());
                         if (!key.isEmpty() && !value.isEmpty()) {
-                            record.setAttribute(AttributeKey.stringKey("log.mdc." + key), value);
+                            record.setAttribute(LogAttributeKeys.mdcKey(key), value);
                         }
                     }
                 }
 
                 IThrowableProxy throwable = event.getThrowableProxy();
                 if (throwable != null) {
-                    record.setAttribute(AttributeKey.stringKey("exception.type"), safe(throwable.getClassName()));
-                    record.setAttribute(AttributeKey.stringKey("exception.message"), safe(throwable.getMessage()));
-                    String stackTrace = extractStackTrace(throwable);
-                    if (!stackTrace.isEmpty()) {
-                        record.setAttribute(AttributeKey.stringKey("exception.stacktrace"), stackTrace);
+                    record.setAttribute(LogAttributeKeys.EXCEPTION_TYPE, safe(throwable.getClassName()));
+                    record.setAttribute(LogAttributeKeys.EXCEPTION_MESSAGE, safe(throwable.getMessage()));
+                    StackTraceFingerprints.Occurrence occurrence = fingerprints == null
+                            ? null
+                            : fingerprints.observe(throwable, System.nanoTime());
+                    if (occurrence != null) {
+                        record.setAttribute(LogAttributeKeys.EXCEPTION_FINGERPRINT, occurrence.fingerprint());
+                    }
+                    if (occurrence == null || occurrence.isFirstInWindow()) {
+                        String stackTrace = extractStackTrace(throwable);
+                        if (!stackTrace.isEmpty()) {
+                            record.setAttribute(LogAttributeKeys.EXCEPTION_STACKTRACE, stackTrace);
+                        }
+                    } else {
+                        record.setAttribute(LogAttributeKeys.EXCEPTION_REPEAT_COUNT, occurrence.repeatCount());
                     }
                 }
 
@@ -113,7 +594,7 @@ final class OpticLogbackBridge implements AutoCloseable {
             }
         }
 
-        private static String extractStackTrace(IThrowableProxy proxy) {
+        static String extractStackTrace(IThrowableProxy proxy) {
             StringBuilder sb = new StringBuilder();
             appendThrowable(sb, proxy, "");
             return sb.toString();
@@ -134,40 +615,6 @@ final class OpticLogbackBridge implements AutoCloseable {
             }
         }
 
-        private static Context contextFromEvent(ILoggingEvent event) {
-            Map<String, String> mdc = event.getMDCPropertyMap();
-            if (mdc != null) {
-                String traceID = firstNonBlank(
-                        mdc.get("trace.id"),
-                        mdc.get("trace_id"),
-                        mdc.get("traceId"),
-                        mdc.get("otel.trace_id")
-                );
-                String spanID = firstNonBlank(
-                        mdc.get("span.id"),
-                        mdc.get("span_id"),
-                        mdc.get("spanId"),
-                        mdc.get("otel.span_id")
-                );
-                if (isValidTraceID(traceID) && isValidSpanID(spanID)) {
-                    SpanContext spanContext = SpanContext.createFromRemoteParent(
-                            traceID,
-                            spanID,
-                            TraceFlags.getSampled(),
-                            TraceState.getDefault()
-                    );
-                    return Context.root().with(Span.wrap(spanContext));
-                }
-            }
-
-            Span current = Span.current();
-            if (current != null && current.getSpanContext().isValid()) {
-                return Context.current();
-            }
-
-            return null;
-        }
-
         private static Severity toSeverity(Level level) {
             if (level == null) {
                 return Severity.INFO;
@@ -182,34 +629,12 @@ final class OpticLogbackBridge implements AutoCloseable {
             };
         }
 
-        private static String firstNonBlank(String... values) {
-            for (String value : values) {
-                String trimmed = safe(value);
-                if (!trimmed.isEmpty()) {
-                    return trimmed;
-                }
-            }
-            return "";
-        }
-
-        private static boolean isValidTraceID(String value) {
-            return isHex(value, 32) && !"00000000000000000000000000000000".equals(value);
-        }
-
-        private static boolean isValidSpanID(String value) {
-            return isHex(value, 16) && !"0000000000000000".equals(value);
-        }
-
-        private static boolean isHex(String value, int expectedLen) {
-            if (value == null || value.length() != expectedLen) {
-                return false;
+        private static boolean isBlank(String value) {
+            if (value == null) {
+                return true;
             }
             for (int i = 0; i < value.length(); i++) {
-                char c = value.charAt(i);
-                boolean ok = (c >= '0' && c <= '9')
-                        || (c >= 'a' && c <= 'f')
-                        || (c >= 'A' && c <= 'F');
-                if (!ok) {
+                if (!Character.isWhitespace(value.charAt(i))) {
                     return false;
                 }
             }
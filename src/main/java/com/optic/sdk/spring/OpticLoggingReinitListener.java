@@ -0,0 +1,29 @@
+package com.optic.sdk.spring;
+
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.logging.LoggingApplicationListener;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Re-attaches open Logback bridges after Spring Boot re-initialises logging. Boot stops the LoggerContext before
+ * loading the new configuration, which drops every context listener, so the bridge cannot notice this on its
+ * own. Registered in {@code META-INF/spring.factories} because the event precedes any application context.
+ */
+public final class OpticLoggingReinitListener implements ApplicationListener<ApplicationEnvironmentPreparedEvent>, Ordered {
+    private static final boolean LOGBACK_PRESENT = ClassUtils.isPresent(
+            "ch.qos.logback.classic.LoggerContext", OpticLoggingReinitListener.class.getClassLoader());
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        if (LOGBACK_PRESENT) {
+            OpticLogbackBridge.reattachAll();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return LoggingApplicationListener.DEFAULT_ORDER + 1;
+    }
+}
@@ -1,7 +1,13 @@
 package com.optic.sdk.spring;
 
+import com.optic.sdk.OpticConfig;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 @ConfigurationProperties(prefix = "optic")
 public class OpticProperties {
@@ -14,7 +20,17 @@ public class OpticProperties {
     private boolean enableTraces = true;
     private boolean enableMetrics = true;
     private boolean enableLogs = true;
+    private boolean enableSelfTelemetry = true;
     private Duration exportInterval = Duration.ofSeconds(10);
+    private OpticConfig.Protocol protocol;
+    private OpticConfig.Compression compression;
+    private final Traces traces = new Traces();
+    private final Logs logs = new Logs();
+    private final Spool spool = new Spool();
+    private final Retry retry = new Retry();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private final Http http = new Http();
+    private final Metrics metrics = new Metrics();
 
     public boolean isEnabled() {
         return enabled;
@@ -88,6 +104,14 @@ public class OpticProperties {
         this.enableLogs = enableLogs;
     }
 
+    public boolean isEnableSelfTelemetry() {
+        return enableSelfTelemetry;
+    }
+
+    public void setEnableSelfTelemetry(boolean enableSelfTelemetry) {
+        this.enableSelfTelemetry = enableSelfTelemetry;
+    }
+
     public Duration getExportInterval() {
         return exportInterval;
     }
@@ -95,4 +119,709 @@ public class OpticProperties {
     public void setExportInterval(Duration exportInterval) {
         this.exportInterval = exportInterval;
     }
+
+    public OpticConfig.Protocol getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(OpticConfig.Protocol protocol) {
+        this.protocol = protocol;
+    }
+
+    public OpticConfig.Compression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(OpticConfig.Compression compression) {
+        this.compression = compression;
+    }
+
+    public Traces getTraces() {
+        return traces;
+    }
+
+    public Logs getLogs() {
+        return logs;
+    }
+
+    public Spool getSpool() {
+        return spool;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public static class Batch {
+        private Integer maxQueueSize;
+        private Integer maxExportBatchSize;
+        private Duration scheduleDelay;
+        private Duration exportTimeout;
+
+        public Integer getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public void setMaxQueueSize(Integer maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+
+        public Integer getMaxExportBatchSize() {
+            return maxExportBatchSize;
+        }
+
+        public void setMaxExportBatchSize(Integer maxExportBatchSize) {
+            this.maxExportBatchSize = maxExportBatchSize;
+        }
+
+        public Duration getScheduleDelay() {
+            return scheduleDelay;
+        }
+
+        public void setScheduleDelay(Duration scheduleDelay) {
+            this.scheduleDelay = scheduleDelay;
+        }
+
+        public Duration getExportTimeout() {
+            return exportTimeout;
+        }
+
+        public void setExportTimeout(Duration exportTimeout) {
+            this.exportTimeout = exportTimeout;
+        }
+    }
+
+    public static class Spool {
+        private Boolean enabled;
+        private String directory;
+        private DataSize maxSize;
+        private DataSize segmentSize;
+        private DataSize replayRate;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        // Replay throughput per second once the endpoint is reachable again.
+        public DataSize getReplayRate() {
+            return replayRate;
+        }
+
+        public void setReplayRate(DataSize replayRate) {
+            this.replayRate = replayRate;
+        }
+    }
+
+    public static class Retry {
+        private Integer maxAttempts;
+        private Duration initialBackoff;
+        private Duration maxBackoff;
+        private Double backoffMultiplier;
+        private Double jitter;
+
+        public Integer getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(Integer maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Double getBackoffMultiplier() {
+            return backoffMultiplier;
+        }
+
+        public void setBackoffMultiplier(Double backoffMultiplier) {
+            this.backoffMultiplier = backoffMultiplier;
+        }
+
+        public Double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(Double jitter) {
+            this.jitter = jitter;
+        }
+    }
+
+    public static class CircuitBreaker {
+        private Boolean enabled;
+        private Integer failureThreshold;
+        private Duration openDuration;
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(Integer failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+    }
+
+    public static class Http {
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        private Duration callTimeout;
+        private Integer maxIdleConnections;
+        private Duration keepAlive;
+        private Integer maxConcurrentRequests;
+        private Boolean http2;
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getCallTimeout() {
+            return callTimeout;
+        }
+
+        public void setCallTimeout(Duration callTimeout) {
+            this.callTimeout = callTimeout;
+        }
+
+        public Integer getMaxIdleConnections() {
+            return maxIdleConnections;
+        }
+
+        public void setMaxIdleConnections(Integer maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public Integer getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public Boolean getHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(Boolean http2) {
+            this.http2 = http2;
+        }
+    }
+
+    public static class Metrics {
+        private OpticConfig.MetricTemporality temporality;
+        private Integer cardinalityLimit;
+        // Keys containing dots need brackets: optic.metrics.cardinality-limits[http.server.*]=500
+        private Map<String, Integer> cardinalityLimits = new LinkedHashMap<>();
+        private List<View> views = new ArrayList<>();
+        private OpticConfig.HistogramAggregation histogramAggregation;
+        private Integer exponentialMaxBuckets;
+        private Integer exponentialMaxScale;
+        private MicrometerRegistry micrometer = MicrometerRegistry.BRIDGE;
+
+        public OpticConfig.MetricTemporality getTemporality() {
+            return temporality;
+        }
+
+        public void setTemporality(OpticConfig.MetricTemporality temporality) {
+            this.temporality = temporality;
+        }
+
+        public Integer getCardinalityLimit() {
+            return cardinalityLimit;
+        }
+
+        public void setCardinalityLimit(Integer cardinalityLimit) {
+            this.cardinalityLimit = cardinalityLimit;
+        }
+
+        public Map<String, Integer> getCardinalityLimits() {
+            return cardinalityLimits;
+        }
+
+        public void setCardinalityLimits(Map<String, Integer> cardinalityLimits) {
+            this.cardinalityLimits = cardinalityLimits;
+        }
+
+        public List<View> getViews() {
+            return views;
+        }
+
+        public void setViews(List<View> views) {
+            this.views = views;
+        }
+
+        public OpticConfig.HistogramAggregation getHistogramAggregation() {
+            return histogramAggregation;
+        }
+
+        public void setHistogramAggregation(OpticConfig.HistogramAggregation histogramAggregation) {
+            this.histogramAggregation = histogramAggregation;
+        }
+
+        public Integer getExponentialMaxBuckets() {
+            return exponentialMaxBuckets;
+        }
+
+        public void setExponentialMaxBuckets(Integer exponentialMaxBuckets) {
+            this.exponentialMaxBuckets = exponentialMaxBuckets;
+        }
+
+        public Integer getExponentialMaxScale() {
+            return exponentialMaxScale;
+        }
+
+        public void setExponentialMaxScale(Integer exponentialMaxScale) {
+            this.exponentialMaxScale = exponentialMaxScale;
+        }
+
+        public MicrometerRegistry getMicrometer() {
+            return micrometer;
+        }
+
+        public void setMicrometer(MicrometerRegistry micrometer) {
+            this.micrometer = micrometer;
+        }
+
+        public static class View {
+            private String instrument;
+            private String name;
+            private String description;
+            private List<String> attributesKeep;
+            private List<String> attributesDrop;
+            private OpticConfig.MetricAggregation aggregation;
+            private List<Double> bucketBoundaries;
+            private Integer cardinalityLimit;
+
+            public String getInstrument() {
+                return instrument;
+            }
+
+            public void setInstrument(String instrument) {
+                this.instrument = instrument;
+            }
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public String getDescription() {
+                return description;
+            }
+
+            public void setDescription(String description) {
+                this.description = description;
+            }
+
+            public List<String> getAttributesKeep() {
+                return attributesKeep;
+            }
+
+            public void setAttributesKeep(List<String> attributesKeep) {
+                this.attributesKeep = attributesKeep;
+            }
+
+            public List<String> getAttributesDrop() {
+                return attributesDrop;
+            }
+
+            public void setAttributesDrop(List<String> attributesDrop) {
+                this.attributesDrop = attributesDrop;
+            }
+
+            public OpticConfig.MetricAggregation getAggregation() {
+                return aggregation;
+            }
+
+            public void setAggregation(OpticConfig.MetricAggregation aggregation) {
+                this.aggregation = aggregation;
+            }
+
+            public List<Double> getBucketBoundaries() {
+                return bucketBoundaries;
+            }
+
+            public void setBucketBoundaries(List<Double> bucketBoundaries) {
+                this.bucketBoundaries = bucketBoundaries;
+            }
+
+            public Integer getCardinalityLimit() {
+                return cardinalityLimit;
+            }
+
+            public void setCardinalityLimit(Integer cardinalityLimit) {
+                this.cardinalityLimit = cardinalityLimit;
+            }
+        }
+    }
+
+    public static class Traces {
+        private final Batch batch = new Batch();
+        private OpticConfig.SpanProcessorType processor;
+        private Integer exportWorkers;
+        private Integer stripes;
+
+        public Batch getBatch() {
+            return batch;
+        }
+
+        public OpticConfig.SpanProcessorType getProcessor() {
+            return processor;
+        }
+
+        public void setProcessor(OpticConfig.SpanProcessorType processor) {
+            this.processor = processor;
+        }
+
+        public Integer getExportWorkers() {
+            return exportWorkers;
+        }
+
+        public void setExportWorkers(Integer exportWorkers) {
+            this.exportWorkers = exportWorkers;
+        }
+
+        public Integer getStripes() {
+            return stripes;
+        }
+
+        public void setStripes(Integer stripes) {
+            this.stripes = stripes;
+        }
+    }
+
+    public enum MicrometerRegistry {
+        // OpenTelemetryMeterRegistry recording into the OTel SDK meters.
+        BRIDGE,
+        // OpticMeterRegistry aggregating in Micrometer and exporting OTLP directly.
+        NATIVE
+    }
+
+    public enum DropPolicy {
+        DROP_NEWEST,
+        DROP_OLDEST
+    }
+
+    public static class Logs {
+        private final Batch batch = new Batch();
+        private int queueCapacity = 8192;
+        private DropPolicy dropPolicy = DropPolicy.DROP_NEWEST;
+        private Duration stackTraceDedupWindow = Duration.ZERO;
+        private int stackTraceCacheSize = 1024;
+        private Map<String, String> rateLimits = new LinkedHashMap<>();
+        private Duration rateLimitSummaryInterval = Duration.ofMinutes(1);
+        private Duration aggregationWindow = Duration.ZERO;
+        private int aggregationMaxKeys = 1024;
+        private boolean deferredFormatting;
+        private boolean structuredArguments;
+        private List<String> include = new ArrayList<>();
+        private List<String> exclude = new ArrayList<>();
+        private Map<String, String> minLevels = new LinkedHashMap<>();
+        private List<String> traceIdMdcKeys = new ArrayList<>(List.of("trace.id", "trace_id", "traceId", "otel.trace_id"));
+        private List<String> spanIdMdcKeys = new ArrayList<>(List.of("span.id", "span_id", "spanId", "otel.span_id"));
+        private final Metrics metrics = new Metrics();
+        private final FlightRecorder flightRecorder = new FlightRecorder();
+
+        public Batch getBatch() {
+            return batch;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public DropPolicy getDropPolicy() {
+            return dropPolicy;
+        }
+
+        public void setDropPolicy(DropPolicy dropPolicy) {
+            this.dropPolicy = dropPolicy;
+        }
+
+        public Duration getStackTraceDedupWindow() {
+            return stackTraceDedupWindow;
+        }
+
+        public void setStackTraceDedupWindow(Duration stackTraceDedupWindow) {
+            this.stackTraceDedupWindow = stackTraceDedupWindow;
+        }
+
+        public int getStackTraceCacheSize() {
+            return stackTraceCacheSize;
+        }
+
+        public void setStackTraceCacheSize(int stackTraceCacheSize) {
+            this.stackTraceCacheSize = stackTraceCacheSize;
+        }
+
+        public Map<String, String> getRateLimits() {
+            return rateLimits;
+        }
+
+        public void setRateLimits(Map<String, String> rateLimits) {
+            this.rateLimits = rateLimits;
+        }
+
+        public Duration getRateLimitSummaryInterval() {
+            return rateLimitSummaryInterval;
+        }
+
+        public void setRateLimitSummaryInterval(Duration rateLimitSummaryInterval) {
+            this.rateLimitSummaryInterval = rateLimitSummaryInterval;
+        }
+
+        public Duration getAggregationWindow() {
+            return aggregationWindow;
+        }
+
+        public void setAggregationWindow(Duration aggregationWindow) {
+            this.aggregationWindow = aggregationWindow;
+        }
+
+        public int getAggregationMaxKeys() {
+            return aggregationMaxKeys;
+        }
+
+        public void setAggregationMaxKeys(int aggregationMaxKeys) {
+            this.aggregationMaxKeys = aggregationMaxKeys;
+        }
+
+        public boolean isDeferredFormatting() {
+            return deferredFormatting;
+        }
+
+        public void setDeferredFormatting(boolean deferredFormatting) {
+            this.deferredFormatting = deferredFormatting;
+        }
+
+        public boolean isStructuredArguments() {
+            return structuredArguments;
+        }
+
+        public void setStructuredArguments(boolean structuredArguments) {
+            this.structuredArguments = structuredArguments;
+        }
+
+        public List<String> getInclude() {
+            return include;
+        }
+
+        public void setInclude(List<String> include) {
+            this.include = include;
+        }
+
+        public List<String> getExclude() {
+            return exclude;
+        }
+
+        public void setExclude(List<String> exclude) {
+            this.exclude = exclude;
+        }
+
+        public Map<String, String> getMinLevels() {
+            return minLevels;
+        }
+
+        public void setMinLevels(Map<String, String> minLevels) {
+            this.minLevels = minLevels;
+        }
+
+        public List<String> getTraceIdMdcKeys() {
+            return traceIdMdcKeys;
+        }
+
+        public void setTraceIdMdcKeys(List<String> traceIdMdcKeys) {
+            this.traceIdMdcKeys = traceIdMdcKeys;
+        }
+
+        public List<String> getSpanIdMdcKeys() {
+            return spanIdMdcKeys;
+        }
+
+        public void setSpanIdMdcKeys(List<String> spanIdMdcKeys) {
+            this.spanIdMdcKeys = spanIdMdcKeys;
+        }
+
+        public Metrics getMetrics() {
+            return metrics;
+        }
+
+        public FlightRecorder getFlightRecorder() {
+            return flightRecorder;
+        }
+
+        public static class Metrics {
+            private boolean enabled;
+            private String exportMinLevel = "WARN";
+            private int loggerPrefixDepth = 3;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getExportMinLevel() {
+                return exportMinLevel;
+            }
+
+            public void setExportMinLevel(String exportMinLevel) {
+                this.exportMinLevel = exportMinLevel;
+            }
+
+            public int getLoggerPrefixDepth() {
+                return loggerPrefixDepth;
+            }
+
+            public void setLoggerPrefixDepth(int loggerPrefixDepth) {
+                this.loggerPrefixDepth = loggerPrefixDepth;
+            }
+        }
+
+        public static class FlightRecorder {
+            private boolean enabled;
+            private int maxTraces = 1000;
+            private DataSize maxBytes = DataSize.ofMegabytes(8);
+            private int maxRecordsPerTrace = 256;
+            private Duration maxAge = Duration.ofMinutes(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxTraces() {
+                return maxTraces;
+            }
+
+            public void setMaxTraces(int maxTraces) {
+                this.maxTraces = maxTraces;
+            }
+
+            public DataSize getMaxBytes() {
+                return maxBytes;
+            }
+
+            public void setMaxBytes(DataSize maxBytes) {
+                this.maxBytes = maxBytes;
+            }
+
+            public int getMaxRecordsPerTrace() {
+                return maxRecordsPerTrace;
+            }
+
+            public void setMaxRecordsPerTrace(int maxRecordsPerTrace) {
+                this.maxRecordsPerTrace = maxRecordsPerTrace;
+            }
+
+            public Duration getMaxAge() {
+                return maxAge;
+            }
+
+            public void setMaxAge(Duration maxAge) {
+                this.maxAge = maxAge;
+            }
+        }
+    }
 }
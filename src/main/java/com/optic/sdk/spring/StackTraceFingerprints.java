@@ -0,0 +1,117 @@
+package com.optic.sdk.spring;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import java.time.Duration;
+
+// Confined to the bridge's export thread; not thread-safe.
+final class StackTraceFingerprints {
+    // Open addressing keyed on the primitive fingerprint, so lookups neither box nor allocate. Entries are
+    // never removed, only replaced: when a key's probe run is full, the slot seen longest ago gives way.
+    private static final int MAX_PROBES = 8;
+
+    private final long windowNanos;
+    private final long[] keys;
+    private final long[] lastSeenNanos;
+    private final Occurrence[] occurrences;
+    private final int mask;
+
+    StackTraceFingerprints(Duration window, int maxEntries) {
+        this.windowNanos = window.toNanos();
+        int capacity = Integer.highestOneBit(Math.max(MAX_PROBES, maxEntries));
+        this.keys = new long[capacity];
+        this.lastSeenNanos = new long[capacity];
+        this.occurrences = new Occurrence[capacity];
+        this.mask = capacity - 1;
+    }
+
+    Occurrence observe(IThrowableProxy proxy, long nowNanos) {
+        long fingerprint = fingerprint(proxy);
+        int home = (int) fingerprint & mask;
+        int victim = home;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (home + probe) & mask;
+            Occurrence occurrence = occurrences[slot];
+            if (occurrence == null) {
+                victim = slot;
+                break;
+            }
+            if (keys[slot] == fingerprint) {
+                lastSeenNanos[slot] = nowNanos;
+                if (nowNanos - occurrence.windowStartNanos >= windowNanos) {
+                    occurrence.windowStartNanos = nowNanos;
+                    occurrence.repeatCount = 0;
+                } else {
+                    occurrence.repeatCount++;
+                }
+                return occurrence;
+            }
+            if (lastSeenNanos[slot] - lastSeenNanos[victim] < 0) {
+                victim = slot;
+            }
+        }
+        Occurrence occurrence = new Occurrence(Long.toHexString(fingerprint), nowNanos);
+        keys[victim] = fingerprint;
+        lastSeenNanos[victim] = nowNanos;
+        occurrences[victim] = occurrence;
+        return occurrence;
+    }
+
+    static long fingerprint(IThrowableProxy proxy) {
+        long hash = 1125899906842597L;
+        for (IThrowableProxy current = proxy; current != null; current = current.getCause()) {
+            hash = mix(hash, hashOf(current.getClassName()));
+            StackTraceElementProxy[] steps = current.getStackTraceElementProxyArray();
+            if (steps == null) {
+                continue;
+            }
+            for (StackTraceElementProxy step : steps) {
+                StackTraceElement element = step.getStackTraceElement();
+                hash = mix(hash, hashOf(element.getClassName()));
+                hash = mix(hash, hashOf(element.getMethodName()));
+                hash = mix(hash, element.getLineNumber());
+            }
+        }
+        return finish(hash);
+    }
+
+    private static int hashOf(String value) {
+        return value == null ? 0 : value.hashCode();
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    static final class Occurrence {
+        private final String fingerprint;
+        private long windowStartNanos;
+        private long repeatCount;
+
+        private Occurrence(String fingerprint, long windowStartNanos) {
+            this.fingerprint = fingerprint;
+            this.windowStartNanos = windowStartNanos;
+        }
+
+        String fingerprint() {
+            return fingerprint;
+        }
+
+        long repeatCount() {
+            return repeatCount;
+        }
+
+        boolean isFirstInWindow() {
+            return repeatCount == 0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.optic.sdk.spring;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Confined to the bridge's export thread; not thread-safe.
+final class TraceLogBuffer<T> {
+    enum Outcome {
+        BUFFERED,
+        EMIT,
+        DROP
+    }
+
+    private final int maxTraces;
+    private final long maxBytes;
+    private final int maxRecordsPerTrace;
+    private final long maxAgeNanos;
+    private final LinkedHashMap<String, Trace<T>> traces = new LinkedHashMap<>();
+    private final LinkedHashMap<String, Boolean> resolved;
+    private long totalBytes;
+
+    TraceLogBuffer(int maxTraces, long maxBytes, int maxRecordsPerTrace, Duration maxAge) {
+        this.maxTraces = Math.max(1, maxTraces);
+        this.maxBytes = Math.max(1L, maxBytes);
+        this.maxRecordsPerTrace = Math.max(1, maxRecordsPerTrace);
+        this.maxAgeNanos = maxAge.toNanos();
+        int resolvedLimit = this.maxTraces;
+        // Remembers recent outcomes so records still queued when the root span ends are not stranded.
+        this.resolved = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > resolvedLimit;
+            }
+        };
+    }
+
+    Outcome add(String traceId, T item, long bytes, long nowNanos) {
+        Boolean error = resolved.get(traceId);
+        if (error != null) {
+            return error ? Outcome.EMIT : Outcome.DROP;
+        }
+        Trace<T> trace = traces.get(traceId);
+        if (trace == null) {
+            if (traces.size() >= maxTraces) {
+                evictEldest();
+            }
+            trace = new Trace<>(nowNanos);
+            traces.put(traceId, trace);
+        }
+        if (trace.records.size() >= maxRecordsPerTrace) {
+            trace.removeFirst(this);
+        }
+        trace.records.addLast(item);
+        trace.sizes.addLast(bytes);
+        trace.bytes += bytes;
+        totalBytes += bytes;
+        while (totalBytes > maxBytes && !traces.isEmpty()) {
+            if (traces.values().iterator().next() != trace) {
+                evictEldest();
+                continue;
+            }
+            // The trace being appended to is the oldest: trim it like a ring.
+            trace.removeFirst(this);
+            if (trace.records.isEmpty()) {
+                traces.remove(traceId);
+                return Outcome.DROP;
+            }
+        }
+        return Outcome.BUFFERED;
+    }
+
+    void complete(String traceId, boolean error, Consumer<T> sink) {
+        resolved.put(traceId, error);
+        Trace<T> trace = traces.remove(traceId);
+        if (trace == null) {
+            return;
+        }
+        totalBytes -= trace.bytes;
+        if (error) {
+            for (T record : trace.records) {
+                sink.accept(record);
+            }
+        }
+    }
+
+    void expire(long nowNanos) {
+        Iterator<Trace<T>> it = traces.values().iterator();
+        while (it.hasNext()) {
+            Trace<T> trace = it.next();
+            // Insertion order equals creation order, so the first young trace ends the scan.
+            if (nowNanos - trace.createdNanos < maxAgeNanos) {
+                return;
+            }
+            it.remove();
+            totalBytes -= trace.bytes;
+        }
+    }
+
+    void clear() {
+        traces.clear();
+        resolved.clear();
+        totalBytes = 0;
+    }
+
+    // Test hooks: what the buffer currently holds.
+    int bufferedTraces() {
+        return traces.size();
+    }
+
+    long bufferedBytes() {
+        return totalBytes;
+    }
+
+    int resolvedTraces() {
+        return resolved.size();
+    }
+
+    private void evictEldest() {
+        Iterator<Trace<T>> it = traces.values().iterator();
+        Trace<T> eldest = it.next();
+        it.remove();
+        totalBytes -= eldest.bytes;
+    }
+
+    private static final class Trace<T> {
+        private final long createdNanos;
+        private final ArrayDeque<T> records = new ArrayDeque<>();
+        private final ArrayDeque<Long> sizes = new ArrayDeque<>();
+        private long bytes;
+
+        private Trace(long createdNanos) {
+            this.createdNanos = createdNanos;
+        }
+
+        private void removeFirst(TraceLogBuffer<T> owner) {
+            records.pollFirst();
+            Long size = sizes.pollFirst();
+            if (size != null) {
+                bytes -= size;
+                owner.totalBytes -= size;
+            }
+        }
+    }
+}
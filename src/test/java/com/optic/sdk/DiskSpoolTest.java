@@ -0,0 +1,131 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskSpoolTest {
+    private static final int SEGMENT_BYTES = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysOldestFirstAcrossSegmentsAndDeletesDrainedOnes() throws IOException {
+        try (DiskSpool spool = DiskSpool.open(directory, SEGMENT_BYTES, 1024 * 1024)) {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(spool.append(OpticConfig.Compression.GZIP, payload(i)));
+            }
+            assertTrue(segmentFiles() > 1, "spread over several segments");
+
+            for (int i = 0; i < 10; i++) {
+                DiskSpool.Record record = spool.peek();
+                assertArrayEquals(payload(i), record.payload());
+                assertEquals(OpticConfig.Compression.GZIP, record.encoding());
+                spool.remove(record);
+            }
+            assertNull(spool.peek());
+            assertTrue(spool.isEmpty());
+            assertEquals(1, segmentFiles(), "drained segments are unmapped and deleted");
+        }
+    }
+
+    @Test
+    void recoversUnreadRecordsAfterReopening() throws IOException {
+        try (DiskSpool spool = DiskSpool.open(directory, SEGMENT_BYTES, 1024 * 1024)) {
+            for (int i = 0; i < 3; i++) {
+                spool.append(OpticConfig.Compression.NONE, payload(i));
+            }
+            spool.remove(spool.peek());
+        }
+        try (DiskSpool spool = DiskSpool.open(directory, SEGMENT_BYTES, 1024 * 1024)) {
+            assertArrayEquals(payload(1), spool.peek().payload());
+            spool.remove(spool.peek());
+            assertArrayEquals(payload(2), spool.peek().payload());
+        }
+    }
+
+    @Test
+    void storesEncodingsAsStableCodes() throws IOException {
+        try (DiskSpool spool = DiskSpool.open(directory, 1024, 1024 * 1024)) {
+            spool.append(OpticConfig.Compression.NONE, payload(0));
+            spool.append(OpticConfig.Compression.GZIP, payload(1));
+            spool.append(OpticConfig.Compression.ZSTD, payload(2));
+        }
+
+        byte[] segment = Files.readAllBytes(onlySegment());
+        assertEquals(0, segment[recordOffset(0) + 4]);
+        assertEquals(1, segment[recordOffset(1) + 4]);
+        assertEquals(2, segment[recordOffset(2) + 4]);
+    }
+
+    @Test
+    void skipsRecordsWithAnUnknownEncoding() throws IOException {
+        try (DiskSpool spool = DiskSpool.open(directory, 1024, 1024 * 1024)) {
+            spool.append(OpticConfig.Compression.GZIP, payload(0));
+            spool.append(OpticConfig.Compression.GZIP, payload(1));
+            spool.append(OpticConfig.Compression.NONE, payload(2));
+        }
+        Path file = onlySegment();
+        byte[] segment = Files.readAllBytes(file);
+        segment[recordOffset(0) + 4] = 7;
+        segment[recordOffset(1) + 4] = -1;
+        Files.write(file, segment);
+
+        try (DiskSpool spool = DiskSpool.open(directory, 1024, 1024 * 1024)) {
+            DiskSpool.Record record = spool.peek();
+            assertArrayEquals(payload(2), record.payload());
+            assertEquals(OpticConfig.Compression.NONE, record.encoding());
+            spool.remove(record);
+            assertNull(spool.peek());
+        }
+        try (DiskSpool spool = DiskSpool.open(directory, 1024, 1024 * 1024)) {
+            assertTrue(spool.isEmpty(), "skipped records are not replayed after a restart");
+        }
+    }
+
+    @Test
+    void refusesAppendsOnceClosed() throws IOException {
+        DiskSpool spool = DiskSpool.open(directory, SEGMENT_BYTES, 1024 * 1024);
+        spool.close();
+
+        assertFalse(spool.append(OpticConfig.Compression.NONE, payload(0)));
+        assertNull(spool.peek());
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).count();
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.filter(file -> file.toString().endsWith(".seg")).toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+
+    // Segment header, then records of [int length][byte encoding][64-byte payload].
+    private static int recordOffset(int index) {
+        return 8 + index * (5 + 64);
+    }
+
+    private static byte[] payload(int i) {
+        byte[] payload = new byte[64];
+        payload[0] = (byte) i;
+        payload[63] = (byte) (i * 7);
+        return payload;
+    }
+}
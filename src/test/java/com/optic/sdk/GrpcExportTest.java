@@ -0,0 +1,83 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.optic.sdk.testing.OtlpReceiver;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.logs.Logger;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.trace.Tracer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class GrpcExportTest {
+    @AfterEach
+    void resetGlobal() {
+        Optic.shutdownGlobal();
+        GlobalOpenTelemetry.resetForTest();
+    }
+
+    @Test
+    void exportsEverySignalToTheCollectorServices() throws Exception {
+        try (OtlpReceiver receiver = OtlpReceiver.start(new OtlpReceiver.Settings().setGrpc(true).setApiKey("test"))) {
+            Optic optic = Optic.init(config(receiver).setCompression(OpticConfig.Compression.GZIP));
+            Tracer tracer = optic.tracer("test");
+            for (int i = 0; i < 10; i++) {
+                tracer.spanBuilder("operation").startSpan().end();
+            }
+            LongCounter counter = optic.meter("test").counterBuilder("requests").build();
+            counter.add(3);
+            Logger logger = optic.logger("test");
+            for (int i = 0; i < 5; i++) {
+                logger.logRecordBuilder().setBody("message " + i).emit();
+            }
+            // Shutting down flushes every pipeline.
+            optic.shutdown();
+
+            OtlpReceiver.Snapshot snapshot = receiver.snapshot();
+            assertEquals(10, snapshot.get(OtlpReceiver.OtlpSignal.TRACES).items());
+            assertEquals(5, snapshot.get(OtlpReceiver.OtlpSignal.LOGS).items());
+            assertTrue(snapshot.get(OtlpReceiver.OtlpSignal.METRICS).items() > 0, "metric data points");
+            assertEquals(Set.of(200), snapshot.responses().keySet());
+        }
+    }
+
+    @Test
+    void sendsTheApiKeyAsBearerToken() throws Exception {
+        try (OtlpReceiver receiver = OtlpReceiver.start(new OtlpReceiver.Settings().setGrpc(true).setApiKey("other"))) {
+            Optic optic = Optic.init(config(receiver).setEnableMetrics(false).setEnableLogs(false));
+            optic.tracer("test").spanBuilder("operation").startSpan().end();
+            optic.shutdown();
+
+            assertEquals(Map.of(401, 1L), receiver.snapshot().responses());
+            assertEquals(0, receiver.snapshot().get(OtlpReceiver.OtlpSignal.TRACES).items());
+        }
+    }
+
+    @Test
+    void rejectsZstdOverGrpc() {
+        OpticConfig config = new OpticConfig().setApiKey("test").setServiceName("test")
+                .setProtocol(OpticConfig.Protocol.GRPC).setCompression(OpticConfig.Compression.ZSTD);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, config::validate);
+        assertTrue(error.getMessage().contains("zstd"), error.getMessage());
+    }
+
+    private static OpticConfig config(OtlpReceiver receiver) {
+        OpticConfig config = new OpticConfig()
+                .setApiKey("test")
+                .setServiceName("grpc-export-test")
+                .setEndpoint(receiver.endpoint())
+                .setProtocol(OpticConfig.Protocol.GRPC)
+                .setEnableSelfTelemetry(false)
+                .setExportInterval(Duration.ofMinutes(1));
+        config.getTraceBatch().setScheduleDelay(Duration.ofMillis(100));
+        config.getLogBatch().setScheduleDelay(Duration.ofMillis(100));
+        return config;
+    }
+}
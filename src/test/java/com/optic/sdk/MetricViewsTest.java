@@ -0,0 +1,185 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.optic.sdk.spring.OpticAutoConfiguration;
+import com.optic.sdk.spring.OpticProperties;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+// Binds optic.metrics.views the way Spring Boot does and reads the streams the resulting views produce.
+class MetricViewsTest {
+    private static final AttributeKey<String> ROUTE = AttributeKey.stringKey("http.route");
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("http.method");
+    private static final AttributeKey<String> USER = AttributeKey.stringKey("user.id");
+    private static final AttributeKey<Boolean> OVERFLOW = AttributeKey.booleanKey("otel.metric.overflow");
+
+    private final CollectingReader reader = new CollectingReader();
+
+    @AfterEach
+    void tearDown() {
+        Optic.shutdownGlobal();
+    }
+
+    @Test
+    void renamesFiltersAndBucketsAnExplicitHistogramView() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("optic.metrics.views[0].instrument", "http.server.duration");
+        properties.put("optic.metrics.views[0].name", "http.duration");
+        properties.put("optic.metrics.views[0].description", "Request latency");
+        properties.put("optic.metrics.views[0].attributes-keep", "http.route,http.method,user.id");
+        properties.put("optic.metrics.views[0].attributes-drop", "user.id");
+        properties.put("optic.metrics.views[0].aggregation", "explicit-bucket");
+        properties.put("optic.metrics.views[0].bucket-boundaries", "10,100");
+
+        try (SdkMeterProvider provider = meterProvider(properties)) {
+            Meter meter = provider.get("test");
+            DoubleHistogram histogram = meter.histogramBuilder("http.server.duration").build();
+            for (double value : new double[] {5, 50, 500}) {
+                histogram.record(value, Attributes.of(ROUTE, "/orders", METHOD, "GET", USER, "u-" + value));
+            }
+            meter.histogramBuilder("other.duration").build().record(1, Attributes.of(USER, "u-1"));
+
+            Map<String, MetricData> metrics = collect();
+            assertNull(metrics.get("http.server.duration"), "the stream is renamed");
+            MetricData duration = metrics.get("http.duration");
+            assertNotNull(duration);
+            assertEquals("Request latency", duration.getDescription());
+            assertEquals(MetricDataType.HISTOGRAM, duration.getType());
+            List<HistogramPointData> points = List.copyOf(duration.getHistogramData().getPoints());
+            assertEquals(1, points.size(), "user.id is dropped, so the three recordings share one series");
+            HistogramPointData point = points.get(0);
+            assertEquals(Attributes.of(ROUTE, "/orders", METHOD, "GET"), point.getAttributes());
+            assertEquals(List.of(10.0, 100.0), point.getBoundaries());
+            assertEquals(List.of(1L, 1L, 1L), point.getCounts());
+
+            // Instruments the view does not select are untouched.
+            MetricData other = metrics.get("other.duration");
+            assertEquals(Attributes.of(USER, "u-1"), other.getHistogramData().getPoints().iterator().next().getAttributes());
+        }
+    }
+
+    @Test
+    void appliesBase2ExponentialAggregationWithTheConfiguredScale() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("optic.metrics.exponential-max-buckets", "40");
+        properties.put("optic.metrics.exponential-max-scale", "5");
+        properties.put("optic.metrics.views[0].instrument", "queue.latency");
+        properties.put("optic.metrics.views[0].aggregation", "base2-exponential");
+
+        try (SdkMeterProvider provider = meterProvider(properties)) {
+            DoubleHistogram histogram = provider.get("test").histogramBuilder("queue.latency").build();
+            histogram.record(1.5);
+            histogram.record(3);
+
+            MetricData latency = collect().get("queue.latency");
+            assertEquals(MetricDataType.EXPONENTIAL_HISTOGRAM, latency.getType());
+            ExponentialHistogramPointData point = latency.getExponentialHistogramData().getPoints().iterator().next();
+            assertEquals(2, point.getCount());
+            assertEquals(5, point.getScale(), "two close values keep the configured maximum scale");
+        }
+    }
+
+    @Test
+    void capsEachViewAtItsOwnCardinalityLimit() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("optic.metrics.cardinality-limit", "5");
+        properties.put("optic.metrics.views[0].instrument", "http.requests");
+        properties.put("optic.metrics.views[0].attributes-keep", "http.route");
+        properties.put("optic.metrics.views[0].cardinality-limit", "3");
+        properties.put("optic.metrics.views[1].instrument", "jobs");
+        properties.put("optic.metrics.views[1].name", "jobs.completed");
+
+        try (SdkMeterProvider provider = meterProvider(properties)) {
+            Meter meter = provider.get("test");
+            LongCounter requests = meter.counterBuilder("http.requests").build();
+            LongCounter jobs = meter.counterBuilder("jobs").build();
+            for (int i = 0; i < 10; i++) {
+                requests.add(1, Attributes.of(ROUTE, "/route/" + i));
+                jobs.add(1, Attributes.of(ROUTE, "/route/" + i));
+            }
+
+            Map<String, MetricData> metrics = collect();
+            Set<Attributes> series = metrics.get("http.requests").getLongSumData().getPoints().stream()
+                    .map(LongPointData::getAttributes)
+                    .collect(Collectors.toSet());
+            // Two real series, then the overflow series takes everything else.
+            assertEquals(3, series.size());
+            assertTrue(series.contains(Attributes.of(OVERFLOW, true)), series.toString());
+            // A view without its own limit inherits the reader-wide one instead of the SDK default.
+            assertEquals(5, metrics.get("jobs.completed").getLongSumData().getPoints().size());
+        }
+    }
+
+    private SdkMeterProvider meterProvider(Map<String, String> properties) {
+        Map<String, String> all = new HashMap<>(properties);
+        all.put("optic.api-key", "test");
+        all.put("optic.service-name", "test");
+        all.put("optic.enable-traces", "false");
+        all.put("optic.enable-metrics", "false");
+        all.put("optic.enable-logs", "false");
+        OpticProperties bound = new Binder(new MapConfigurationPropertySource(all))
+                .bind("optic", OpticProperties.class)
+                .get();
+        // The auto-configuration translates and validates the properties; no signal is exported.
+        OpticConfig config = new OpticAutoConfiguration().opticSdk(bound, new StandardEnvironment()).getConfig();
+        return Optic.buildMeterProvider(config, Resource.empty(), reader);
+    }
+
+    private Map<String, MetricData> collect() {
+        return reader.registration.collectAllMetrics().stream()
+                .collect(Collectors.toMap(MetricData::getName, data -> data));
+    }
+
+    private static final class CollectingReader implements MetricReader {
+        private volatile CollectionRegistration registration;
+
+        @Override
+        public void register(CollectionRegistration registration) {
+            this.registration = registration;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
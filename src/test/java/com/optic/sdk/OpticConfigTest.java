@@ -0,0 +1,87 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class OpticConfigTest {
+    @Test
+    void detectsWildcardPatternsThatCanMatchTheSameInstrument() {
+        assertTrue(OpticConfig.Metrics.patternsOverlap("http.server.*", "http.*.requests"));
+        assertTrue(OpticConfig.Metrics.patternsOverlap("http.server.requests", "http.server.?equests"));
+        assertTrue(OpticConfig.Metrics.patternsOverlap("*", "db.client.operations"));
+        assertTrue(OpticConfig.Metrics.patternsOverlap("HTTP.server.*", "http.server.requests"));
+        assertFalse(OpticConfig.Metrics.patternsOverlap("http.server.*", "db.client.*"));
+        assertFalse(OpticConfig.Metrics.patternsOverlap("http.server.?", "http.server.requests"));
+        assertFalse(OpticConfig.Metrics.patternsOverlap("*.duration", "*.size"));
+    }
+
+    @Test
+    void rejectsCardinalityLimitsThatOverlapEachOtherOrAView() {
+        OpticConfig limits = new OpticConfig().setApiKey("test").setServiceName("test");
+        limits.getMetrics().setCardinalityLimit("http.*", 500).setCardinalityLimit("*.requests", 100);
+        assertThrows(IllegalArgumentException.class, limits::validate);
+
+        OpticConfig view = new OpticConfig().setApiKey("test").setServiceName("test");
+        view.getMetrics().setCardinalityLimit("http.server.requests", 500).addView("http.*");
+        assertThrows(IllegalArgumentException.class, view::validate);
+
+        // The view's own selector carries the limit, so there is only one stream.
+        OpticConfig own = new OpticConfig().setApiKey("test").setServiceName("test");
+        own.getMetrics().setCardinalityLimit("http.*", 500).setCardinalityLimit("db.*", 200).addView("http.*");
+        own.validate();
+    }
+
+    @Test
+    void rejectsOptionsTheGrpcExportersCannotHonour() {
+        OpticConfig zstd = new OpticConfig().setApiKey("test").setServiceName("test")
+                .setProtocol(OpticConfig.Protocol.GRPC).setCompression(OpticConfig.Compression.ZSTD);
+        assertThrows(IllegalArgumentException.class, zstd::validate);
+
+        OpticConfig spool = new OpticConfig().setApiKey("test").setServiceName("test")
+                .setProtocol(OpticConfig.Protocol.GRPC);
+        spool.getSpool().setEnabled(true);
+        assertThrows(IllegalArgumentException.class, spool::validate);
+    }
+
+    @Test
+    void rejectsExportBatchesLargerThanTheQueue() {
+        OpticConfig traces = new OpticConfig().setApiKey("test").setServiceName("test");
+        traces.getTraceBatch().setMaxQueueSize(512).setMaxExportBatchSize(1024);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, traces::validate);
+        assertTrue(error.getMessage().startsWith("traces batch maxExportBatchSize"), error.getMessage());
+
+        OpticConfig logs = new OpticConfig().setApiKey("test").setServiceName("test");
+        logs.getLogBatch().setMaxQueueSize(100).setMaxExportBatchSize(101);
+        error = assertThrows(IllegalArgumentException.class, logs::validate);
+        assertTrue(error.getMessage().startsWith("logs batch maxExportBatchSize"), error.getMessage());
+
+        OpticConfig equal = new OpticConfig().setApiKey("test").setServiceName("test");
+        equal.getTraceBatch().setMaxQueueSize(512).setMaxExportBatchSize(512);
+        equal.validate();
+    }
+
+    @Test
+    void rejectsNonPositiveBatchSizesAndDelays() {
+        for (Duration delay : new Duration[] {Duration.ZERO, Duration.ofMillis(-1), null}) {
+            OpticConfig schedule = new OpticConfig().setApiKey("test").setServiceName("test");
+            schedule.getTraceBatch().setScheduleDelay(delay);
+            assertThrows(IllegalArgumentException.class, schedule::validate, "scheduleDelay " + delay);
+
+            OpticConfig timeout = new OpticConfig().setApiKey("test").setServiceName("test");
+            timeout.getLogBatch().setExportTimeout(delay);
+            assertThrows(IllegalArgumentException.class, timeout::validate, "exportTimeout " + delay);
+        }
+
+        OpticConfig queue = new OpticConfig().setApiKey("test").setServiceName("test");
+        queue.getLogBatch().setMaxQueueSize(0);
+        assertThrows(IllegalArgumentException.class, queue::validate);
+
+        OpticConfig batch = new OpticConfig().setApiKey("test").setServiceName("test");
+        batch.getTraceBatch().setMaxExportBatchSize(-1);
+        assertThrows(IllegalArgumentException.class, batch::validate);
+    }
+}
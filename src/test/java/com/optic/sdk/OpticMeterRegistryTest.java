@@ -0,0 +1,199 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.exporter.internal.otlp.metrics.MetricsRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OpticMeterRegistryTest {
+    private static final Duration STEP = Duration.ofMinutes(1);
+
+    private final MockClock clock = new MockClock();
+    private final CapturingExporter exporter = new CapturingExporter();
+    private OpticConfig config;
+    private OpticMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        config = new OpticConfig().setApiKey("test").setServiceName("test").setExportInterval(STEP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.close();
+        }
+    }
+
+    @Test
+    void exportsPerBucketCountsOfTheStepThatEnded() {
+        start();
+        Timer timer = Timer.builder("checkout")
+                .serviceLevelObjectives(Duration.ofMillis(10), Duration.ofMillis(100))
+                .register(registry);
+        timer.record(5, TimeUnit.MILLISECONDS);
+        timer.record(50, TimeUnit.MILLISECONDS);
+        timer.record(60, TimeUnit.MILLISECONDS);
+        timer.record(500, TimeUnit.MILLISECONDS);
+
+        HistogramPointData point = (HistogramPointData) single(publish(), "checkout");
+        assertEquals(List.of(10.0, 100.0), point.getBoundaries());
+        assertEquals(List.of(1L, 2L, 1L), point.getCounts());
+        assertEquals(4, point.getCount());
+        assertEquals(615, point.getSum(), 1e-9);
+        assertEquals(500, point.getMax(), 1e-9);
+    }
+
+    @Test
+    void exportsCountersAsDeltasOverConsecutiveSteps() {
+        start();
+        Counter counter = registry.counter("orders");
+
+        counter.increment(3);
+        DoublePointData first = (DoublePointData) single(publish(), "orders");
+        counter.increment(2);
+        DoublePointData second = (DoublePointData) single(publish(), "orders");
+
+        assertEquals(3, first.getValue(), 1e-9);
+        assertEquals(2, second.getValue(), 1e-9);
+        assertEquals(first.getEpochNanos(), second.getStartEpochNanos());
+        assertEquals(STEP.toNanos(), second.getEpochNanos() - second.getStartEpochNanos());
+        MetricData orders = metric(exporter.last(), "orders");
+        assertEquals(AggregationTemporality.DELTA, orders.getDoubleSumData().getAggregationTemporality());
+    }
+
+    @Test
+    void foldsTagSetsPastTheLimitCountingRegisteredIds() {
+        config.getMetrics().setCardinalityLimit("requests", 3);
+        start();
+        // Added after construction, as Spring Boot does: the limit must count the ids these produce.
+        registry.config().commonTags("app", "shop");
+        registry.config().meterFilter(MeterFilter.deny(id -> "true".equals(id.getTag("ignored"))));
+
+        registry.counter("requests", "ignored", "true").increment();
+        Counter a = registry.counter("requests", "route", "a");
+        a.increment();
+        registry.counter("requests", "route", "b").increment();
+        registry.counter("requests", "route", "c").increment();
+        registry.counter("requests", "route", "d").increment();
+        // Removing a meter frees its slot for the next new tag set.
+        registry.remove(a);
+        registry.counter("requests", "route", "e").increment();
+
+        Map<String, Double> byRoute = new TreeMap<>();
+        double overflow = 0;
+        for (DoublePointData point : metric(publish(), "requests").getDoubleSumData().getPoints()) {
+            assertEquals("shop", point.getAttributes().get(AttributeKey.stringKey("app")));
+            if (Boolean.TRUE.equals(point.getAttributes().get(AttributeKey.booleanKey("otel.metric.overflow")))) {
+                overflow += point.getValue();
+            } else {
+                byRoute.put(point.getAttributes().get(AttributeKey.stringKey("route")), point.getValue());
+            }
+        }
+        assertEquals(Map.of("b", 1.0, "e", 1.0), byRoute);
+        assertEquals(2, overflow, 1e-9);
+    }
+
+    @Test
+    void publishesDataTheOtlpMarshalerEncodes() throws Exception {
+        start();
+        registry.counter("orders").increment();
+        Timer.builder("checkout").publishPercentileHistogram().register(registry).record(5, TimeUnit.MILLISECONDS);
+        registry.gauge("queue", 7);
+        LongTaskTimer.builder("jobs").register(registry).start();
+
+        List<MetricData> metrics = publish();
+        MetricsRequestMarshaler request = MetricsRequestMarshaler.create(metrics);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        request.writeBinaryTo(out);
+
+        assertTrue(out.size() > 0, "request encoded");
+        assertEquals(request.getBinarySerializedSize(), out.size());
+        assertEquals(1, ((HistogramPointData) single(metrics, "checkout")).getCount());
+        assertEquals(1, ((DoublePointData) single(metrics, "jobs.active")).getValue(), 1e-9);
+    }
+
+    private void start() {
+        registry = new OpticMeterRegistry(config, exporter, Resource.empty(), clock);
+    }
+
+    private List<MetricData> publish() {
+        clock.add(STEP);
+        registry.publish();
+        return exporter.last();
+    }
+
+    private static MetricData metric(Collection<MetricData> metrics, String name) {
+        for (MetricData metric : metrics) {
+            if (metric.getName().equals(name)) {
+                return metric;
+            }
+        }
+        throw new AssertionError("no metric " + name + " in " + metrics);
+    }
+
+    private static Object single(Collection<MetricData> metrics, String name) {
+        Collection<?> points = metric(metrics, name).getData().getPoints();
+        assertEquals(1, points.size());
+        Object point = points.iterator().next();
+        assertNotNull(point);
+        return point;
+    }
+
+    private static final class CapturingExporter implements MetricExporter {
+        private final List<List<MetricData>> exports = new ArrayList<>();
+
+        synchronized List<MetricData> last() {
+            assertFalse(exports.isEmpty(), "nothing was exported");
+            return exports.get(exports.size() - 1);
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.DELTA;
+        }
+
+        @Override
+        public synchronized CompletableResultCode export(Collection<MetricData> metrics) {
+            exports.add(new ArrayList<>(metrics));
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
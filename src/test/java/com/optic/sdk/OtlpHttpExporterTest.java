@@ -0,0 +1,82 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import com.optic.sdk.testing.OtlpReceiver;
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OtlpHttpExporterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void spoolsRetriesThatTheFinalTransportReleaseCutsShort() throws Exception {
+        OpticConfig config = new OpticConfig().setApiKey("test");
+        // The first retry is far enough out to still be pending when the exporter shuts down.
+        config.getRetry().setInitialBackoff(Duration.ofSeconds(10)).setMaxBackoff(Duration.ofSeconds(10));
+        config.getCircuitBreaker().setEnabled(false);
+        config.getSpool().setEnabled(true).setDirectory(directory.toString());
+
+        try (OtlpReceiver receiver = OtlpReceiver.start(new OtlpReceiver.Settings().setErrorRate(1.0))) {
+            OtlpHttpTransport transport = new OtlpHttpTransport("Bearer test", config, new PipelineTelemetry());
+            OtlpHttpExporter<SpanData> exporter = new OtlpHttpExporter<>(transport,
+                    receiver.endpoint() + "/otlp/v1/traces", "spans", TraceRequestMarshaler::create,
+                    Duration.ofSeconds(30), config.getSpool());
+
+            // Not an empty request: a zero-length record reads back as the end of its segment.
+            CompletableResultCode export = exporter.export(List.of(span()));
+            awaitFirstResponse(receiver);
+            CompletableResultCode shutdown = exporter.shutdown();
+
+            assertTrue(export.join(5, TimeUnit.SECONDS).isSuccess(), "payload was spooled");
+            assertTrue(shutdown.join(5, TimeUnit.SECONDS).isSuccess(), "shutdown completes once the export settled");
+        }
+        try (DiskSpool spool = DiskSpool.open(directory.resolve("spans"),
+                (int) config.getSpool().getSegmentBytes(), config.getSpool().getMaxBytes())) {
+            assertNotNull(spool.peek(), "spooled request survives the shutdown");
+        }
+    }
+
+    @Test
+    void closesTheSpoolRightAwayWithNothingInFlight() throws Exception {
+        OpticConfig config = new OpticConfig().setApiKey("test");
+        config.getSpool().setEnabled(true).setDirectory(directory.toString());
+        OtlpHttpTransport transport = new OtlpHttpTransport("Bearer test", config, new PipelineTelemetry());
+        OtlpHttpExporter<String> exporter = new OtlpHttpExporter<>(transport, "http://127.0.0.1:9/otlp/v1/traces",
+                "spans", items -> TraceRequestMarshaler.create(List.of()), Duration.ofSeconds(30), config.getSpool());
+
+        assertTrue(exporter.shutdown().isSuccess());
+        // The directory lock is released, so the spool can be opened again.
+        try (DiskSpool spool = DiskSpool.open(directory.resolve("spans"),
+                (int) config.getSpool().getSegmentBytes(), config.getSpool().getMaxBytes())) {
+            assertNull(spool.peek());
+        }
+    }
+
+    private static SpanData span() {
+        try (SdkTracerProvider provider = SdkTracerProvider.builder().build()) {
+            ReadableSpan span = (ReadableSpan) provider.get("test").spanBuilder("operation").startSpan();
+            return span.toSpanData();
+        }
+    }
+
+    private static void awaitFirstResponse(OtlpReceiver receiver) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (receiver.snapshot().responses().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import com.optic.sdk.testing.OtlpReceiver;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OtlpHttpTransportTest {
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // An empty export request is valid OTLP and carries no items.
+    private static final byte[] EMPTY_REQUEST = new byte[0];
+
+    private OpticConfig config;
+    private OtlpReceiver receiver;
+    private OtlpHttpTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        config = new OpticConfig().setApiKey("test");
+        config.getRetry()
+                .setInitialBackoff(Duration.ofMillis(50))
+                .setMaxBackoff(Duration.ofSeconds(2))
+                .setJitter(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (transport != null) {
+            transport.shutdown();
+        }
+        if (receiver != null) {
+            receiver.close();
+        }
+    }
+
+    @Test
+    void retriesServerErrorsUntilAccepted() throws Exception {
+        start(new OtlpReceiver.Settings().setFailFirst(2).setErrorStatus(503));
+
+        assertEquals(OtlpHttpTransport.Outcome.SUCCESS, post(TIMEOUT_NANOS));
+        assertEquals(Map.of(503, 2L, 200, 1L), receiver.snapshot().responses());
+    }
+
+    @Test
+    void waitsOutRetryAfterWithinMaxBackoff() throws Exception {
+        start(new OtlpReceiver.Settings().setFailFirst(1).setErrorStatus(429).setErrorRetryAfter("1"));
+
+        long started = System.nanoTime();
+        assertEquals(OtlpHttpTransport.Outcome.SUCCESS, post(TIMEOUT_NANOS));
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(950), "waited for Retry-After");
+        assertEquals(Map.of(429, 1L, 200, 1L), receiver.snapshot().responses());
+    }
+
+    @Test
+    void givesUpOnRetryAfterBeyondMaxBackoffWithBreakerDisabled() throws Exception {
+        config.getCircuitBreaker().setEnabled(false);
+        start(new OtlpReceiver.Settings().setFailFirst(1).setErrorStatus(429).setErrorRetryAfter("60"));
+
+        long started = System.nanoTime();
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TIMEOUT_NANOS));
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(2), "did not sleep for Retry-After");
+        assertEquals(Map.of(429, 1L), receiver.snapshot().responses());
+    }
+
+    @Test
+    void opensTheBreakerForRetryAfterBeyondMaxBackoff() throws Exception {
+        start(new OtlpReceiver.Settings().setFailFirst(1).setErrorStatus(503).setErrorRetryAfter("60"));
+
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TIMEOUT_NANOS));
+        // The circuit stays open for the requested pause, so the next export does not reach the server.
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TIMEOUT_NANOS));
+        assertEquals(Map.of(503, 1L), receiver.snapshot().responses());
+    }
+
+    @Test
+    void boundsRetriesByTheExportTimeout() throws Exception {
+        config.getRetry().setMaxAttempts(50);
+        config.getCircuitBreaker().setEnabled(false);
+        start(new OtlpReceiver.Settings().setErrorRate(1.0).setErrorStatus(503).setLatency(Duration.ofMillis(100)));
+
+        long started = System.nanoTime();
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TimeUnit.SECONDS.toNanos(1)));
+        long elapsed = System.nanoTime() - started;
+        assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(1500), "gave up near the timeout, took " + elapsed / 1_000_000 + " ms");
+        assertTrue(receiver.snapshot().responses().get(503) < 50, "stopped before maxAttempts");
+    }
+
+    @Test
+    void cutsASlowResponseOffAtTheExportTimeout() throws Exception {
+        config.getHttp().setCallTimeout(Duration.ofSeconds(10));
+        start(new OtlpReceiver.Settings().setLatency(Duration.ofSeconds(5)));
+
+        long started = System.nanoTime();
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TimeUnit.MILLISECONDS.toNanos(500)));
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(2), "call timed out with the export");
+    }
+
+    @Test
+    void neverRetriesRejectedRequests() throws Exception {
+        start(new OtlpReceiver.Settings().setErrorRate(1.0).setErrorStatus(400));
+
+        assertEquals(OtlpHttpTransport.Outcome.REJECTED, post(TIMEOUT_NANOS));
+        assertEquals(Map.of(400, 1L), receiver.snapshot().responses());
+    }
+
+    @Test
+    void opensTheBreakerAfterConsecutiveFailedExports() throws Exception {
+        config.getRetry().setMaxAttempts(2);
+        config.getCircuitBreaker().setFailureThreshold(2).setOpenDuration(Duration.ofMinutes(1));
+        start(new OtlpReceiver.Settings().setErrorRate(1.0).setErrorStatus(503));
+
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TIMEOUT_NANOS));
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TIMEOUT_NANOS));
+        // Each export used both of its attempts before it counted as one failure.
+        assertEquals(Map.of(503, 4L), receiver.snapshot().responses());
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TIMEOUT_NANOS));
+        assertEquals(Map.of(503, 4L), receiver.snapshot().responses());
+    }
+
+    @Test
+    void keepsTheBreakerClosedAfterOneExportExhaustsItsRetries() throws Exception {
+        start(new OtlpReceiver.Settings().setErrorRate(1.0).setErrorStatus(503));
+
+        // The default threshold equals the default attempt count; attempts alone must not open the circuit.
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TIMEOUT_NANOS));
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post(TIMEOUT_NANOS));
+        assertEquals(Map.of(503, 2L * config.getRetry().getMaxAttempts()), receiver.snapshot().responses());
+    }
+
+    @Test
+    void keepsEachSignalsBreakerSeparate() throws Exception {
+        config.getRetry().setMaxAttempts(1);
+        config.getCircuitBreaker().setFailureThreshold(1).setOpenDuration(Duration.ofMinutes(1));
+        start(new OtlpReceiver.Settings().setErrorRate(1.0).setErrorStatus(503));
+
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post("spans", "traces", TIMEOUT_NANOS));
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post("spans", "traces", TIMEOUT_NANOS));
+        assertEquals(Map.of(503, 1L), receiver.snapshot().responses());
+
+        // The open spans circuit does not hold logs back.
+        assertEquals(OtlpHttpTransport.Outcome.RETRYABLE, post("logs", "logs", TIMEOUT_NANOS));
+        assertEquals(Map.of(503, 2L), receiver.snapshot().responses());
+    }
+
+    private void start(OtlpReceiver.Settings settings) throws Exception {
+        receiver = OtlpReceiver.start(settings.setApiKey("test"));
+        transport = new OtlpHttpTransport("Bearer test", config, new PipelineTelemetry());
+    }
+
+    private OtlpHttpTransport.Outcome post(long timeoutNanos) throws Exception {
+        return post("spans", "traces", timeoutNanos);
+    }
+
+    private OtlpHttpTransport.Outcome post(String signal, String path, long timeoutNanos) throws Exception {
+        return transport.post(receiver.endpoint() + "/otlp/v1/" + path, transport.telemetry().signal(signal),
+                        EMPTY_REQUEST, OpticConfig.Compression.NONE, timeoutNanos)
+                .get(60, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,12 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class OtlpMarshalersTest {
+    @Test
+    void acceptsTheOpenTelemetryVersionTheSdkIsBuiltAgainst() {
+        assertTrue(OtlpMarshalers.isCompatible());
+    }
+}
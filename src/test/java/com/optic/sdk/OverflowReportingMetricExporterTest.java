@@ -0,0 +1,164 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.SdkMeterProviderBuilder;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import io.opentelemetry.sdk.metrics.internal.SdkMeterProviderUtil;
+import java.util.Collection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class OverflowReportingMetricExporterTest {
+    private static final AttributeKey<String> KEY = AttributeKey.stringKey("key");
+
+    private SdkMeterProvider application;
+    private SdkMeterProvider self;
+
+    @AfterEach
+    void tearDown() {
+        application.close();
+        self.close();
+    }
+
+    @Test
+    void reportsTheIncreaseOfACumulativeOverflowSum() {
+        CollectingReader reader = start(AggregationTemporality.CUMULATIVE);
+        CollectingReader selfReader = new CollectingReader(AggregationTemporality.CUMULATIVE);
+        OverflowReportingMetricExporter exporter = exporter(selfReader);
+        LongCounter counter = application.get("test").counterBuilder("requests").build();
+
+        // A limit of 2 keeps one attribute set; the other two are folded into the overflow series.
+        counter.add(1, Attributes.of(KEY, "a"));
+        counter.add(3, Attributes.of(KEY, "b"));
+        counter.add(4, Attributes.of(KEY, "c"));
+        exporter.export(reader.collect());
+        assertEquals(7, overflow(selfReader, "requests"));
+
+        // The cumulative overflow point is exported again unchanged, which adds nothing.
+        exporter.export(reader.collect());
+        assertEquals(7, overflow(selfReader, "requests"));
+
+        counter.add(2, Attributes.of(KEY, "c"));
+        counter.add(5, Attributes.of(KEY, "a"));
+        exporter.export(reader.collect());
+        assertEquals(9, overflow(selfReader, "requests"));
+    }
+
+    @Test
+    void reportsTheMeasurementsOfADeltaOverflowHistogram() {
+        CollectingReader reader = start(AggregationTemporality.DELTA);
+        CollectingReader selfReader = new CollectingReader(AggregationTemporality.CUMULATIVE);
+        OverflowReportingMetricExporter exporter = exporter(selfReader);
+        DoubleHistogram histogram = application.get("test").histogramBuilder("latency").build();
+
+        histogram.record(10, Attributes.of(KEY, "a"));
+        histogram.record(250, Attributes.of(KEY, "b"));
+        histogram.record(4000, Attributes.of(KEY, "c"));
+        histogram.record(12, Attributes.of(KEY, "c"));
+        exporter.export(reader.collect());
+        assertEquals(3, overflow(selfReader, "latency"));
+
+        // Delta series start over each interval, so the next overflow needs the one slot taken again.
+        histogram.record(15, Attributes.of(KEY, "b"));
+        histogram.record(80, Attributes.of(KEY, "d"));
+        exporter.export(reader.collect());
+        assertEquals(4, overflow(selfReader, "latency"));
+    }
+
+    private CollectingReader start(AggregationTemporality temporality) {
+        CollectingReader reader = new CollectingReader(temporality);
+        SdkMeterProviderBuilder builder = SdkMeterProvider.builder();
+        SdkMeterProviderUtil.registerMetricReaderWithCardinalitySelector(builder, reader, instrumentType -> 2);
+        application = builder.build();
+        return reader;
+    }
+
+    private OverflowReportingMetricExporter exporter(CollectingReader selfReader) {
+        self = SdkMeterProvider.builder().registerMetricReader(selfReader).build();
+        return new OverflowReportingMetricExporter(new DiscardingExporter(),
+                new PipelineTelemetry(self.get(PipelineTelemetry.SCOPE)));
+    }
+
+    private static double overflow(CollectingReader selfReader, String metric) {
+        double total = 0;
+        for (MetricData data : selfReader.collect()) {
+            if (data.getName().equals("optic.sdk.metric.overflow")) {
+                for (DoublePointData point : data.getDoubleSumData().getPoints()) {
+                    if (metric.equals(point.getAttributes().get(AttributeKey.stringKey("metric")))) {
+                        total += point.getValue();
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static final class CollectingReader implements MetricReader {
+        private final AggregationTemporality temporality;
+        private volatile CollectionRegistration registration;
+
+        private CollectingReader(AggregationTemporality temporality) {
+            this.temporality = temporality;
+        }
+
+        Collection<MetricData> collect() {
+            return registration.collectAllMetrics();
+        }
+
+        @Override
+        public void register(CollectionRegistration registration) {
+            this.registration = registration;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return temporality;
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+
+    private static final class DiscardingExporter implements MetricExporter {
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<MetricData> metrics) {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+
+class RootSpanNotifierTest {
+    @Test
+    void reportsARootFailedOnlyThroughItsStatus() {
+        List<Boolean> errors = new CopyOnWriteArrayList<>();
+        RootSpanNotifier notifier = new RootSpanNotifier();
+        notifier.addListener((traceId, error) -> errors.add(error));
+        try (SdkTracerProvider provider = SdkTracerProvider.builder().addSpanProcessor(notifier).build()) {
+            Tracer tracer = provider.get("test");
+            Span failed = tracer.spanBuilder("failed").startSpan();
+            failed.setStatus(StatusCode.ERROR);
+            failed.end();
+            tracer.spanBuilder("ok").startSpan().end();
+        }
+
+        assertEquals(List.of(true, false), errors);
+    }
+
+    @Test
+    void ignoresErrorAttributesAndHttpStatusesWithoutAnErrorStatus() {
+        List<Boolean> errors = new CopyOnWriteArrayList<>();
+        RootSpanNotifier notifier = new RootSpanNotifier();
+        notifier.addListener((traceId, error) -> errors.add(error));
+        try (SdkTracerProvider provider = SdkTracerProvider.builder().addSpanProcessor(notifier).build()) {
+            Tracer tracer = provider.get("test");
+            tracer.spanBuilder("error.type").setAttribute("error.type", "timeout").startSpan().end();
+            tracer.spanBuilder("server 404").setSpanKind(SpanKind.SERVER)
+                    .setAttribute("http.response.status_code", 404L).startSpan().end();
+            tracer.spanBuilder("server 503").setSpanKind(SpanKind.SERVER)
+                    .setAttribute("http.response.status_code", 503L).startSpan().end();
+            tracer.spanBuilder("client 404").setSpanKind(SpanKind.CLIENT)
+                    .setAttribute("http.status_code", 404L).startSpan().end();
+        }
+
+        // Only the status counts; instrumentation that considers these failures sets it.
+        assertEquals(List.of(false, false, false, false), errors);
+    }
+
+    @Test
+    void ignoresFailedChildSpans() {
+        List<Boolean> errors = new CopyOnWriteArrayList<>();
+        RootSpanNotifier notifier = new RootSpanNotifier();
+        notifier.addListener((traceId, error) -> errors.add(error));
+        try (SdkTracerProvider provider = SdkTracerProvider.builder().addSpanProcessor(notifier).build()) {
+            Tracer tracer = provider.get("test");
+            Span root = tracer.spanBuilder("root").startSpan();
+            Span child = tracer.spanBuilder("child").setParent(Context.current().with(root)).startSpan();
+            child.setStatus(StatusCode.ERROR);
+            child.end();
+            root.end();
+        }
+
+        assertEquals(List.of(false), errors);
+    }
+}
@@ -0,0 +1,234 @@
+package com.optic.sdk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.optic.sdk.internal.PipelineTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class StripedSpanProcessorTest {
+    @Test
+    void exportsFullBatchesSpreadAcrossStripesWithoutWaitingForTheSchedule() throws Exception {
+        OpticConfig config = new OpticConfig().setApiKey("test").setServiceName("test")
+                .setSpanProcessor(OpticConfig.SpanProcessorType.STRIPED)
+                .setTraceStripes(4).setTraceExportWorkers(2);
+        config.getTraceBatch().setScheduleDelay(Duration.ofMinutes(1));
+        config.validate();
+        CapturingExporter exporter = new CapturingExporter();
+        StripedSpanProcessor processor = new StripedSpanProcessor(exporter, config.getTraceStripes(),
+                config.getTraceExportWorkers(), config.getTraceBatch(), new PipelineTelemetry());
+        try (SdkTracerProvider provider = SdkTracerProvider.builder().addSpanProcessor(processor).build()) {
+            Tracer tracer = provider.get("test");
+            // Many producer threads, so no single stripe ever holds a whole batch on its own.
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        tracer.spanBuilder("operation").startSpan().end();
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (exporter.batches.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(!exporter.batches.isEmpty(), "a full batch was exported before the schedule delay");
+            assertEquals(config.getTraceBatch().getMaxExportBatchSize(), exporter.batches.get(0));
+        }
+    }
+
+    @Test
+    void shutdownExportsWhatEveryStripeHolds() throws Exception {
+        OpticConfig config = new OpticConfig().setApiKey("test").setServiceName("test")
+                .setSpanProcessor(OpticConfig.SpanProcessorType.STRIPED)
+                .setTraceStripes(4).setTraceExportWorkers(2);
+        config.getTraceBatch().setScheduleDelay(Duration.ofMinutes(1));
+        config.validate();
+        CapturingExporter exporter = new CapturingExporter();
+        StripedSpanProcessor processor = new StripedSpanProcessor(exporter, config.getTraceStripes(),
+                config.getTraceExportWorkers(), config.getTraceBatch(), new PipelineTelemetry());
+        try (SdkTracerProvider provider = SdkTracerProvider.builder().addSpanProcessor(processor).build()) {
+            Tracer tracer = provider.get("test");
+            // Far less than a batch, spread over the stripes by many threads, so every worker is still parked.
+            endSpansOnThreads(tracer, 16, 10);
+            assertEquals(0, exporter.spans());
+
+            assertTrue(processor.shutdown().join(5, TimeUnit.SECONDS).isSuccess());
+            assertEquals(160, exporter.spans());
+        }
+    }
+
+    @Test
+    void accountsForEverySpanEndedWhileShuttingDown() throws Exception {
+        OpticConfig config = new OpticConfig().setApiKey("test").setServiceName("test")
+                .setSpanProcessor(OpticConfig.SpanProcessorType.STRIPED)
+                .setTraceStripes(4).setTraceExportWorkers(2);
+        config.validate();
+        CollectingReader reader = new CollectingReader();
+        CapturingExporter exporter = new CapturingExporter();
+        try (SdkMeterProvider meterProvider = SdkMeterProvider.builder().registerMetricReader(reader).build()) {
+            StripedSpanProcessor processor = new StripedSpanProcessor(exporter, config.getTraceStripes(),
+                    config.getTraceExportWorkers(), config.getTraceBatch(),
+                    new PipelineTelemetry(meterProvider.get(PipelineTelemetry.SCOPE)));
+            try (SdkTracerProvider provider = SdkTracerProvider.builder().addSpanProcessor(processor).build()) {
+                Tracer tracer = provider.get("test");
+                AtomicBoolean stop = new AtomicBoolean();
+                AtomicLong ended = new AtomicLong();
+                List<Thread> threads = new ArrayList<>();
+                for (int t = 0; t < 8; t++) {
+                    Thread thread = new Thread(() -> {
+                        while (!stop.get()) {
+                            tracer.spanBuilder("operation").startSpan().end();
+                            ended.incrementAndGet();
+                        }
+                    });
+                    threads.add(thread);
+                    thread.start();
+                }
+                Thread.sleep(100);
+                // Producers keep ending spans through and after the shutdown.
+                assertTrue(processor.shutdown().join(10, TimeUnit.SECONDS).isSuccess());
+                Thread.sleep(20);
+                stop.set(true);
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+
+                long dropped = dropped(reader, "shutdown") + dropped(reader, "queue_full");
+                assertTrue(dropped(reader, "shutdown") > 0, "spans ended after shutdown are counted");
+                assertEquals(ended.get(), exporter.spans() + dropped);
+            }
+        }
+    }
+
+    @Test
+    void rejectsStripesThatCannotHoldAFullBatch() {
+        OpticConfig config = new OpticConfig().setApiKey("test").setServiceName("test")
+                .setSpanProcessor(OpticConfig.SpanProcessorType.STRIPED)
+                .setTraceStripes(8);
+        config.getTraceBatch().setMaxQueueSize(2048).setMaxExportBatchSize(512);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, config::validate);
+        assertTrue(error.getMessage().contains("split across 8 stripes"), error.getMessage());
+    }
+
+    @Test
+    void sizesDefaultStripesToHoldAFullBatchEach() {
+        OpticConfig.Batch batch = new OpticConfig().getTraceBatch().setMaxQueueSize(2048).setMaxExportBatchSize(512);
+
+        int stripes = StripedSpanProcessor.stripes(0, batch);
+        assertTrue(stripes >= 1 && stripes <= 4, "stripes: " + stripes);
+        assertEquals(0, stripes & (stripes - 1), "power of two");
+        assertEquals(8, StripedSpanProcessor.stripes(5, batch));
+    }
+
+    private static void endSpansOnThreads(Tracer tracer, int threadCount, int spansPerThread) throws Exception {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < spansPerThread; i++) {
+                    tracer.spanBuilder("operation").startSpan().end();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private static long dropped(CollectingReader reader, String reason) {
+        long total = 0;
+        for (MetricData data : reader.registration.collectAllMetrics()) {
+            if (data.getName().equals("optic.sdk.dropped")) {
+                for (LongPointData point : data.getLongSumData().getPoints()) {
+                    if (reason.equals(point.getAttributes().get(AttributeKey.stringKey("reason")))) {
+                        total += point.getValue();
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static final class CapturingExporter implements SpanExporter {
+        private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+        long spans() {
+            long spans = 0;
+            for (int batch : batches) {
+                spans += batch;
+            }
+            return spans;
+        }
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            batches.add(spans.size());
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+
+    private static final class CollectingReader implements MetricReader {
+        private volatile CollectionRegistration registration;
+
+        @Override
+        public void register(CollectionRegistration registration) {
+            this.registration = registration;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.optic.sdk.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+    @Test
+    void holdsExactlyTheRequestedCapacityInOrder() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertTrue(buffer.offer(3));
+        assertFalse(buffer.offer(4), "full at the requested capacity, not the rounded slot count");
+        assertEquals(3, buffer.size());
+
+        assertEquals(1, buffer.poll());
+        assertTrue(buffer.offer(5));
+        assertEquals(2, buffer.poll());
+        assertEquals(3, buffer.poll());
+        assertEquals(5, buffer.poll());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void losesNothingAcceptedFromConcurrentProducers() throws Exception {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+        int producers = 8;
+        int perProducer = 20_000;
+        AtomicInteger accepted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        long polled = 0;
+        while (threads.stream().anyMatch(Thread::isAlive) || !buffer.isEmpty()) {
+            if (buffer.poll() != null) {
+                polled++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        while (buffer.poll() != null) {
+            polled++;
+        }
+        assertEquals(accepted.get(), polled);
+        assertEquals(0, buffer.size());
+    }
+}
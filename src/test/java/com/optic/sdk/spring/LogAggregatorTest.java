@@ -0,0 +1,118 @@
+package com.optic.sdk.spring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LogAggregatorTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final List<String> emitted = new ArrayList<>();
+    private final LogAggregator.Sink<CountingEvent> sink = (first, repeatCount, firstTimestamp, lastTimestamp) ->
+            emitted.add(first.id + " x" + repeatCount + " " + firstTimestamp + ".." + lastTimestamp);
+
+    @Test
+    void emitsOneRecordPerTemplateOnceItsWindowEnds() {
+        LogAggregator<CountingEvent> aggregator = new LogAggregator<>(Duration.ofSeconds(5), 16);
+        add(aggregator, event("a", "app", Level.INFO, "order {} failed", 1_000), 0);
+        add(aggregator, event("b", "app", Level.INFO, "order {} failed", 1_200), SECOND);
+        add(aggregator, event("c", "app", Level.INFO, "order {} failed", 1_900), 4 * SECOND);
+
+        aggregator.flushExpired(5 * SECOND - 1, sink);
+        assertEquals(List.of(), emitted);
+        aggregator.flushExpired(5 * SECOND, sink);
+
+        assertEquals(List.of("a x3 1000..1900"), emitted);
+    }
+
+    @Test
+    void keysOnLoggerLevelAndTemplateRatherThanArguments() {
+        LogAggregator<CountingEvent> aggregator = new LogAggregator<>(Duration.ofSeconds(5), 16);
+        add(aggregator, event("a", "app", Level.INFO, "order {} failed", 1), 0);
+        add(aggregator, event("b", "app", Level.WARN, "order {} failed", 2), 0);
+        add(aggregator, event("c", "app.payments", Level.INFO, "order {} failed", 3), 0);
+        add(aggregator, event("d", "app", Level.INFO, "order {} shipped", 4), 0);
+        add(aggregator, event("e", "app", Level.INFO, "order {} failed", 5), 0);
+
+        aggregator.flushAll(sink);
+
+        assertEquals(List.of("a x2 1..5", "b x1 2..2", "c x1 3..3", "d x1 4..4"), emitted);
+    }
+
+    @Test
+    void startsANewWindowWhenARepeatArrivesAfterTheOldOneEnded() {
+        LogAggregator<CountingEvent> aggregator = new LogAggregator<>(Duration.ofSeconds(5), 16);
+        add(aggregator, event("a", "app", Level.INFO, "retrying", 1), 0);
+        add(aggregator, event("b", "app", Level.INFO, "retrying", 2), SECOND);
+        // No flush ran in between, so the closed window is emitted by the next repeat.
+        add(aggregator, event("c", "app", Level.INFO, "retrying", 3), 6 * SECOND);
+        assertEquals(List.of("a x2 1..2"), emitted);
+
+        aggregator.flushAll(sink);
+        assertEquals(List.of("a x2 1..2", "c x1 3..3"), emitted);
+    }
+
+    @Test
+    void evictsTheOldestWindowWhenTooManyTemplatesArePending() {
+        LogAggregator<CountingEvent> aggregator = new LogAggregator<>(Duration.ofSeconds(5), 2);
+        add(aggregator, event("a", "app", Level.INFO, "one", 1), 0);
+        add(aggregator, event("b", "app", Level.INFO, "one", 2), 0);
+        add(aggregator, event("c", "app", Level.INFO, "two", 3), 0);
+        add(aggregator, event("d", "app", Level.INFO, "three", 4), 0);
+        assertEquals(List.of("a x2 1..2"), emitted);
+
+        aggregator.flushAll(sink);
+        assertEquals(List.of("a x2 1..2", "c x1 3..3", "d x1 4..4"), emitted);
+    }
+
+    @Test
+    void neverFormatsTheEventsItAggregates() {
+        LogAggregator<CountingEvent> aggregator = new LogAggregator<>(Duration.ofSeconds(5), 16);
+        List<CountingEvent> events = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            CountingEvent event = event("e" + i, "app", Level.INFO, "order {} failed", i);
+            events.add(event);
+            add(aggregator, event, i);
+        }
+        aggregator.flushAll(sink);
+
+        assertEquals(List.of("e0 x10 0..9"), emitted);
+        for (CountingEvent event : events) {
+            assertEquals(0, event.formatted, event.id);
+        }
+    }
+
+    private void add(LogAggregator<CountingEvent> aggregator, CountingEvent event, long nowNanos) {
+        aggregator.add(event, event, nowNanos, sink);
+    }
+
+    private CountingEvent event(String id, String loggerName, Level level, String template, long timestamp) {
+        CountingEvent event = new CountingEvent(id, loggerContext.getLogger(loggerName), level, template);
+        event.setTimeStamp(timestamp);
+        return event;
+    }
+
+    private static final class CountingEvent extends LoggingEvent {
+        private final String id;
+        private int formatted;
+
+        private CountingEvent(String id, ch.qos.logback.classic.Logger logger, Level level, String template) {
+            super(LogAggregatorTest.class.getName(), logger, level, template, null, new Object[] {id});
+            this.id = id;
+        }
+
+        @Override
+        public String getFormattedMessage() {
+            formatted++;
+            return super.getFormattedMessage();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.optic.sdk.spring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LogMetricsTest {
+    private static final AttributeKey<String> LOGGER_PREFIX = AttributeKey.stringKey("logger.prefix");
+
+    private final CollectingReader reader = new CollectingReader();
+    private final SdkMeterProvider provider = SdkMeterProvider.builder()
+            .registerMetricReader(reader)
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    void countsEventsByLoggerPrefix() {
+        LogMetrics metrics = new LogMetrics(provider.get("test"), 2);
+        metrics.record("app.orders.Checkout", Level.INFO, null);
+        metrics.record("app.orders.Refunds", Level.INFO, null);
+        metrics.record("app.billing.Invoices", Level.INFO, null);
+        metrics.record("Main", Level.INFO, null);
+
+        assertEquals(Map.of("app.orders", 2L, "app.billing", 1L, "Main", 1L), countsByPrefix());
+    }
+
+    @Test
+    void foldsPrefixesBeyondTheLimitIntoOther() {
+        LogMetrics metrics = new LogMetrics(provider.get("test"), 1);
+        int overflow = 50;
+        for (int i = 0; i < LogMetrics.MAX_PREFIXES + overflow; i++) {
+            metrics.record("tenant" + i + ".Handler", Level.INFO, null);
+        }
+        // Prefixes seen before the limit keep their own series.
+        metrics.record("tenant0.Handler", Level.INFO, null);
+
+        Map<String, Long> counts = countsByPrefix();
+        assertEquals(LogMetrics.MAX_PREFIXES + 1, counts.size());
+        assertEquals((long) overflow, counts.get(LogMetrics.OTHER_PREFIX));
+        assertEquals(2L, counts.get("tenant0"));
+    }
+
+    private Map<String, Long> countsByPrefix() {
+        return reader.registration.collectAllMetrics().stream()
+                .filter(data -> data.getName().equals("log.events"))
+                .flatMap(data -> data.getLongSumData().getPoints().stream())
+                .collect(Collectors.toMap(point -> point.getAttributes().get(LOGGER_PREFIX), LongPointData::getValue,
+                        Long::sum));
+    }
+
+    private static final class CollectingReader implements MetricReader {
+        private volatile CollectionRegistration registration;
+
+        @Override
+        public void register(CollectionRegistration registration) {
+            this.registration = registration;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
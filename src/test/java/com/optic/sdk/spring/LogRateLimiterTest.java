@@ -0,0 +1,105 @@
+package com.optic.sdk.spring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ch.qos.logback.classic.Level;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LogRateLimiterTest {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    // Buckets start full when they are created, so every test reads the clock after building the limiter.
+    @Test
+    void admitsABurstOfOnePeriodsPermitsAndThenOnePerInterval() {
+        LogRateLimiter limiter = limiter("app", "5/s");
+        long now = System.nanoTime();
+
+        assertEquals(5, acquired(limiter, "app.Orders", Level.INFO, now, 10));
+        // One permit comes back every 200ms.
+        assertEquals(0, acquired(limiter, "app.Orders", Level.INFO, now + 150 * MILLIS, 1));
+        assertEquals(1, acquired(limiter, "app.Orders", Level.INFO, now + 200 * MILLIS, 10));
+        // A whole idle period refills the burst, but never beyond it.
+        assertEquals(5, acquired(limiter, "app.Orders", Level.INFO, now + 5_000 * MILLIS, 10));
+    }
+
+    @Test
+    void keepsASeparateBudgetPerLevel() {
+        LogRateLimiter limiter = limiter("app", "DEBUG:2/s, 3/s");
+        long now = System.nanoTime();
+
+        assertEquals(2, acquired(limiter, "app.Orders", Level.DEBUG, now, 10));
+        assertEquals(3, acquired(limiter, "app.Orders", Level.INFO, now, 10));
+        // The fallback rate is copied per level, so INFO did not use up WARN.
+        assertEquals(3, acquired(limiter, "app.Orders", Level.WARN, now, 10));
+        assertEquals(3, acquired(limiter, "app.Orders", Level.ERROR, now, 10));
+    }
+
+    @Test
+    void leavesLevelsWithoutARateUnlimited() {
+        LogRateLimiter limiter = limiter("app", "DEBUG:1/s");
+        long now = System.nanoTime();
+
+        assertEquals(1, acquired(limiter, "app", Level.DEBUG, now, 10));
+        assertEquals(10, acquired(limiter, "app", Level.INFO, now, 10));
+    }
+
+    @Test
+    void appliesTheLongestMatchingPrefixOnSegmentBoundaries() {
+        Map<String, String> limits = new LinkedHashMap<>();
+        limits.put("com.shop", "1/s");
+        limits.put("com.shop.payments", "3/s");
+        LogRateLimiter limiter = LogRateLimiter.fromConfig(limits);
+        long now = System.nanoTime();
+
+        assertEquals(3, acquired(limiter, "com.shop.payments.CardService", Level.INFO, now, 10));
+        assertEquals(1, acquired(limiter, "com.shop.orders.OrderService", Level.INFO, now, 10));
+        // Same rule, so the budget is already spent.
+        assertEquals(0, acquired(limiter, "com.shop", Level.INFO, now, 10));
+        assertEquals(10, acquired(limiter, "com.shopping.Cart", Level.INFO, now, 10));
+    }
+
+    @Test
+    void summarisesSuppressedEventsOncePerRuleAndLevel() {
+        Map<String, String> limits = new LinkedHashMap<>();
+        limits.put("com.shop", "1/s");
+        limits.put("com.shop.payments", "DEBUG:2/s");
+        LogRateLimiter limiter = LogRateLimiter.fromConfig(limits);
+        long now = System.nanoTime();
+        acquired(limiter, "com.shop.Orders", Level.INFO, now, 4);
+        acquired(limiter, "com.shop.Orders", Level.WARN, now, 2);
+        acquired(limiter, "com.shop.payments.Card", Level.DEBUG, now, 7);
+
+        assertEquals("Optic log rate limits suppressed events: com.shop.payments DEBUG=5, com.shop WARN=1,"
+                + " com.shop INFO=3", limiter.drainSuppressedSummary());
+        assertNull(limiter.drainSuppressedSummary(), "counts are reset once reported");
+    }
+
+    @Test
+    void disablesItselfWithoutRulesAndRejectsMalformedRates() {
+        assertNull(LogRateLimiter.fromConfig(Map.of()));
+        assertNull(LogRateLimiter.fromConfig(Map.of(" ", "5/s")));
+        assertThrows(IllegalArgumentException.class, () -> limiter("app", "5"));
+        assertThrows(IllegalArgumentException.class, () -> limiter("app", "0/s"));
+        assertThrows(IllegalArgumentException.class, () -> limiter("app", "5/d"));
+        assertThrows(IllegalArgumentException.class, () -> limiter("app", "LOUD:5/s"));
+    }
+
+    private static LogRateLimiter limiter(String prefix, String rate) {
+        return LogRateLimiter.fromConfig(Map.of(prefix, rate));
+    }
+
+    private static int acquired(LogRateLimiter limiter, String logger, Level level, long nowNanos, int attempts) {
+        int acquired = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(logger, level, nowNanos)) {
+                acquired++;
+            }
+        }
+        return acquired;
+    }
+}
@@ -0,0 +1,82 @@
+package com.optic.sdk.spring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ch.qos.logback.classic.Level;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class LoggerNameFilterTest {
+    private static final int EXCLUDED = LoggerNameFilter.EXCLUDED;
+
+    @Test
+    void letsTheMostSpecificIncludeOrExcludeWin() {
+        LoggerNameFilter filter = LoggerNameFilter.compile(
+                List.of("com.shop", "com.shop.payments.audit"), List.of("com.shop.payments"), Map.of());
+
+        assertEquals(Level.ALL_INT, filter.minLevel("com.shop.orders.OrderService"));
+        assertEquals(EXCLUDED, filter.minLevel("com.shop.payments.CardService"));
+        assertEquals(Level.ALL_INT, filter.minLevel("com.shop.payments.audit.AuditLog"));
+        // Once includes are configured, everything they do not cover is dropped.
+        assertEquals(EXCLUDED, filter.minLevel("org.hibernate.SQL"));
+        // Prefixes match whole segments only.
+        assertEquals(EXCLUDED, filter.minLevel("com.shopping.Cart"));
+    }
+
+    @Test
+    void excludesWhenTheSamePrefixIsBothIncludedAndExcluded() {
+        LoggerNameFilter filter = LoggerNameFilter.compile(List.of("com.shop"), List.of("com.shop"), Map.of());
+
+        assertEquals(EXCLUDED, filter.minLevel("com.shop.Orders"));
+    }
+
+    @Test
+    void appliesTheMostSpecificMinimumLevel() {
+        Map<String, String> minLevels = new LinkedHashMap<>();
+        minLevels.put("root", "INFO");
+        minLevels.put("org.hibernate", "warn");
+        minLevels.put("org.hibernate.SQL", "ERROR");
+        LoggerNameFilter filter = LoggerNameFilter.compile(List.of(), List.of(), minLevels);
+
+        assertEquals(Level.INFO_INT, filter.minLevel("com.shop.Orders"));
+        assertEquals(Level.WARN_INT, filter.minLevel("org.hibernate.engine.Session"));
+        assertEquals(Level.ERROR_INT, filter.minLevel("org.hibernate.SQL"));
+        assertEquals(Level.INFO_INT, filter.minLevel("org.hibernateish.Tool"));
+    }
+
+    @Test
+    void alwaysExcludesTheSdkAndOpenTelemetryLoggers() {
+        LoggerNameFilter filter = LoggerNameFilter.compile(
+                List.of("io.opentelemetry", "com.optic"), List.of(), Map.of("com.optic.sdk", "TRACE"));
+
+        assertEquals(EXCLUDED, filter.minLevel("io.opentelemetry.sdk.logs.SdkLoggerProvider"));
+        assertEquals(EXCLUDED, filter.minLevel("com.optic.sdk.OtlpHttpTransport"));
+        assertEquals(EXCLUDED, filter.minLevel("com.optic.sdk"));
+        assertEquals(Level.ALL_INT, filter.minLevel("com.optic.billing.Invoices"));
+    }
+
+    @Test
+    void decidesTheSameAfterTheCacheIsInvalidated() {
+        LoggerNameFilter filter = LoggerNameFilter.compile(
+                List.of(), List.of("com.shop.payments"), Map.of("com.shop", "WARN"));
+        assertEquals(Level.WARN_INT, filter.minLevel("com.shop.Orders"));
+        assertEquals(EXCLUDED, filter.minLevel("com.shop.payments.Card"));
+        assertEquals(2, filter.cachedDecisions());
+
+        filter.invalidate();
+
+        assertEquals(0, filter.cachedDecisions());
+        assertEquals(Level.WARN_INT, filter.minLevel("com.shop.Orders"));
+        assertEquals(EXCLUDED, filter.minLevel("com.shop.payments.Card"));
+        assertEquals(2, filter.cachedDecisions());
+    }
+
+    @Test
+    void rejectsUnknownLevels() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LoggerNameFilter.compile(List.of(), List.of(), Map.of("com.shop", "LOUD")));
+    }
+}
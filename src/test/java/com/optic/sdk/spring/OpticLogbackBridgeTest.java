@@ -0,0 +1,448 @@
+package com.optic.sdk.spring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.optic.sdk.Optic;
+import com.optic.sdk.OpticConfig;
+import com.optic.sdk.internal.PipelineTelemetry;
+import com.optic.sdk.testing.OtlpReceiver;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.logs.LogRecordProcessor;
+import io.opentelemetry.sdk.logs.ReadWriteLogRecord;
+import io.opentelemetry.sdk.logs.SdkLoggerProvider;
+import io.opentelemetry.sdk.logs.data.LogRecordData;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.CollectionRegistration;
+import io.opentelemetry.sdk.metrics.export.MetricReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OpticLogbackBridgeTest {
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final ch.qos.logback.classic.Logger logger = loggerContext.getLogger("app.orders");
+    private final GatedProcessor processor = new GatedProcessor();
+    private final CollectingReader reader = new CollectingReader();
+    private SdkLoggerProvider loggerProvider;
+    private SdkMeterProvider meterProvider;
+    private OpticLogbackBridge.OpticLogbackAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        Optic.init(new OpticConfig().setEnableMetrics(false).setEnableTraces(false).setEnableLogs(false));
+        loggerProvider = SdkLoggerProvider.builder().addLogRecordProcessor(processor).build();
+        meterProvider = SdkMeterProvider.builder().registerMetricReader(reader).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        processor.release();
+        if (appender != null) {
+            appender.stop();
+        }
+        loggerProvider.close();
+        meterProvider.close();
+        Optic.shutdownGlobal();
+        GlobalOpenTelemetry.resetForTest();
+    }
+
+    @Test
+    void dropsTheNewestEventsOnAFullBufferWithoutBlocking() throws Exception {
+        start(OpticProperties.DropPolicy.DROP_NEWEST);
+        blockConsumer();
+
+        // The buffer holds four events; the consumer is stuck emitting the first one.
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> append("1", "2", "3", "4", "5", "6"));
+        processor.release();
+        appender.stop();
+
+        assertEquals(List.of("blocker", "1", "2", "3", "4"), processor.bodies);
+        assertEquals(2, dropped("queue_full"));
+    }
+
+    @Test
+    void dropsTheOldestEventsOnAFullBufferWithoutBlocking() throws Exception {
+        start(OpticProperties.DropPolicy.DROP_OLDEST);
+        blockConsumer();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> append("1", "2", "3", "4", "5", "6"));
+        processor.release();
+        appender.stop();
+
+        assertEquals(List.of("blocker", "3", "4", "5", "6"), processor.bodies);
+        assertEquals(2, dropped("queue_full"));
+    }
+
+    @Test
+    void stopDrainsEverythingQueuedBeforeReturning() throws Exception {
+        start(OpticProperties.DropPolicy.DROP_NEWEST);
+        blockConsumer();
+        append("1", "2", "3");
+
+        Thread stopper = new Thread(appender::stop);
+        stopper.start();
+        // stop() waits for the consumer, which is still blocked with three events queued.
+        stopper.join(200);
+        assertTrue(stopper.isAlive(), "stop() returned before the queue was drained");
+        processor.release();
+        stopper.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertEquals(List.of("blocker", "1", "2", "3"), processor.bodies);
+        assertEquals(0, dropped("shutdown"));
+    }
+
+    @Test
+    void keepsExportingAfterARestart() throws Exception {
+        start(OpticProperties.DropPolicy.DROP_NEWEST);
+        append("1");
+        appender.stop();
+        appender.start();
+        append("2");
+        appender.stop();
+
+        assertEquals(List.of("1", "2"), processor.bodies);
+    }
+
+    @Test
+    void restartWaitsForAConsumerThatOutlivedStop() throws Exception {
+        start(OpticProperties.DropPolicy.DROP_NEWEST);
+        blockConsumer();
+        // Gives up waiting for the blocked consumer after its timeout.
+        appender.stop();
+        appender.start();
+        append("1", "2");
+
+        Thread.sleep(200);
+        assertEquals(List.of("blocker"), processor.bodies, "new consumer started next to the blocked one");
+        processor.release();
+        appender.stop();
+
+        assertEquals(List.of("blocker", "1", "2"), processor.bodies);
+        assertEquals(1, processor.maxConcurrent.get());
+    }
+
+    @Test
+    void appliesTheSameLoggerRulesAfterALogbackReset() throws Exception {
+        OpticProperties.Logs settings = settings(OpticProperties.DropPolicy.DROP_NEWEST);
+        settings.setQueueCapacity(16);
+        settings.setInclude(List.of("app"));
+        settings.setExclude(List.of("app.internal"));
+        settings.setMinLevels(Map.of("app.orders", "WARN"));
+        start(settings);
+        ch.qos.logback.classic.Logger root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.addAppender(appender);
+        logEverywhere("before");
+
+        // reset() stops and detaches every appender; the bridge's listener restarts and re-attaches it.
+        loggerContext.reset();
+        assertFalse(appender.isStarted(), "reset stopped the appender");
+        appender.start();
+        root.addAppender(appender);
+        logEverywhere("after");
+        appender.stop();
+
+        assertEquals(List.of("before app.orders WARN", "before app.billing INFO", "before app.billing WARN",
+                "after app.orders WARN", "after app.billing INFO", "after app.billing WARN"), processor.bodies);
+    }
+
+    @Test
+    void formatsOnlyTheFirstEventOfAnAggregatedWindow() throws Exception {
+        OpticProperties.Logs settings = settings(OpticProperties.DropPolicy.DROP_NEWEST);
+        settings.setQueueCapacity(16);
+        settings.setDeferredFormatting(true);
+        settings.setAggregationWindow(Duration.ofMinutes(1));
+        start(settings);
+        AtomicInteger formatted = new AtomicInteger();
+        Object orderId = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "42";
+            }
+        };
+        for (int i = 0; i < 5; i++) {
+            LoggingEvent event = new LoggingEvent(getClass().getName(), logger, Level.WARN, "order {} failed", null,
+                    new Object[] {orderId});
+            event.setTimeStamp(1_000L + i);
+            appender.doAppend(event);
+        }
+        // Stopping flushes the open window.
+        appender.stop();
+
+        assertEquals(List.of("order 42 failed"), processor.bodies);
+        assertEquals(1, formatted.get());
+        Attributes attributes = processor.records.get(0).getAttributes();
+        assertEquals(5L, attributes.get(LogAttributeKeys.LOG_REPEAT_COUNT));
+        assertEquals(1_000L, attributes.get(LogAttributeKeys.LOG_FIRST_TIMESTAMP));
+        assertEquals(1_004L, attributes.get(LogAttributeKeys.LOG_LAST_TIMESTAMP));
+    }
+
+    @Test
+    void defersFormattingWhileAggregatingEvenWhenDeferredFormattingIsOff() throws Exception {
+        OpticProperties.Logs settings = settings(OpticProperties.DropPolicy.DROP_NEWEST);
+        settings.setQueueCapacity(16);
+        settings.setDeferredFormatting(false);
+        settings.setAggregationWindow(Duration.ofMinutes(1));
+        start(settings);
+        AtomicInteger formatted = new AtomicInteger();
+        Object orderId = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "42";
+            }
+        };
+        for (int i = 0; i < 5; i++) {
+            appender.doAppend(new LoggingEvent(getClass().getName(), logger, Level.WARN, "order {} failed", null,
+                    new Object[] {orderId}));
+        }
+        appender.stop();
+
+        assertEquals(List.of("order 42 failed"), processor.bodies);
+        // Only the emitted record was formatted; the four collapsed events never were.
+        assertEquals(1, formatted.get());
+        assertEquals(5L, processor.records.get(0).getAttributes().get(LogAttributeKeys.LOG_REPEAT_COUNT));
+    }
+
+    @Test
+    void releasesTheBufferedRecordsOfATraceOnAnErrorLog() {
+        start(flightRecorderSettings());
+        SpanContext failed = spanContext("1");
+        SpanContext healthy = spanContext("2");
+
+        append(failed, Level.DEBUG, "debug 1", "debug 2");
+        append(healthy, Level.DEBUG, "healthy debug");
+        append(failed, Level.INFO, "info");
+        append(failed, Level.ERROR, "error");
+        appender.stop();
+
+        // INFO and WARN records are never held back; the healthy trace's record dies with the buffer.
+        assertEquals(List.of("info", "debug 1", "debug 2", "error"), processor.bodies);
+    }
+
+    @Test
+    void recordsDebugEventsOfATraceBelowTheLogMetricsExportLevel() {
+        OpticProperties.Logs settings = flightRecorderSettings();
+        // Full records are exported only from WARN up.
+        settings.getMetrics().setEnabled(true);
+        start(settings);
+        SpanContext failed = spanContext("1");
+
+        append(Level.DEBUG, "debug without a trace");
+        append(Level.INFO, "info");
+        append(failed, Level.DEBUG, "debug 1", "debug 2");
+        append(failed, Level.ERROR, "error");
+        appender.stop();
+
+        assertEquals(List.of("debug 1", "debug 2", "error"), processor.bodies);
+    }
+
+    @Test
+    void recordsDebugEventsOfATraceWithoutChargingTheRateLimit() {
+        OpticProperties.Logs settings = flightRecorderSettings();
+        settings.setRateLimits(Map.of("app", "DEBUG:1/m"));
+        start(settings);
+        SpanContext failed = spanContext("1");
+
+        append(failed, Level.DEBUG, "debug 1", "debug 2", "debug 3");
+        append(failed, Level.ERROR, "error");
+        // The one DEBUG permit is still there for records that are exported directly.
+        append(Level.DEBUG, "untraced 1", "untraced 2");
+        appender.stop();
+
+        assertEquals(List.of("debug 1", "debug 2", "debug 3", "error", "untraced 1",
+                "Optic log rate limits suppressed events: app DEBUG=1"), processor.bodies);
+        assertEquals(1, dropped("rate_limited"));
+    }
+
+    @Test
+    void releasesTheBufferedRecordsOfATraceWhoseRootSpanFailed() throws Exception {
+        Optic.shutdownGlobal();
+        GlobalOpenTelemetry.resetForTest();
+        try (OtlpReceiver receiver = OtlpReceiver.start(new OtlpReceiver.Settings())) {
+            Optic optic = Optic.init(new OpticConfig().setApiKey("test").setServiceName("test")
+                    .setEndpoint(receiver.endpoint()).setEnableMetrics(false).setEnableLogs(false));
+            start(flightRecorderSettings());
+            Tracer tracer = optic.tracer("test");
+
+            Span checkout = tracer.spanBuilder("checkout").startSpan();
+            try (Scope ignored = checkout.makeCurrent()) {
+                append(Level.DEBUG, "checkout 1", "checkout 2");
+            }
+            // Failed only through its status, without an error attribute.
+            checkout.setStatus(StatusCode.ERROR);
+            checkout.end();
+            Span browse = tracer.spanBuilder("browse").startSpan();
+            try (Scope ignored = browse.makeCurrent()) {
+                append(Level.DEBUG, "browse 1");
+            }
+            browse.end();
+            appender.stop();
+            Optic.shutdownGlobal();
+        }
+
+        assertEquals(List.of("checkout 1", "checkout 2"), processor.bodies);
+    }
+
+    private static OpticProperties.Logs flightRecorderSettings() {
+        OpticProperties.Logs settings = settings(OpticProperties.DropPolicy.DROP_NEWEST);
+        settings.setQueueCapacity(16);
+        settings.getFlightRecorder().setEnabled(true);
+        return settings;
+    }
+
+    private static SpanContext spanContext(String traceSuffix) {
+        String traceId = "0".repeat(32 - traceSuffix.length()) + traceSuffix;
+        return SpanContext.create(traceId, "00000000000000aa", TraceFlags.getSampled(), TraceState.getDefault());
+    }
+
+    private void append(SpanContext spanContext, Level level, String... messages) {
+        try (Scope ignored = Context.root().with(Span.wrap(spanContext)).makeCurrent()) {
+            append(level, messages);
+        }
+    }
+
+    private void logEverywhere(String prefix) {
+        for (String name : List.of("app.orders", "app.internal.Cache", "app.billing", "com.optic.sdk.Optic", "org.other")) {
+            ch.qos.logback.classic.Logger target = loggerContext.getLogger(name);
+            target.info(prefix + " " + name + " INFO");
+            target.warn(prefix + " " + name + " WARN");
+        }
+    }
+
+    private void start(OpticProperties.DropPolicy dropPolicy) {
+        start(settings(dropPolicy));
+    }
+
+    private static OpticProperties.Logs settings(OpticProperties.DropPolicy dropPolicy) {
+        OpticProperties.Logs settings = new OpticProperties.Logs();
+        settings.setQueueCapacity(4);
+        settings.setDropPolicy(dropPolicy);
+        return settings;
+    }
+
+    private void start(OpticProperties.Logs settings) {
+        appender = new OpticLogbackBridge.OpticLogbackAppender(Optic.init(), settings,
+                loggerProvider.get("test"), new PipelineTelemetry(meterProvider.get(PipelineTelemetry.SCOPE)));
+        appender.setContext(loggerContext);
+        appender.start();
+    }
+
+    private void blockConsumer() throws InterruptedException {
+        processor.hold();
+        append("blocker");
+        assertTrue(processor.entered.await(5, TimeUnit.SECONDS), "consumer picked up the first event");
+    }
+
+    private void append(String... messages) {
+        append(Level.INFO, messages);
+    }
+
+    private void append(Level level, String... messages) {
+        for (String message : messages) {
+            appender.doAppend(new LoggingEvent(getClass().getName(), logger, level, message, null, null));
+        }
+    }
+
+    private long dropped(String reason) {
+        long total = 0;
+        for (MetricData data : reader.registration.collectAllMetrics()) {
+            if (data.getName().equals("optic.sdk.dropped")) {
+                for (LongPointData point : data.getLongSumData().getPoints()) {
+                    if (reason.equals(point.getAttributes().get(AttributeKey.stringKey("reason")))) {
+                        total += point.getValue();
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    // Holds the consumer thread in emit() while closed, so the buffer fills up behind it.
+    private static final class GatedProcessor implements LogRecordProcessor {
+        private final List<String> bodies = new CopyOnWriteArrayList<>();
+        private final List<LogRecordData> records = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void onEmit(Context context, ReadWriteLogRecord logRecord) {
+            maxConcurrent.accumulateAndGet(active.incrementAndGet(), Math::max);
+            LogRecordData data = logRecord.toLogRecordData();
+            records.add(data);
+            bodies.add(data.getBody().asString());
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class CollectingReader implements MetricReader {
+        private volatile CollectionRegistration registration;
+
+        @Override
+        public void register(CollectionRegistration registration) {
+            this.registration = registration;
+        }
+
+        @Override
+        public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+            return AggregationTemporality.CUMULATIVE;
+        }
+
+        @Override
+        public CompletableResultCode forceFlush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.optic.sdk.spring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class StackTraceFingerprintsTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void countsRepeatsWithinTheWindowAndStartsOverOnceItExpires() {
+        StackTraceFingerprints fingerprints = new StackTraceFingerprints(Duration.ofSeconds(10), 64);
+        IThrowableProxy failure = failure("checkout", 42);
+
+        StackTraceFingerprints.Occurrence first = fingerprints.observe(failure, 0);
+        assertTrue(first.isFirstInWindow());
+        assertEquals(0, first.repeatCount());
+
+        StackTraceFingerprints.Occurrence second = fingerprints.observe(failure, 3 * SECOND);
+        assertFalse(second.isFirstInWindow());
+        assertEquals(1, second.repeatCount());
+        assertEquals(2, fingerprints.observe(failure, 10 * SECOND - 1).repeatCount());
+
+        // The window is measured from its first occurrence, not from the latest repeat.
+        StackTraceFingerprints.Occurrence expired = fingerprints.observe(failure, 10 * SECOND);
+        assertTrue(expired.isFirstInWindow());
+        assertEquals(first.fingerprint(), expired.fingerprint());
+        assertEquals(1, fingerprints.observe(failure, 11 * SECOND).repeatCount());
+    }
+
+    @Test
+    void fingerprintsTheWholeCauseChain() {
+        IThrowableProxy failure = failure("checkout", 42);
+
+        assertEquals(StackTraceFingerprints.fingerprint(failure),
+                StackTraceFingerprints.fingerprint(failure("checkout", 42)));
+        assertNotEquals(StackTraceFingerprints.fingerprint(failure),
+                StackTraceFingerprints.fingerprint(failure("checkout", 43)));
+
+        RuntimeException wrapped = exception("checkout", 42);
+        wrapped.initCause(exception("connect", 7));
+        assertNotEquals(StackTraceFingerprints.fingerprint(failure),
+                StackTraceFingerprints.fingerprint(new ThrowableProxy(wrapped)));
+    }
+
+    @Test
+    void evictsTheEntrySeenLongestAgoWhenTheProbeSequenceIsFull() {
+        // Eight slots, so every probe sequence covers the whole table.
+        StackTraceFingerprints fingerprints = new StackTraceFingerprints(Duration.ofMinutes(1), 8);
+        IThrowableProxy[] failures = new IThrowableProxy[10];
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = failure("step" + i, i);
+        }
+        for (int i = 0; i < 8; i++) {
+            assertTrue(fingerprints.observe(failures[i], i * SECOND).isFirstInWindow());
+        }
+        assertEquals(1, fingerprints.observe(failures[0], 8 * SECOND).repeatCount());
+
+        // failures[1] is now the least recently seen, so it gives way.
+        assertTrue(fingerprints.observe(failures[8], 9 * SECOND).isFirstInWindow());
+        assertEquals(2, fingerprints.observe(failures[0], 10 * SECOND).repeatCount());
+        assertTrue(fingerprints.observe(failures[1], 11 * SECOND).isFirstInWindow(), "evicted entries start over");
+        // Re-inserting failures[1] evicted failures[2] in turn; the rest are still tracked.
+        for (int i = 3; i < 9; i++) {
+            assertEquals(1, fingerprints.observe(failures[i], 12 * SECOND).repeatCount(), "failures[" + i + "]");
+        }
+        assertTrue(fingerprints.observe(failures[2], 13 * SECOND).isFirstInWindow());
+    }
+
+    private static IThrowableProxy failure(String method, int line) {
+        return new ThrowableProxy(exception(method, line));
+    }
+
+    private static RuntimeException exception(String method, int line) {
+        RuntimeException exception = new RuntimeException("boom");
+        exception.setStackTrace(new StackTraceElement[] {
+                new StackTraceElement("app.Orders", method, "Orders.java", line),
+                new StackTraceElement("app.Controller", "handle", "Controller.java", 10)
+        });
+        return exception;
+    }
+}
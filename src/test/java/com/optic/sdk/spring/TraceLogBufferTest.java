@@ -0,0 +1,144 @@
+package com.optic.sdk.spring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class TraceLogBufferTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final List<String> emitted = new ArrayList<>();
+
+    @Test
+    void releasesTheRecordsOfAFailedTraceInOrder() {
+        TraceLogBuffer<String> buffer = new TraceLogBuffer<>(10, 10_000, 10, Duration.ofMinutes(1));
+        add(buffer, "t1", "a", 100);
+        add(buffer, "t2", "x", 100);
+        add(buffer, "t1", "b", 100);
+
+        buffer.complete("t1", true, emitted::add);
+
+        assertEquals(List.of("a", "b"), emitted);
+        assertEquals(1, buffer.bufferedTraces());
+        assertEquals(100, buffer.bufferedBytes());
+    }
+
+    @Test
+    void discardsTheRecordsOfASuccessfulTrace() {
+        TraceLogBuffer<String> buffer = new TraceLogBuffer<>(10, 10_000, 10, Duration.ofMinutes(1));
+        add(buffer, "t1", "a", 100);
+
+        buffer.complete("t1", false, emitted::add);
+
+        assertEquals(List.of(), emitted);
+        assertEquals(0, buffer.bufferedTraces());
+        assertEquals(0, buffer.bufferedBytes());
+    }
+
+    @Test
+    void decidesRecordsThatArriveAfterTheTraceCompleted() {
+        TraceLogBuffer<String> buffer = new TraceLogBuffer<>(10, 10_000, 10, Duration.ofMinutes(1));
+        buffer.complete("failed", true, emitted::add);
+        buffer.complete("ok", false, emitted::add);
+
+        assertEquals(TraceLogBuffer.Outcome.EMIT, buffer.add("failed", "late", 100, 0));
+        assertEquals(TraceLogBuffer.Outcome.DROP, buffer.add("ok", "late", 100, 0));
+        assertEquals(0, buffer.bufferedTraces());
+    }
+
+    @Test
+    void remembersOnlyTheMostRecentlyUsedOutcomes() {
+        TraceLogBuffer<String> buffer = new TraceLogBuffer<>(3, 10_000, 10, Duration.ofMinutes(1));
+        for (int i = 0; i < 100; i++) {
+            buffer.complete("t" + i, true, emitted::add);
+        }
+        assertEquals(3, buffer.resolvedTraces());
+
+        // A lookup refreshes t97, so t98 is the one forgotten next.
+        assertEquals(TraceLogBuffer.Outcome.EMIT, buffer.add("t97", "late", 100, 0));
+        buffer.complete("t100", false, emitted::add);
+        assertEquals(3, buffer.resolvedTraces());
+        assertEquals(TraceLogBuffer.Outcome.EMIT, buffer.add("t97", "late", 100, 0));
+        assertEquals(TraceLogBuffer.Outcome.BUFFERED, buffer.add("t98", "late", 100, 0));
+    }
+
+    @Test
+    void evictsTheOldestTraceBeyondMaxTraces() {
+        TraceLogBuffer<String> buffer = new TraceLogBuffer<>(2, 10_000, 10, Duration.ofMinutes(1));
+        add(buffer, "t1", "a", 100);
+        add(buffer, "t2", "b", 100);
+        add(buffer, "t3", "c", 100);
+
+        assertEquals(2, buffer.bufferedTraces());
+        assertEquals(200, buffer.bufferedBytes());
+        buffer.complete("t1", true, emitted::add);
+        assertEquals(List.of(), emitted, "t1 was evicted");
+    }
+
+    @Test
+    void keepsOnlyTheNewestRecordsOfATrace() {
+        TraceLogBuffer<String> buffer = new TraceLogBuffer<>(10, 10_000, 3, Duration.ofMinutes(1));
+        for (String record : List.of("a", "b", "c", "d", "e")) {
+            add(buffer, "t1", record, 100);
+        }
+
+        assertEquals(300, buffer.bufferedBytes());
+        buffer.complete("t1", true, emitted::add);
+        assertEquals(List.of("c", "d", "e"), emitted);
+    }
+
+    @Test
+    void evictsOtherTracesBeforeTrimmingTheOneBeingAppendedTo() {
+        TraceLogBuffer<String> buffer = new TraceLogBuffer<>(10, 300, 10, Duration.ofMinutes(1));
+        add(buffer, "t1", "a", 100);
+        add(buffer, "t1", "b", 100);
+        add(buffer, "t2", "c", 100);
+        assertEquals(300, buffer.bufferedBytes());
+
+        add(buffer, "t2", "d", 150);
+        assertEquals(1, buffer.bufferedTraces(), "t1 made room");
+        assertEquals(250, buffer.bufferedBytes());
+
+        // t2 is the only trace left, so it is trimmed from the front like a ring.
+        add(buffer, "t2", "e", 100);
+        assertEquals(250, buffer.bufferedBytes());
+        buffer.complete("t2", true, emitted::add);
+        assertEquals(List.of("d", "e"), emitted);
+    }
+
+    @Test
+    void dropsARecordLargerThanTheWholeBudget() {
+        TraceLogBuffer<String> buffer = new TraceLogBuffer<>(10, 300, 10, Duration.ofMinutes(1));
+        add(buffer, "t1", "a", 100);
+
+        assertEquals(TraceLogBuffer.Outcome.DROP, buffer.add("t2", "huge", 1_000, 0));
+        assertEquals(0, buffer.bufferedTraces());
+        assertEquals(0, buffer.bufferedBytes());
+    }
+
+    @Test
+    void expiresTracesOlderThanMaxAge() {
+        TraceLogBuffer<String> buffer = new TraceLogBuffer<>(10, 10_000, 10, Duration.ofSeconds(30));
+        buffer.add("t1", "a", 100, 0);
+        buffer.add("t2", "b", 100, 10 * SECOND);
+        // Age counts from the first record, not the latest one.
+        buffer.add("t1", "c", 100, 20 * SECOND);
+
+        buffer.expire(30 * SECOND - 1);
+        assertEquals(2, buffer.bufferedTraces());
+        buffer.expire(30 * SECOND);
+        assertEquals(1, buffer.bufferedTraces());
+        assertEquals(100, buffer.bufferedBytes());
+        buffer.expire(40 * SECOND);
+        assertEquals(0, buffer.bufferedTraces());
+        assertEquals(0, buffer.bufferedBytes());
+    }
+
+    private static void add(TraceLogBuffer<String> buffer, String traceId, String record, long bytes) {
+        assertEquals(TraceLogBuffer.Outcome.BUFFERED, buffer.add(traceId, record, bytes, 0), record);
+    }
+}
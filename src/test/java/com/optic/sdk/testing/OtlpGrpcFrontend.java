@@ -0,0 +1,113 @@
+package com.optic.sdk.testing;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.ServerCalls;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+
+// OTLP/gRPC front of the receiver: the three collector Export methods over raw protobuf bytes, so no generated
+// stubs are needed. gRPC has already decompressed each message, and the HTTP status the receiver decided on is
+// translated to the matching gRPC status.
+final class OtlpGrpcFrontend {
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final Context.Key<String> CALL_AUTHORIZATION = Context.key("authorization");
+    private static final byte[] EMPTY_RESPONSE = new byte[0];
+    private static final MethodDescriptor.Marshaller<byte[]> BYTES = new MethodDescriptor.Marshaller<>() {
+        @Override
+        public InputStream stream(byte[] value) {
+            return new ByteArrayInputStream(value);
+        }
+
+        @Override
+        public byte[] parse(InputStream stream) {
+            try {
+                return stream.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    private final Server server;
+
+    OtlpGrpcFrontend(OtlpReceiver receiver, int port, Executor executor) {
+        ServerInterceptor authorization = new ServerInterceptor() {
+            @Override
+            public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                               ServerCallHandler<Q, R> next) {
+                Context context = Context.current().withValue(CALL_AUTHORIZATION, headers.get(AUTHORIZATION));
+                return Contexts.interceptCall(context, call, headers, next);
+            }
+        };
+        NettyServerBuilder builder = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", port))
+                .executor(executor);
+        for (OtlpReceiver.OtlpSignal signal : OtlpReceiver.OtlpSignal.values()) {
+            builder.addService(ServerInterceptors.intercept(service(receiver, signal), authorization));
+        }
+        this.server = builder.build();
+    }
+
+    void start() throws IOException {
+        server.start();
+    }
+
+    int port() {
+        return server.getPort();
+    }
+
+    void close() {
+        server.shutdownNow();
+    }
+
+    private static ServerServiceDefinition service(OtlpReceiver receiver, OtlpReceiver.OtlpSignal signal) {
+        String service = switch (signal) {
+            case TRACES -> "opentelemetry.proto.collector.trace.v1.TraceService";
+            case METRICS -> "opentelemetry.proto.collector.metrics.v1.MetricsService";
+            case LOGS -> "opentelemetry.proto.collector.logs.v1.LogsService";
+        };
+        MethodDescriptor<byte[], byte[]> export = MethodDescriptor.<byte[], byte[]>newBuilder()
+                .setType(MethodDescriptor.MethodType.UNARY)
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(service, "Export"))
+                .setRequestMarshaller(BYTES)
+                .setResponseMarshaller(BYTES)
+                .build();
+        return ServerServiceDefinition.builder(service)
+                .addMethod(export, ServerCalls.asyncUnaryCall((request, observer) -> {
+                    OtlpReceiver.Answer answer = receiver.accept(signal, CALL_AUTHORIZATION.get(), request, null);
+                    if (answer.status() == 200) {
+                        observer.onNext(EMPTY_RESPONSE);
+                        observer.onCompleted();
+                    } else {
+                        observer.onError(status(answer.status()).asRuntimeException());
+                    }
+                }))
+                .build();
+    }
+
+    // The OTLP/HTTP to gRPC mapping of the OTLP specification, in reverse.
+    private static Status status(int httpStatus) {
+        return switch (httpStatus) {
+            case 400 -> Status.INVALID_ARGUMENT;
+            case 401 -> Status.UNAUTHENTICATED;
+            case 429 -> Status.RESOURCE_EXHAUSTED;
+            case 502, 503, 504 -> Status.UNAVAILABLE;
+            default -> Status.INTERNAL.withDescription("HTTP " + httpStatus);
+        };
+    }
+}
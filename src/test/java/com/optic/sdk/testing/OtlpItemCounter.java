@@ -0,0 +1,84 @@
+package com.optic.sdk.testing;
+
+import java.io.IOException;
+
+// Counts spans, metric data points or log records in an OTLP export request by walking the protobuf wire
+// format, so the receiver needs no generated proto classes.
+final class OtlpItemCounter {
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LEN = 2;
+    private static final int WIRE_FIXED32 = 5;
+
+    // Field numbers from opentelemetry-proto, outermost first. Every level is a length-delimited message.
+    // traces: resource_spans(1) > scope_spans(2) > spans(2)
+    // logs: resource_logs(1) > scope_logs(2) > log_records(2)
+    private static final int[][] RECORD_PATH = {{1}, {2}, {2}};
+    // metrics: resource_metrics(1) > scope_metrics(2) > metrics(2) > gauge(5) | sum(7) | histogram(9)
+    // | exponential_histogram(10) | summary(11) > data_points(1)
+    private static final int[][] DATA_POINT_PATH = {{1}, {2}, {2}, {5, 7, 9, 10, 11}, {1}};
+
+    private OtlpItemCounter() {
+    }
+
+    static long count(OtlpReceiver.OtlpSignal signal, byte[] request) throws IOException {
+        int[][] path = signal == OtlpReceiver.OtlpSignal.METRICS ? DATA_POINT_PATH : RECORD_PATH;
+        return count(request, 0, request.length, path, 0);
+    }
+
+    private static long count(byte[] buf, int from, int to, int[][] path, int depth) throws IOException {
+        long found = 0;
+        int[] pos = {from};
+        while (pos[0] < to) {
+            long tag = readVarint(buf, pos, to);
+            int field = (int) (tag >>> 3);
+            int wireType = (int) (tag & 7);
+            switch (wireType) {
+                case WIRE_VARINT -> readVarint(buf, pos, to);
+                case WIRE_FIXED64 -> pos[0] += 8;
+                case WIRE_FIXED32 -> pos[0] += 4;
+                case WIRE_LEN -> {
+                    long length = readVarint(buf, pos, to);
+                    int start = pos[0];
+                    if (length < 0 || length > to - start) {
+                        throw new IOException("truncated OTLP message");
+                    }
+                    int end = start + (int) length;
+                    if (matches(path[depth], field)) {
+                        found += depth == path.length - 1 ? 1 : count(buf, start, end, path, depth + 1);
+                    }
+                    pos[0] = end;
+                }
+                default -> throw new IOException("unsupported protobuf wire type " + wireType);
+            }
+        }
+        if (pos[0] != to) {
+            throw new IOException("truncated OTLP message");
+        }
+        return found;
+    }
+
+    private static boolean matches(int[] fields, int field) {
+        for (int candidate : fields) {
+            if (candidate == field) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long readVarint(byte[] buf, int[] pos, int to) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (pos[0] >= to) {
+                throw new IOException("truncated varint");
+            }
+            byte b = buf[pos[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed varint");
+    }
+}
@@ -0,0 +1,348 @@
+package com.optic.sdk.testing;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Stand-in for the Optic backend: accepts OTLP/HTTP protobuf on {@code /otlp/v1/traces|metrics|logs}, or the
+ * OTLP/gRPC collector services with {@link Settings#setGrpc(boolean)}, checks Bearer auth and counts what it
+ * receives. Latency, error rate and a request-rate ceiling are configurable. Over gRPC, answers are counted under
+ * the equivalent HTTP status and request bytes are measured after decompression.
+ */
+public final class OtlpReceiver implements AutoCloseable {
+    private static final String PATH_PREFIX = "/otlp/v1/";
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final OtlpGrpcFrontend grpc;
+    private final ExecutorService executor;
+    private final Map<OtlpSignal, SignalStats> stats = new EnumMap<>(OtlpSignal.class);
+    private final Map<Integer, LongAdder> responses = new ConcurrentHashMap<>();
+    private final AtomicLong windowStartNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong windowRequests = new AtomicLong();
+    private final AtomicLong failuresLeft;
+
+    private OtlpReceiver(Settings settings) throws IOException {
+        this.settings = settings;
+        this.failuresLeft = new AtomicLong(settings.failFirst);
+        for (OtlpSignal signal : OtlpSignal.values()) {
+            stats.put(signal, new SignalStats());
+        }
+        // Handlers sleep to simulate latency, so the pool must not serialize requests.
+        this.executor = Executors.newFixedThreadPool(settings.workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "otlp-receiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (settings.grpc) {
+            this.server = null;
+            this.grpc = new OtlpGrpcFrontend(this, settings.port, executor);
+        } else {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", settings.port), 128);
+            this.grpc = null;
+            server.setExecutor(executor);
+            server.createContext("/", this::handle);
+        }
+    }
+
+    public static OtlpReceiver start(Settings settings) throws IOException {
+        OtlpReceiver receiver = new OtlpReceiver(settings);
+        if (receiver.grpc != null) {
+            receiver.grpc.start();
+        } else {
+            receiver.server.start();
+        }
+        return receiver;
+    }
+
+    public String endpoint() {
+        return "http://127.0.0.1:" + (grpc != null ? grpc.port() : server.getAddress().getPort());
+    }
+
+    public Snapshot snapshot() {
+        Map<OtlpSignal, Snapshot.Signal> signals = new EnumMap<>(OtlpSignal.class);
+        for (Map.Entry<OtlpSignal, SignalStats> entry : stats.entrySet()) {
+            SignalStats s = entry.getValue();
+            signals.put(entry.getKey(), new Snapshot.Signal(s.requests.sum(), s.bytes.sum(), s.items.sum()));
+        }
+        Map<Integer, Long> codes = new TreeMap<>();
+        responses.forEach((code, count) -> codes.put(code, count.sum()));
+        return new Snapshot(System.nanoTime(), signals, codes);
+    }
+
+    @Override
+    public void close() {
+        if (grpc != null) {
+            grpc.close();
+        } else {
+            server.stop(0);
+        }
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            OtlpSignal signal = OtlpSignal.fromPath(exchange.getRequestURI().getPath());
+            if (signal == null) {
+                respond(exchange, 404);
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405);
+                return;
+            }
+            Answer answer = accept(signal, exchange.getRequestHeaders().getFirst("Authorization"), body,
+                    exchange.getRequestHeaders().getFirst("Content-Encoding"));
+            if (answer.retryAfter() != null) {
+                exchange.getResponseHeaders().add("Retry-After", answer.retryAfter());
+            }
+            if (answer.status() == 200) {
+                exchange.getResponseHeaders().add("Content-Type", "application/x-protobuf");
+            }
+            exchange.sendResponseHeaders(answer.status(), -1);
+        }
+    }
+
+    // Decides the answer to one export request and counts it; each transport only translates the answer.
+    Answer accept(OtlpSignal signal, String authorization, byte[] body, String encoding) {
+        Answer answer = decide(signal, authorization, body, encoding);
+        responses.computeIfAbsent(answer.status(), c -> new LongAdder()).increment();
+        return answer;
+    }
+
+    private Answer decide(OtlpSignal signal, String authorization, byte[] body, String encoding) {
+        if (!authorized(authorization)) {
+            return new Answer(401, null);
+        }
+        if (overCeiling()) {
+            return new Answer(429, "1");
+        }
+        simulateLatency();
+        if (failuresLeft.getAndDecrement() > 0
+                || settings.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < settings.errorRate) {
+            return new Answer(settings.errorStatus, settings.errorRetryAfter);
+        }
+        long items;
+        try {
+            items = OtlpItemCounter.count(signal, decode(body, encoding));
+        } catch (IOException | RuntimeException e) {
+            return new Answer(400, null);
+        }
+        SignalStats s = stats.get(signal);
+        s.requests.increment();
+        s.bytes.add(body.length);
+        s.items.add(items);
+        return new Answer(200, null);
+    }
+
+    private boolean authorized(String header) {
+        if (header == null || !header.startsWith("Bearer ")) {
+            return false;
+        }
+        return settings.apiKey == null || settings.apiKey.equals(header.substring("Bearer ".length()));
+    }
+
+    // Fixed one-second windows; good enough to model a backend that sheds load above a request rate.
+    private boolean overCeiling() {
+        if (settings.maxRequestsPerSecond <= 0) {
+            return false;
+        }
+        long now = System.nanoTime();
+        long start = windowStartNanos.get();
+        if (now - start >= TimeUnit.SECONDS.toNanos(1) && windowStartNanos.compareAndSet(start, now)) {
+            windowRequests.set(0);
+        }
+        return windowRequests.incrementAndGet() > settings.maxRequestsPerSecond;
+    }
+
+    private void simulateLatency() {
+        long base = settings.latency.toNanos();
+        long jitter = settings.latencyJitter.toNanos();
+        long delay = base + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange, int code) throws IOException {
+        responses.computeIfAbsent(code, c -> new LongAdder()).increment();
+        exchange.sendResponseHeaders(code, -1);
+    }
+
+    private static byte[] decode(byte[] body, String encoding) throws IOException {
+        if (encoding == null || encoding.isEmpty() || "identity".equalsIgnoreCase(encoding)) {
+            return body;
+        }
+        if ("gzip".equalsIgnoreCase(encoding)) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                return in.readAllBytes();
+            }
+        }
+        if ("zstd".equalsIgnoreCase(encoding)) {
+            try (InputStream in = new com.github.luben.zstd.ZstdInputStream(new ByteArrayInputStream(body))) {
+                return in.readAllBytes();
+            }
+        }
+        throw new IOException("unsupported Content-Encoding " + encoding);
+    }
+
+    public enum OtlpSignal {
+        TRACES,
+        METRICS,
+        LOGS;
+
+        private static OtlpSignal fromPath(String path) {
+            if (path == null || !path.startsWith(PATH_PREFIX)) {
+                return null;
+            }
+            return switch (path.substring(PATH_PREFIX.length())) {
+                case "traces" -> TRACES;
+                case "metrics" -> METRICS;
+                case "logs" -> LOGS;
+                default -> null;
+            };
+        }
+    }
+
+    record Answer(int status, String retryAfter) {
+    }
+
+    private static final class SignalStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder items = new LongAdder();
+    }
+
+    /** Counters at a point in time; items are spans, metric data points or log records. */
+    public record Snapshot(long nanoTime, Map<OtlpSignal, Signal> signals, Map<Integer, Long> responses) {
+        public record Signal(long requests, long bytes, long items) {
+        }
+
+        public Signal get(OtlpSignal signal) {
+            return signals.get(signal);
+        }
+    }
+
+    public static final class Settings {
+        private int port;
+        private String apiKey;
+        private Duration latency = Duration.ZERO;
+        private Duration latencyJitter = Duration.ZERO;
+        private double errorRate;
+        private int errorStatus = 503;
+        private int failFirst;
+        private String errorRetryAfter;
+        private int maxRequestsPerSecond;
+        private int workerThreads = 32;
+        private boolean grpc;
+
+        /** Serves the OTLP/gRPC collector services instead of OTLP/HTTP. */
+        public Settings setGrpc(boolean grpc) {
+            this.grpc = grpc;
+            return this;
+        }
+
+        public boolean isGrpc() {
+            return grpc;
+        }
+
+        public Settings setPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /** Expected Bearer token; {@code null} accepts any Bearer token. */
+        public Settings setApiKey(String apiKey) {
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        public Settings setLatency(Duration latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /** Uniform random delay added on top of {@link #setLatency(Duration)}. */
+        public Settings setLatencyJitter(Duration latencyJitter) {
+            this.latencyJitter = latencyJitter;
+            return this;
+        }
+
+        /** Fraction of accepted requests answered with the error status instead of 200. */
+        public Settings setErrorRate(double errorRate) {
+            if (errorRate < 0 || errorRate > 1) {
+                throw new IllegalArgumentException("errorRate must be between 0 and 1");
+            }
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Settings setErrorStatus(int errorStatus) {
+            this.errorStatus = errorStatus;
+            return this;
+        }
+
+        /** Answers the first {@code count} accepted requests with the error status, for deterministic retries. */
+        public Settings setFailFirst(int count) {
+            this.failFirst = count;
+            return this;
+        }
+
+        /** {@code Retry-After} value sent with error responses; {@code null} sends none. */
+        public Settings setErrorRetryAfter(String errorRetryAfter) {
+            this.errorRetryAfter = errorRetryAfter;
+            return this;
+        }
+
+        /** Requests above this rate get 429 with {@code Retry-After: 1}; 0 disables the ceiling. */
+        public Settings setMaxRequestsPerSecond(int maxRequestsPerSecond) {
+            this.maxRequestsPerSecond = maxRequestsPerSecond;
+            return this;
+        }
+
+        public Duration getLatency() {
+            return latency;
+        }
+
+        public Duration getLatencyJitter() {
+            return latencyJitter;
+        }
+
+        public double getErrorRate() {
+            return errorRate;
+        }
+
+        public int getMaxRequestsPerSecond() {
+            return maxRequestsPerSecond;
+        }
+
+        public Settings setWorkerThreads(int workerThreads) {
+            this.workerThreads = Math.max(1, workerThreads);
+            return this;
+        }
+    }
+}